@@ -1,7 +1,14 @@
 package com.mb3364.twitch.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mb3364.twitch.api.auth.AccessToken;
 import com.mb3364.twitch.api.auth.Authenticator;
+import com.mb3364.twitch.api.auth.Scopes;
+import com.mb3364.twitch.api.auth.TokenManager;
+import com.mb3364.twitch.api.auth.TokenStore;
+import com.mb3364.twitch.api.auth.grants.TokenGrant;
+import com.mb3364.twitch.api.auth.grants.authorizationcode.AuthorizationCodeGrant;
+import com.mb3364.twitch.api.auth.grants.clientcredentials.ClientCredentialsGrant;
 import com.mb3364.twitch.api.resources.AbstractResource;
 import com.mb3364.twitch.api.resources.ChannelsResource;
 import com.mb3364.twitch.api.resources.ChatResource;
@@ -14,10 +21,17 @@ import com.mb3364.twitch.api.resources.TeamsResource;
 import com.mb3364.twitch.api.resources.UsersResource;
 import com.mb3364.twitch.api.resources.VideosResource;
 import com.mrivanplays.twitch.api.AsyncHttpClient;
+import com.mrivanplays.twitch.api.ChannelIdCache;
 import com.mrivanplays.twitch.api.ChannelNameToID;
+import com.mrivanplays.twitch.api.ResponseCache;
 
+import java.net.URI;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import okhttp3.OkHttpClient;
 
@@ -30,9 +44,23 @@ public class Twitch {
 
     public static final String DEFAULT_BASE_URL = "https://api.twitch.tv/kraken";
     public static final int DEFAULT_API_VERSION = 5;
+    private static final int MAX_CACHED_CONTEXTS = 256;
     private String clientId; // User's app client Id
     private Authenticator authenticator;
     private Map<String, AbstractResource> resources;
+    private ChannelIdCache channelIdCache;
+    private AsyncHttpClient httpClient;
+    private AsyncHttpClient tokenHttpClient; // same connections, none of the API headers, limits or credentials
+    private ObjectMapper jsonMapper;
+    private ChannelNameToID channelNameToID;
+    private TokenStore tokenStore = TokenStore.getDefault();
+    // Recently used contexts by access token, so as() doesn't derive a client per call; guarded by itself
+    private final Map<String, TwitchContext> contexts = new LinkedHashMap<String, TwitchContext>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TwitchContext> eldest) {
+            return size() > MAX_CACHED_CONTEXTS;
+        }
+    };
 
     /**
      * Constructs a Twitch application instance with a set API base URL and API version number.
@@ -41,10 +69,25 @@ public class Twitch {
      * @param jsonMapper the jackson json mapper to use
      */
     public Twitch(OkHttpClient httpClient, ObjectMapper jsonMapper) {
+        this(httpClient, jsonMapper, new ChannelIdCache());
+    }
+
+    /**
+     * Constructs a Twitch application instance with a set API base URL and API version number.
+     *
+     * @param httpClient     the okhttp client to use
+     * @param jsonMapper     the jackson json mapper to use
+     * @param channelIdCache the cache to keep channel ids, resolved from channel names, in
+     */
+    public Twitch(OkHttpClient httpClient, ObjectMapper jsonMapper, ChannelIdCache channelIdCache) {
         authenticator = new Authenticator("https://id.twitch.tv");
+        this.channelIdCache = channelIdCache;
         // Instantiate resource connectors
         AsyncHttpClient asyncHttpClient = new AsyncHttpClient(httpClient);
-        ChannelNameToID channelNameToID = new ChannelNameToID(asyncHttpClient);
+        this.httpClient = asyncHttpClient;
+        tokenHttpClient = new AsyncHttpClient(httpClient);
+        this.jsonMapper = jsonMapper;
+        channelNameToID = new ChannelNameToID(asyncHttpClient, channelIdCache, ChannelNameToID.DEFAULT_BATCH_WINDOW_MILLIS);
         resources = new HashMap<>();
         resources.put("channels", new ChannelsResource(asyncHttpClient, jsonMapper, channelNameToID, DEFAULT_BASE_URL, DEFAULT_API_VERSION));
         resources.put("chat", new ChatResource(asyncHttpClient, jsonMapper, channelNameToID, DEFAULT_BASE_URL, DEFAULT_API_VERSION));
@@ -87,11 +130,167 @@ public class Twitch {
         for (AbstractResource r : resources.values()) {
             r.setClientId(clientId);
         }
+        clearContexts(); // they send the client ID they were created with
+    }
+
+    /**
+     * Get the cache of channel ids resolved from channel names, e.g. to read its {@link ChannelIdCache#stats()}.
+     *
+     * @return the channel id cache
+     */
+    public ChannelIdCache getChannelIdCache() {
+        return channelIdCache;
+    }
+
+    /**
+     * Get the http client shared by all resources, e.g. to set its {@link com.mrivanplays.twitch.api.RetryPolicy} or
+     * set a {@link ResponseCache}.
+     *
+     * @return the http client
+     */
+    public AsyncHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Enables caching of payloads which rarely change, served without a request for their time to live and then
+     * revalidated with ETag/Last-Modified: ingests and chat emoticons and badges for an hour, teams for ten minutes
+     * and top games for 30 seconds. Responses are not cached unless this is called, as callers would otherwise get
+     * data up to that old without asking for it.
+     * <p>Contexts created by {@link #as(String)} before this call don't use the cache.</p>
+     *
+     * @return the response cache, e.g. to adjust its time to live rules
+     */
+    public ResponseCache enableResponseCache() {
+        ResponseCache responseCache = new ResponseCache()
+                .setTtl(DEFAULT_BASE_URL + "/ingests", 1, TimeUnit.HOURS)
+                .setTtl(DEFAULT_BASE_URL + "/chat/", 1, TimeUnit.HOURS) // emoticons and badges
+                .setTtl(DEFAULT_BASE_URL + "/teams", 10, TimeUnit.MINUTES)
+                .setTtl(DEFAULT_BASE_URL + "/games/top", 30, TimeUnit.SECONDS);
+        httpClient.setResponseCache(responseCache);
+        clearContexts();
+        return responseCache;
+    }
+
+    /**
+     * Creates a token manager validating tokens through the root endpoint, e.g. to keep the tokens used with
+     * {@link #as(String)} valid. Set its {@link TokenManager#setRefresher(TokenManager.Refresher) refresher} to refresh
+     * them as well.
+     *
+     * @return token manager
+     */
+    public TokenManager newTokenManager() {
+        return new TokenManager(accessToken -> as(accessToken).root().getAsync());
+    }
+
+    /**
+     * Get the store the grants created by this instance keep their tokens in. Defaults to the
+     * {@link TokenStore#getDefault() JVM wide store}, shared with every other instance.
+     *
+     * @return the token store
+     */
+    public TokenStore getTokenStore() {
+        return tokenStore;
+    }
+
+    /**
+     * Set the store the grants created by this instance from now on keep their tokens in.
+     *
+     * @param tokenStore the token store
+     */
+    public void setTokenStore(TokenStore tokenStore) {
+        if (tokenStore == null) {
+            throw new IllegalArgumentException("tokenStore cannot be null");
+        }
+        this.tokenStore = tokenStore;
+    }
+
+    /**
+     * Creates a client credentials grant obtaining app access tokens for this instance's client ID, e.g.
+     * <code>twitch.as(grant.getToken().join().getAccessToken())</code>.
+     *
+     * @param clientSecret the Twitch application client secret
+     * @param scopes       the scopes to request
+     * @return client credentials grant
+     * @throws IllegalStateException if no client ID is set
+     */
+    public ClientCredentialsGrant newClientCredentialsGrant(String clientSecret, Scopes... scopes) {
+        return new ClientCredentialsGrant(tokenHttpClient, jsonMapper, TokenGrant.DEFAULT_BASE_URL, requireClientId(), clientSecret, tokenStore, scopes);
+    }
+
+    /**
+     * Creates an authorization code grant obtaining user access tokens for this instance's client ID.
+     *
+     * @param clientSecret the Twitch application client secret
+     * @param redirectUri  the redirect URI for your Twitch application
+     * @return authorization code grant
+     * @throws IllegalStateException if no client ID is set
+     */
+    public AuthorizationCodeGrant newAuthorizationCodeGrant(String clientSecret, URI redirectUri) {
+        return new AuthorizationCodeGrant(tokenHttpClient, jsonMapper, TokenGrant.DEFAULT_BASE_URL, requireClientId(), clientSecret, redirectUri, tokenStore);
+    }
+
+    private String requireClientId() {
+        if (clientId == null) {
+            throw new IllegalStateException("Set the client ID first");
+        }
+        return clientId;
+    }
+
+    /**
+     * Get a context making requests with the specified user's access token instead of this instance's
+     * {@link #auth() authenticator} token, e.g. <code>twitch.as(token).channels().get(callback)</code>.
+     * <p>The context shares this instance's connection pool, request queue, json mapper and channel id cache, and
+     * sends the client ID set at the time it is created. Its requests are paced by the rate limiter of the token.
+     * Contexts of recently used tokens are reused, so calling this per request is cheap.</p>
+     *
+     * @param accessToken the user's access token
+     * @return request context for the user
+     */
+    public TwitchContext as(String accessToken) {
+        return as(accessToken, null);
+    }
+
+    /**
+     * Get a context making requests with the specified user's access token, like {@link #as(String)}. Methods
+     * requiring a scope the token wasn't granted fail with a {@link com.mb3364.twitch.api.auth.MissingScopesException}
+     * without making a request. A token without known scopes isn't checked.
+     *
+     * @param token the user's access token
+     * @return request context for the user
+     */
+    public TwitchContext as(AccessToken token) {
+        return as(token.getAccessToken(), token.getScopes().isEmpty() ? null : token.getScopes());
+    }
+
+    private TwitchContext as(String accessToken, Set<Scopes> grantedScopes) {
+        if (accessToken == null || accessToken.isEmpty()) {
+            throw new IllegalArgumentException("accessToken cannot be null or empty");
+        }
+        synchronized (contexts) {
+            TwitchContext context = contexts.get(accessToken);
+            if (context != null && Objects.equals(context.getGrantedScopes(), grantedScopes)) {
+                return context;
+            }
+        }
+        AsyncHttpClient userHttpClient = httpClient.withHeader("Authorization", "OAuth " + accessToken);
+        TwitchContext context = new TwitchContext(userHttpClient, jsonMapper, channelNameToID, DEFAULT_BASE_URL, DEFAULT_API_VERSION, grantedScopes);
+        synchronized (contexts) {
+            contexts.put(accessToken, context);
+        }
+        return context;
+    }
+
+    private void clearContexts() {
+        synchronized (contexts) {
+            contexts.clear();
+        }
     }
 
     private AbstractResource getResource(String key) {
         AbstractResource r = resources.get(key);
         r.setAuthAccessToken(authenticator.getAccessToken());
+        r.setGrantedScopes(authenticator.getAccessScopes());
         return r;
     }
 
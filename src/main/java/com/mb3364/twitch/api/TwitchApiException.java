@@ -0,0 +1,47 @@
+package com.mb3364.twitch.api;
+
+/**
+ * Thrown, or used to complete futures exceptionally, when the Twitch API answers a request with an error.
+ */
+public class TwitchApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+    private final String statusMessage;
+    private final String errorMessage;
+
+    public TwitchApiException(int statusCode, String statusMessage, String errorMessage) {
+        super(statusCode + " " + statusMessage + (errorMessage != null ? ": " + errorMessage : ""));
+        this.statusCode = statusCode;
+        this.statusMessage = statusMessage;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Get the HTTP status code of the response.
+     *
+     * @return the status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Get the HTTP status message of the response, e.g. <code>Not Found</code>.
+     *
+     * @return the status message
+     */
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    /**
+     * Get the error message returned by the Twitch API.
+     *
+     * @return the error message
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
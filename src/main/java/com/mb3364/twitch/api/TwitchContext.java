@@ -0,0 +1,175 @@
+package com.mb3364.twitch.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mb3364.twitch.api.auth.Scopes;
+import com.mb3364.twitch.api.resources.AbstractResource;
+import com.mb3364.twitch.api.resources.ChannelsResource;
+import com.mb3364.twitch.api.resources.ChatResource;
+import com.mb3364.twitch.api.resources.GamesResource;
+import com.mb3364.twitch.api.resources.IngestsResource;
+import com.mb3364.twitch.api.resources.RootResource;
+import com.mb3364.twitch.api.resources.SearchResource;
+import com.mb3364.twitch.api.resources.StreamsResource;
+import com.mb3364.twitch.api.resources.TeamsResource;
+import com.mb3364.twitch.api.resources.UsersResource;
+import com.mb3364.twitch.api.resources.VideosResource;
+import com.mrivanplays.twitch.api.AsyncHttpClient;
+import com.mrivanplays.twitch.api.ChannelNameToID;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives access to the Twitch API resources with the credentials of one user, without changing the credentials of the
+ * {@link Twitch} instance it was created from. Obtained through {@link Twitch#as(String)}.
+ * <p>Shares the connection pool, dispatcher, request queue, json mapper and channel id cache of its {@link Twitch}
+ * instance. Requests are paced by the rate limiter of the user's token, as Twitch limits every token on its own.</p>
+ * <p>Resources are created when first used. A context is safe to share between threads.</p>
+ */
+public class TwitchContext {
+
+    /**
+     * Creates a resource; matches the constructors of the resources.
+     */
+    @FunctionalInterface
+    private interface ResourceFactory<R extends AbstractResource> {
+
+        R create(AsyncHttpClient http, ObjectMapper objectMapper, ChannelNameToID channelNameToID, String baseUrl, int apiVersion);
+    }
+
+    private final AsyncHttpClient http;
+    private final ObjectMapper objectMapper;
+    private final ChannelNameToID channelNameToID;
+    private final String baseUrl;
+    private final int apiVersion;
+    private final Set<Scopes> grantedScopes;
+    private final Map<String, AbstractResource> resources = new ConcurrentHashMap<>();
+
+    TwitchContext(AsyncHttpClient http, ObjectMapper objectMapper, ChannelNameToID channelNameToID, String baseUrl, int apiVersion,
+                  Set<Scopes> grantedScopes) {
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.channelNameToID = channelNameToID;
+        this.baseUrl = baseUrl;
+        this.apiVersion = apiVersion;
+        this.grantedScopes = grantedScopes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R extends AbstractResource> R resource(String key, ResourceFactory<R> factory) {
+        return (R) resources.computeIfAbsent(key, k -> {
+            R resource = factory.create(http, objectMapper, channelNameToID, baseUrl, apiVersion);
+            resource.setGrantedScopes(grantedScopes);
+            return resource;
+        });
+    }
+
+    /**
+     * Get the scopes of this context's access token, which resource methods check before making requests.
+     *
+     * @return the granted scopes, or <code>null</code> if not known
+     */
+    public Set<Scopes> getGrantedScopes() {
+        return grantedScopes;
+    }
+
+    /**
+     * Get the http client carrying this context's credentials.
+     *
+     * @return the http client
+     */
+    public AsyncHttpClient getHttpClient() {
+        return http;
+    }
+
+    /**
+     * Get the {@link ChannelsResource} object using this context's credentials.
+     *
+     * @return the {@link ChannelsResource} object
+     */
+    public ChannelsResource channels() {
+        return resource("channels", ChannelsResource::new);
+    }
+
+    /**
+     * Get the {@link ChatResource} object using this context's credentials.
+     *
+     * @return the {@link ChatResource} object
+     */
+    public ChatResource chat() {
+        return resource("chat", ChatResource::new);
+    }
+
+    /**
+     * Get the {@link GamesResource} object using this context's credentials.
+     *
+     * @return the {@link GamesResource} object
+     */
+    public GamesResource games() {
+        return resource("games", GamesResource::new);
+    }
+
+    /**
+     * Get the {@link IngestsResource} object using this context's credentials.
+     *
+     * @return the {@link IngestsResource} object
+     */
+    public IngestsResource ingests() {
+        return resource("ingests", IngestsResource::new);
+    }
+
+    /**
+     * Get the {@link RootResource} object using this context's credentials.
+     *
+     * @return the {@link RootResource} object
+     */
+    public RootResource root() {
+        return resource("root", RootResource::new);
+    }
+
+    /**
+     * Get the {@link SearchResource} object using this context's credentials.
+     *
+     * @return the {@link SearchResource} object
+     */
+    public SearchResource search() {
+        return resource("search", SearchResource::new);
+    }
+
+    /**
+     * Get the {@link StreamsResource} object using this context's credentials.
+     *
+     * @return the {@link StreamsResource} object
+     */
+    public StreamsResource streams() {
+        return resource("streams", StreamsResource::new);
+    }
+
+    /**
+     * Get the {@link TeamsResource} object using this context's credentials.
+     *
+     * @return the {@link TeamsResource} object
+     */
+    public TeamsResource teams() {
+        return resource("teams", TeamsResource::new);
+    }
+
+    /**
+     * Get the {@link UsersResource} object using this context's credentials.
+     *
+     * @return the {@link UsersResource} object
+     */
+    public UsersResource users() {
+        return resource("users", UsersResource::new);
+    }
+
+    /**
+     * Get the {@link VideosResource} object using this context's credentials.
+     *
+     * @return the {@link VideosResource} object
+     */
+    public VideosResource videos() {
+        return resource("videos", VideosResource::new);
+    }
+}
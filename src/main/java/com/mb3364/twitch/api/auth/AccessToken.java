@@ -0,0 +1,108 @@
+package com.mb3364.twitch.api.auth;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * An OAuth access token together with what is known about it: its refresh token, when it expires and its scopes.
+ * Instances are immutable; a refreshed token is a new instance.
+ */
+public final class AccessToken {
+
+    private final String accessToken;
+    private final String refreshToken;
+    private final long expiresAtMillis;
+    private final Set<Scopes> scopes;
+
+    /**
+     * Creates a new access token.
+     *
+     * @param accessToken     the access token
+     * @param refreshToken    the refresh token, or <code>null</code> if the token can't be refreshed
+     * @param expiresAtMillis when the token expires, in milliseconds since the epoch, or <code>0</code> if unknown
+     * @param scopes          the granted scopes, if known
+     */
+    public AccessToken(String accessToken, String refreshToken, long expiresAtMillis, Collection<Scopes> scopes) {
+        if (accessToken == null || accessToken.isEmpty()) {
+            throw new IllegalArgumentException("accessToken cannot be null or empty");
+        }
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiresAtMillis = expiresAtMillis;
+        EnumSet<Scopes> known = EnumSet.noneOf(Scopes.class);
+        if (scopes != null) {
+            for (Scopes scope : scopes) {
+                if (scope != null) { // Scopes.fromString returns null for scopes this library doesn't know
+                    known.add(scope);
+                }
+            }
+        }
+        this.scopes = Collections.unmodifiableSet(known);
+    }
+
+    /**
+     * Creates an access token of which nothing else is known, e.g. one received through the implicit grant flow.
+     *
+     * @param accessToken the access token
+     */
+    public AccessToken(String accessToken) {
+        this(accessToken, null, 0, null);
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public boolean isRefreshable() {
+        return refreshToken != null;
+    }
+
+    /**
+     * Returns when the token expires, in milliseconds since the epoch, or <code>0</code> if unknown.
+     *
+     * @return expiry time
+     */
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    /**
+     * Returns whether the token is known to have expired at the specified time.
+     *
+     * @param nowMillis the time, in milliseconds since the epoch
+     * @return <code>true</code> if the token expired
+     */
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis != 0 && nowMillis >= expiresAtMillis;
+    }
+
+    public Set<Scopes> getScopes() {
+        return scopes;
+    }
+
+    /**
+     * Returns a copy of this token with the specified scopes.
+     *
+     * @param scopes the granted scopes
+     * @return access token with the scopes
+     */
+    public AccessToken withScopes(Collection<Scopes> scopes) {
+        return new AccessToken(accessToken, refreshToken, expiresAtMillis, scopes);
+    }
+
+    @Override
+    public String toString() {
+        // Never print the secrets themselves
+        return "AccessToken{" +
+                "refreshable=" + isRefreshable() +
+                ", expiresAtMillis=" + expiresAtMillis +
+                ", scopes=" + scopes +
+                '}';
+    }
+}
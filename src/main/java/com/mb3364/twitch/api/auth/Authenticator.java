@@ -2,10 +2,16 @@ package com.mb3364.twitch.api.auth;
 
 import com.mb3364.twitch.api.auth.grants.implicit.AuthenticationCallbackServer;
 import com.mb3364.twitch.api.auth.grants.implicit.AuthenticationError;
+import com.mb3364.twitch.api.auth.grants.implicit.AuthenticationListener;
 
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URL;
+import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * The authenticator object allows a user to authenticate with the Twitch.tv servers.
@@ -20,6 +26,7 @@ public class Authenticator {
     private URI redirectUri;
 
     private String accessToken;
+    private Set<Scopes> accessScopes;
     private AuthenticationError authenticationError;
 
     public Authenticator(String twitchBaseUrl) {
@@ -51,6 +58,25 @@ public class Authenticator {
                 twitchBaseUrl, clientId, redirectUri, Scopes.join(scopes));
     }
 
+    /**
+     * Returns the authentication URL of one login among many, identified by <code>state</code>, which Twitch sends back
+     * to the redirect URI. See {@link AuthenticationCallbackServer#register(AuthenticationListener)}.
+     *
+     * @param clientId    the Twitch application client ID
+     * @param redirectURI the redirect URI for your Twitch application
+     * @param state       the state identifying the login
+     * @param scopes      the scopes needed for your application
+     * @return String, the authentication URL
+     */
+    public String getAuthenticationUrl(String clientId, URI redirectURI, String state, Scopes... scopes) {
+        String url = getAuthenticationUrl(clientId, redirectURI, scopes);
+        try {
+            return url + "&state=" + URLEncoder.encode(state, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e); // UTF-8 is always supported
+        }
+    }
+
     /**
      * Listens for callback from Twitch server with the access token.
      * <code>getAuthenticationUrl()</code> must be called prior to this function!
@@ -88,6 +114,7 @@ public class Authenticator {
         }
 
         accessToken = server.getAccessToken();
+        accessScopes = server.getAccessScopes() != null ? toSet(server.getAccessScopes()) : null;
         return true;
     }
 
@@ -104,7 +131,38 @@ public class Authenticator {
     }
 
     public void setAccessToken(String accessToken) {
+        setAccessToken(accessToken, null);
+    }
+
+    /**
+     * Sets the access token together with the scopes it was granted, which resource methods then check before making
+     * requests.
+     *
+     * @param accessToken the access token
+     * @param scopes      the granted scopes, or <code>null</code> if not known
+     */
+    public void setAccessToken(String accessToken, Set<Scopes> scopes) {
         this.accessToken = accessToken;
+        this.accessScopes = scopes != null ? toSet(scopes.toArray(new Scopes[0])) : null;
+    }
+
+    /**
+     * Get the scopes the access token was granted.
+     *
+     * @return the granted scopes, or <code>null</code> if not known
+     */
+    public Set<Scopes> getAccessScopes() {
+        return accessScopes;
+    }
+
+    private static Set<Scopes> toSet(Scopes[] scopes) {
+        EnumSet<Scopes> set = EnumSet.noneOf(Scopes.class);
+        for (Scopes scope : scopes) {
+            if (scope != null) { // unknown to this library
+                set.add(scope);
+            }
+        }
+        return Collections.unmodifiableSet(set);
     }
 
     /**
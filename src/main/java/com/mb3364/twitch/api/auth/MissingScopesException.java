@@ -0,0 +1,28 @@
+package com.mb3364.twitch.api.auth;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Reported, without making the request, when a resource method needs scopes the access token is known not to have.
+ */
+public class MissingScopesException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Set<Scopes> missing;
+
+    public MissingScopesException(Set<Scopes> missing) {
+        super("Access token lacks required scopes: " + missing);
+        this.missing = Collections.unmodifiableSet(missing);
+    }
+
+    /**
+     * Get the required scopes the access token doesn't have.
+     *
+     * @return the missing scopes
+     */
+    public Set<Scopes> getMissing() {
+        return missing;
+    }
+}
@@ -1,5 +1,10 @@
 package com.mb3364.twitch.api.auth;
 
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * When requesting authorization from users, the scope parameter allows you to specify which permissions your app
  * requires. These scopes are ties to the access token you receive upon a successful authorization. Without specifying
@@ -83,10 +88,21 @@ public enum Scopes {
      */
     CHANNEL_CHECK_SUBSCRIPTION("channel_check_subscription");
 
-    private String key;
+    private static final Scopes[] VALUES = values();
+    private static final Map<String, Scopes> BY_KEY = new HashMap<>();
+
+    static {
+        for (Scopes scope : VALUES) {
+            BY_KEY.put(scope.key, scope);
+        }
+    }
+
+    private final String key;
+    private final long bit;
 
     Scopes(String key) {
         this.key = key;
+        this.bit = 1L << ordinal();
     }
 
     /**
@@ -98,9 +114,9 @@ public enum Scopes {
      */
     public static String join(Scopes... scopes) {
         if (scopes == null) return "";
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(scopes.length * 16);
         for (Scopes scope : scopes) {
-            sb.append(scope.getKey()).append("+");
+            sb.append(scope.key).append('+');
         }
         return sb.toString();
     }
@@ -113,12 +129,80 @@ public enum Scopes {
      */
     public static Scopes fromString(String text) {
         if (text == null) return null;
-        for (Scopes b : Scopes.values()) {
-            if (text.equalsIgnoreCase(b.key)) {
-                return b;
+        Scopes scope = BY_KEY.get(text);
+        // Keys are lower case; only fall back to lowering the text when it isn't already
+        return scope != null ? scope : BY_KEY.get(text.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Parse a '+' or space separated list of scopes, such as the <code>scope</code> parameter of an OAuth
+     * redirect. Scopes this library doesn't know are left out.
+     *
+     * @param text the scopes
+     * @return the known scopes
+     */
+    public static EnumSet<Scopes> parse(String text) {
+        EnumSet<Scopes> scopes = EnumSet.noneOf(Scopes.class);
+        if (text == null) return scopes;
+        int start = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i) == '+' || text.charAt(i) == ' ') {
+                if (i > start) {
+                    Scopes scope = fromString(text.substring(start, i));
+                    if (scope != null) {
+                        scopes.add(scope);
+                    }
+                }
+                start = i + 1;
             }
         }
-        return null;
+        return scopes;
+    }
+
+    /**
+     * Combine <code>Scopes</code> into a bitmask of their {@link #bit() bits}.
+     *
+     * @param scopes the scopes, <code>null</code> elements are ignored
+     * @return the bitmask
+     */
+    public static long toMask(Iterable<Scopes> scopes) {
+        long mask = 0;
+        for (Scopes scope : scopes) {
+            if (scope != null) {
+                mask |= scope.bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Combine <code>Scopes</code> into a bitmask of their {@link #bit() bits}.
+     *
+     * @param scopes the scopes
+     * @return the bitmask
+     */
+    public static long toMask(Scopes... scopes) {
+        long mask = 0;
+        for (Scopes scope : scopes) {
+            mask |= scope.bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Convert a bitmask made by {@link #toMask(Scopes...)} back to the <code>Scopes</code>.
+     *
+     * @param mask the bitmask
+     * @return the scopes in the bitmask
+     */
+    public static EnumSet<Scopes> fromMask(long mask) {
+        EnumSet<Scopes> scopes = EnumSet.noneOf(Scopes.class);
+        for (Scopes scope : VALUES) {
+            if ((mask & scope.bit) != 0) {
+                scopes.add(scope);
+            }
+        }
+        return scopes;
     }
 
     /**
@@ -130,6 +214,15 @@ public enum Scopes {
         return key;
     }
 
+    /**
+     * Get the bit of this scope in a bitmask of scopes, see {@link #toMask(Scopes...)}.
+     *
+     * @return the bit
+     */
+    public long bit() {
+        return bit;
+    }
+
     @Override
     public String toString() {
         return key;
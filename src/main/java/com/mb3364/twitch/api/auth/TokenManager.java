@@ -0,0 +1,567 @@
+package com.mb3364.twitch.api.auth;
+
+import com.mb3364.twitch.api.models.Token;
+import com.mrivanplays.twitch.api.RequestQueue;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the validation of access tokens and keeps managed tokens valid in the background.
+ * <p>{@link #validate(String)} answers from the cache while a validation is younger than the
+ * {@link #setValidationTtl(long, TimeUnit) validation ttl}. An older validation is still answered right away while a
+ * new one is requested in the background, and concurrent validations of the same token share one request. Only the
+ * very first validation of a token has to wait for a response, and even then no thread is blocked: the returned
+ * future completes once it arrives.</p>
+ * <p>{@link #manage(AccessToken) Managed tokens} are revalidated in the background whenever their validation gets
+ * old, and refreshed through the {@link #setRefresher(Refresher) refresher}
+ * {@link #setRefreshAhead(long, TimeUnit) some time} before they expire or as soon as they turn out invalid.
+ * Request threads just read {@link ManagedToken#getAccessToken()}.</p>
+ */
+public class TokenManager implements AutoCloseable {
+
+    /**
+     * Requests the validation of an access token, e.g. through {@link com.mb3364.twitch.api.resources.RootResource}.
+     */
+    @FunctionalInterface
+    public interface Validator {
+
+        /**
+         * Requests the validation of the access token.
+         *
+         * @param accessToken the access token
+         * @return a future completed with the token status
+         */
+        CompletableFuture<Token> validate(String accessToken);
+    }
+
+    /**
+     * Exchanges an access token for a new one, e.g. through its refresh token.
+     */
+    @FunctionalInterface
+    public interface Refresher {
+
+        /**
+         * Requests a new access token.
+         *
+         * @param token the current token
+         * @return a future completed with the new token
+         */
+        CompletableFuture<AccessToken> refresh(AccessToken token);
+    }
+
+    /**
+     * Receives what happens to managed tokens. Every method does nothing by default. Called on the thread which
+     * completed the request.
+     */
+    public interface Listener {
+
+        /**
+         * Called when a managed token was replaced by a refreshed one.
+         *
+         * @param token    the managed token, already holding the new access token
+         * @param previous the access token it replaced
+         */
+        default void onRefreshed(ManagedToken token, AccessToken previous) {
+        }
+
+        /**
+         * Called when a managed token turned out invalid and couldn't be refreshed.
+         *
+         * @param token the managed token
+         */
+        default void onInvalidated(ManagedToken token) {
+        }
+
+        /**
+         * Called when validating or refreshing a managed token failed. It's tried again after a while.
+         *
+         * @param token     the managed token
+         * @param throwable the failure
+         */
+        default void onFailure(ManagedToken token, Throwable throwable) {
+        }
+    }
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(() -> RequestQueue.runNonBlocking(runnable), "Twitch token manager");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Validator validator;
+    private volatile Refresher refresher;
+    private volatile long validationTtlMillis = TimeUnit.HOURS.toMillis(1);
+    private volatile long refreshAheadMillis = TimeUnit.MINUTES.toMillis(5);
+    private volatile long retryDelayMillis = TimeUnit.SECONDS.toMillis(30);
+    private final Map<String, Validation> validations = new ConcurrentHashMap<>();
+    private final Set<ManagedToken> managed = ConcurrentHashMap.newKeySet();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledFuture<?> sweeper;
+
+    /**
+     * Creates a new token manager.
+     *
+     * @param validator requests the validation of an access token
+     */
+    public TokenManager(Validator validator) {
+        this.validator = validator;
+        this.sweeper = SCHEDULER.scheduleWithFixedDelay(this::sweep, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Sets how long a validation is used before the token is validated again. Defaults to one hour.
+     *
+     * @param ttl  validation time to live
+     * @param unit the unit of <code>ttl</code>
+     * @return this instance for chaining
+     */
+    public TokenManager setValidationTtl(long ttl, TimeUnit unit) {
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        this.validationTtlMillis = unit.toMillis(ttl);
+        return this;
+    }
+
+    /**
+     * Sets how long before their expiry managed tokens are refreshed. Defaults to five minutes.
+     *
+     * @param refreshAhead time before expiry
+     * @param unit         the unit of <code>refreshAhead</code>
+     * @return this instance for chaining
+     */
+    public TokenManager setRefreshAhead(long refreshAhead, TimeUnit unit) {
+        if (refreshAhead < 0) {
+            throw new IllegalArgumentException("refreshAhead cannot be negative");
+        }
+        this.refreshAheadMillis = unit.toMillis(refreshAhead);
+        return this;
+    }
+
+    /**
+     * Sets how long to wait before trying again after a validation or refresh failed. Defaults to 30 seconds.
+     *
+     * @param retryDelay retry delay
+     * @param unit       the unit of <code>retryDelay</code>
+     * @return this instance for chaining
+     */
+    public TokenManager setRetryDelay(long retryDelay, TimeUnit unit) {
+        if (retryDelay <= 0) {
+            throw new IllegalArgumentException("retryDelay must be positive");
+        }
+        this.retryDelayMillis = unit.toMillis(retryDelay);
+        return this;
+    }
+
+    /**
+     * Sets how managed tokens are refreshed. Without a refresher, tokens are only validated.
+     *
+     * @param refresher refresher, or <code>null</code>
+     * @return this instance for chaining
+     */
+    public TokenManager setRefresher(Refresher refresher) {
+        this.refresher = refresher;
+        return this;
+    }
+
+    public TokenManager addListener(Listener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the status of the access token. Answers from the cache unless the token was never validated, requesting
+     * a new validation in the background once the cached one is older than the validation ttl.
+     *
+     * @param accessToken the access token
+     * @return a future completed with the token status
+     */
+    public CompletableFuture<Token> validate(String accessToken) {
+        Validation validation = validations.computeIfAbsent(accessToken, Validation::new);
+        synchronized (validation) {
+            if (validation.token != null) {
+                if (!validation.isFresh(System.currentTimeMillis())) {
+                    validation.start();
+                }
+                return CompletableFuture.completedFuture(validation.token);
+            }
+            return validation.start();
+        }
+    }
+
+    /**
+     * Returns the cached status of the access token without waiting, or <code>null</code> if it was never validated.
+     * Like {@link #validate(String)}, requests a validation in the background if there's none or it's old.
+     *
+     * @param accessToken the access token
+     * @return the cached token status, or <code>null</code>
+     */
+    public Token getCachedValidation(String accessToken) {
+        Validation validation = validations.computeIfAbsent(accessToken, Validation::new);
+        synchronized (validation) {
+            if (validation.token == null || !validation.isFresh(System.currentTimeMillis())) {
+                validation.start();
+            }
+            return validation.token;
+        }
+    }
+
+    /**
+     * Forgets the cached status of the access token, e.g. after revoking it.
+     *
+     * @param accessToken the access token
+     */
+    public void invalidate(String accessToken) {
+        validations.remove(accessToken);
+    }
+
+    /**
+     * Starts keeping the token valid in the background. It's validated right away.
+     *
+     * @param token the access token
+     * @return the managed token, whose access token changes as it's refreshed
+     */
+    public ManagedToken manage(AccessToken token) {
+        ManagedToken managedToken = new ManagedToken(token);
+        managed.add(managedToken);
+        schedule(managedToken, 0);
+        return managedToken;
+    }
+
+    /**
+     * Stops keeping the token valid.
+     *
+     * @param token the managed token
+     */
+    public void unmanage(ManagedToken token) {
+        if (managed.remove(token)) {
+            synchronized (token) {
+                if (token.next != null) {
+                    token.next.cancel(false);
+                    token.next = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops every background validation and refresh.
+     */
+    @Override
+    public void close() {
+        for (ManagedToken token : managed) {
+            unmanage(token);
+        }
+        sweeper.cancel(false);
+    }
+
+    private void schedule(ManagedToken token, long delayMillis) {
+        synchronized (token) {
+            if (!managed.contains(token)) {
+                return;
+            }
+            if (token.next != null) {
+                token.next.cancel(false);
+            }
+            token.next = SCHEDULER.schedule(() -> maintain(token), Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Refreshes the token if it's about to expire, otherwise validates it, then schedules the next check.
+     */
+    private void maintain(ManagedToken token) {
+        long now = System.currentTimeMillis();
+        AccessToken current = token.current;
+        if (canRefresh(current) && current.getExpiresAtMillis() != 0 && now >= refreshAt(token, current)) {
+            refresh(token);
+            return;
+        }
+
+        Validation validation = validations.computeIfAbsent(current.getAccessToken(), Validation::new);
+        CompletableFuture<Token> future;
+        synchronized (validation) {
+            future = validation.token != null && validation.isFresh(now)
+                    ? CompletableFuture.completedFuture(validation.token) : validation.start();
+        }
+        future.whenComplete((status, error) -> {
+            if (error != null) {
+                notifyFailure(token, error);
+                schedule(token, retryDelayMillis);
+            } else if (!status.isValid()) {
+                long sinceRefresh = System.currentTimeMillis() - token.refreshedAt;
+                if (canRefresh(token.current) && sinceRefresh < retryDelayMillis) {
+                    // Just refreshed and already invalid; don't ask for yet another token right away
+                    schedule(token, retryDelayMillis - sinceRefresh);
+                } else if (canRefresh(token.current)) {
+                    refresh(token);
+                } else {
+                    token.invalid = true;
+                    for (Listener listener : listeners) {
+                        emit(() -> listener.onInvalidated(token));
+                    }
+                    unmanage(token);
+                }
+            } else {
+                schedule(token, nextCheckDelay(token, System.currentTimeMillis()));
+            }
+        });
+    }
+
+    private void refresh(ManagedToken token) {
+        // The new token is validated right away, as it has no validation yet
+        token.refresh().whenComplete((refreshed, error) -> schedule(token,
+                error == null ? nextCheckDelay(token, System.currentTimeMillis()) : retryDelayMillis));
+    }
+
+    private long nextCheckDelay(ManagedToken token, long now) {
+        Validation validation = validations.get(token.current.getAccessToken());
+        long delay = validation == null ? 0 : validation.validatedAt + validationTtlMillis - now;
+        AccessToken current = token.current;
+        if (canRefresh(current) && current.getExpiresAtMillis() != 0) {
+            delay = Math.min(delay, refreshAt(token, current) - now);
+        }
+        return delay;
+    }
+
+    /**
+     * Returns when the token is due for a refresh. A refresh which didn't move the expiry past the refresh-ahead
+     * window, e.g. because tokens live shorter than it, is only repeated after the retry delay.
+     */
+    private long refreshAt(ManagedToken token, AccessToken current) {
+        return Math.max(current.getExpiresAtMillis() - refreshAheadMillis, token.refreshedAt + retryDelayMillis);
+    }
+
+    private boolean canRefresh(AccessToken token) {
+        return refresher != null && token.isRefreshable();
+    }
+
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        Iterator<Validation> iterator = validations.values().iterator();
+        while (iterator.hasNext()) {
+            Validation validation = iterator.next();
+            synchronized (validation) {
+                if (validation.inFlight == null && now - validation.validatedAt > 2 * validationTtlMillis) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private void notifyFailure(ManagedToken token, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        for (Listener listener : listeners) {
+            emit(() -> listener.onFailure(token, cause));
+        }
+    }
+
+    private void emit(Runnable event) {
+        try {
+            event.run();
+        } catch (RuntimeException ignored) {
+            // a failing listener must not stop the token manager or the other listeners
+        }
+    }
+
+    /**
+     * The cached status of one access token.
+     */
+    private final class Validation {
+
+        private final String accessToken;
+        private Token token; // guarded by this
+        private long validatedAt; // guarded by this
+        private CompletableFuture<Token> inFlight; // guarded by this
+
+        private Validation(String accessToken) {
+            this.accessToken = accessToken;
+        }
+
+        private boolean isFresh(long now) {
+            return now - validatedAt < validationTtlMillis;
+        }
+
+        /**
+         * Requests a validation unless one is in flight already.
+         */
+        private CompletableFuture<Token> start() {
+            if (inFlight != null) {
+                return inFlight;
+            }
+            CompletableFuture<Token> future = new CompletableFuture<>();
+            inFlight = future;
+            CompletableFuture<Token> request;
+            try {
+                request = validator.validate(accessToken);
+            } catch (RuntimeException e) {
+                request = new CompletableFuture<>();
+                request.completeExceptionally(e);
+            }
+            request.whenComplete((status, error) -> {
+                synchronized (this) {
+                    inFlight = null;
+                    if (error == null && status != null) {
+                        token = status;
+                        validatedAt = System.currentTimeMillis();
+                    }
+                }
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else if (status == null) {
+                    future.completeExceptionally(new IllegalStateException("no token status returned"));
+                } else {
+                    future.complete(status);
+                }
+            });
+            return future;
+        }
+    }
+
+    /**
+     * An access token kept valid by a {@link TokenManager}. Reading it never blocks.
+     */
+    public final class ManagedToken {
+
+        private volatile AccessToken current;
+        private volatile boolean invalid;
+        private volatile long refreshedAt;
+        private CompletableFuture<AccessToken> refreshing; // guarded by this
+        private ScheduledFuture<?> next; // guarded by this
+
+        private ManagedToken(AccessToken current) {
+            this.current = current;
+        }
+
+        /**
+         * Returns the current access token, to send with requests.
+         *
+         * @return access token
+         */
+        public String getAccessToken() {
+            return current.getAccessToken();
+        }
+
+        /**
+         * Returns the current token with its refresh token, expiry and scopes.
+         *
+         * @return token
+         */
+        public AccessToken getToken() {
+            return current;
+        }
+
+        /**
+         * Returns the cached status of the current access token, or <code>null</code> if it wasn't validated yet.
+         *
+         * @return token status
+         */
+        public Token getValidation() {
+            Validation validation = validations.get(current.getAccessToken());
+            if (validation == null) {
+                return null;
+            }
+            synchronized (validation) {
+                return validation.token;
+            }
+        }
+
+        /**
+         * Returns whether the token is usable as far as is known: not expired, not found invalid and not rejected by
+         * its last validation.
+         *
+         * @return <code>true</code> if the token is usable
+         */
+        public boolean isValid() {
+            if (invalid || current.isExpired(System.currentTimeMillis())) {
+                return false;
+            }
+            Token validation = getValidation();
+            return validation == null || validation.isValid();
+        }
+
+        /**
+         * Returns the scopes of the token, from its last validation if there's one, otherwise as granted.
+         *
+         * @return scopes
+         */
+        public Set<Scopes> getScopes() {
+            Token validation = getValidation();
+            if (validation != null && validation.getAuthorization() != null && validation.getAuthorization().getScopes() != null) {
+                EnumSet<Scopes> scopes = EnumSet.noneOf(Scopes.class);
+                for (Scopes scope : validation.getAuthorization().getScopes()) {
+                    if (scope != null) {
+                        scopes.add(scope);
+                    }
+                }
+                return Collections.unmodifiableSet(scopes);
+            }
+            return current.getScopes();
+        }
+
+        /**
+         * Refreshes the token now. Concurrent calls share one refresh.
+         *
+         * @return a future completed with the new token
+         */
+        public synchronized CompletableFuture<AccessToken> refresh() {
+            if (refreshing != null) {
+                return refreshing;
+            }
+            Refresher currentRefresher = refresher;
+            if (currentRefresher == null || !current.isRefreshable()) {
+                CompletableFuture<AccessToken> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new IllegalStateException("token can't be refreshed"));
+                return failed;
+            }
+            AccessToken previous = current;
+            CompletableFuture<AccessToken> future = new CompletableFuture<>();
+            refreshing = future;
+            CompletableFuture<AccessToken> request;
+            try {
+                request = currentRefresher.refresh(previous);
+            } catch (RuntimeException e) {
+                request = new CompletableFuture<>();
+                request.completeExceptionally(e);
+            }
+            request.whenComplete((refreshed, error) -> {
+                synchronized (this) {
+                    refreshing = null;
+                    if (error == null) {
+                        current = refreshed;
+                        invalid = false;
+                        refreshedAt = System.currentTimeMillis();
+                    }
+                }
+                if (error != null) {
+                    notifyFailure(this, error);
+                    future.completeExceptionally(error);
+                    return;
+                }
+                validations.remove(previous.getAccessToken());
+                for (Listener listener : listeners) {
+                    emit(() -> listener.onRefreshed(this, previous));
+                }
+                future.complete(refreshed);
+            });
+            return future;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.mb3364.twitch.api.auth;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Thread safe store of access tokens by key, shared by the grants which obtain them. By default every
+ * {@link com.mb3364.twitch.api.Twitch} instance uses the {@link #getDefault() JVM wide store}, so instances of the same
+ * application don't each request their own token.
+ * <p>Fetching a token through {@link #fetch(String, Function)} is coalesced: while a fetch of a key is in flight,
+ * every other caller fetching that key gets the same future instead of making another request.</p>
+ */
+public class TokenStore {
+
+    private static final TokenStore DEFAULT = new TokenStore();
+
+    private final Map<String, AccessToken> tokens = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<AccessToken>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the store shared by everything in this JVM which doesn't set its own.
+     *
+     * @return default token store
+     */
+    public static TokenStore getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the token stored under the key.
+     *
+     * @param key the key
+     * @return token, or <code>null</code> if none is stored
+     */
+    public AccessToken get(String key) {
+        return tokens.get(key);
+    }
+
+    /**
+     * Stores a token under the key, replacing the previous one.
+     *
+     * @param key   the key
+     * @param token the token
+     */
+    public void put(String key, AccessToken token) {
+        if (token == null) {
+            throw new IllegalArgumentException("token cannot be null");
+        }
+        tokens.put(key, token);
+    }
+
+    /**
+     * Removes the token stored under the key. A fetch in flight still stores its token once it completes.
+     *
+     * @param key the key
+     * @return the removed token, or <code>null</code> if none was stored
+     */
+    public AccessToken remove(String key) {
+        return tokens.remove(key);
+    }
+
+    /**
+     * Removes the token stored under the key only if it's still the specified one, i.e. it wasn't replaced meanwhile.
+     *
+     * @param key   the key
+     * @param token the token
+     * @return <code>true</code> if the token was removed
+     */
+    public boolean remove(String key, AccessToken token) {
+        return tokens.remove(key, token);
+    }
+
+    public Set<String> keySet() {
+        return tokens.keySet();
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    /**
+     * Returns whether a fetch of the key is in flight.
+     *
+     * @param key the key
+     * @return <code>true</code> if a fetch is in flight
+     */
+    public boolean isFetching(String key) {
+        return inFlight.containsKey(key);
+    }
+
+    /**
+     * Returns the stored token unless it expires within <code>refreshAheadMillis</code>, otherwise
+     * {@link #fetch(String, Function) fetches} a new one.
+     *
+     * @param key                the key
+     * @param refreshAheadMillis how long before its expiry a token is replaced
+     * @param fetcher            requests a new token given the stored one, which may be <code>null</code>
+     * @return a future completed with the token
+     */
+    public CompletableFuture<AccessToken> get(String key, long refreshAheadMillis,
+                                              Function<AccessToken, CompletableFuture<AccessToken>> fetcher) {
+        AccessToken token = tokens.get(key);
+        if (token != null && !token.isExpired(System.currentTimeMillis() + refreshAheadMillis)) {
+            return CompletableFuture.completedFuture(token);
+        }
+        return fetch(key, fetcher);
+    }
+
+    /**
+     * Fetches a new token and stores it under the key. If a fetch of the key is already in flight, its future is
+     * returned instead and <code>fetcher</code> isn't called.
+     *
+     * @param key     the key
+     * @param fetcher requests a new token given the stored one, which may be <code>null</code>
+     * @return a future completed with the new token
+     */
+    public CompletableFuture<AccessToken> fetch(String key, Function<AccessToken, CompletableFuture<AccessToken>> fetcher) {
+        CompletableFuture<AccessToken> promise = new CompletableFuture<>();
+        CompletableFuture<AccessToken> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            return existing;
+        }
+
+        CompletableFuture<AccessToken> request;
+        try {
+            request = fetcher.apply(tokens.get(key));
+        } catch (RuntimeException e) {
+            request = new CompletableFuture<>();
+            request.completeExceptionally(e);
+        }
+        request.whenComplete((token, throwable) -> {
+            // Store before leaving the in-flight map, so a caller arriving in between sees the new token
+            if (throwable == null && token != null) {
+                tokens.put(key, token);
+            }
+            inFlight.remove(key, promise);
+            if (throwable != null) {
+                promise.completeExceptionally(throwable);
+            } else {
+                promise.complete(token);
+            }
+        });
+        return promise;
+    }
+}
@@ -0,0 +1,183 @@
+package com.mb3364.twitch.api.auth.grants;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mb3364.twitch.api.TwitchApiException;
+import com.mb3364.twitch.api.auth.AccessToken;
+import com.mb3364.twitch.api.auth.Scopes;
+import com.mb3364.twitch.api.auth.TokenManager;
+import com.mb3364.twitch.api.auth.TokenStore;
+import com.mb3364.twitch.api.models.Error;
+import com.mb3364.twitch.api.models.OAuthTokenResponse;
+import com.mrivanplays.twitch.api.AsyncHttpClient;
+import com.mrivanplays.twitch.api.JsonHttpResponseHandler;
+import com.mrivanplays.twitch.api.RequestParams;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base of the OAuth grants which obtain their tokens from the token endpoint, keeping them in a {@link TokenStore}.
+ * <p>Token requests carry nothing but the grant parameters and the client credentials, so the http client they are
+ * sent with shouldn't add an <code>Authorization</code> header, API specific headers or a credential pool of its
+ * own.</p>
+ */
+public abstract class TokenGrant {
+
+    public static final String DEFAULT_BASE_URL = "https://id.twitch.tv/oauth2";
+
+    protected final AsyncHttpClient httpClient;
+    protected final ObjectMapper objectMapper;
+    protected final String baseUrl;
+    protected final String clientId;
+    protected final String clientSecret;
+    protected final TokenStore tokenStore;
+    private volatile long refreshAheadMillis = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Creates a new grant.
+     *
+     * @param httpClient   the http client to request tokens with, without default headers or a credential pool
+     * @param objectMapper the json mapper to decode responses with
+     * @param baseUrl      the base url of the OAuth endpoints, e.g. {@link #DEFAULT_BASE_URL}
+     * @param clientId     the Twitch application client ID
+     * @param clientSecret the Twitch application client secret
+     * @param tokenStore   the store to keep tokens in
+     */
+    protected TokenGrant(AsyncHttpClient httpClient, ObjectMapper objectMapper, String baseUrl,
+                         String clientId, String clientSecret, TokenStore tokenStore) {
+        if (clientId == null || clientId.isEmpty()) {
+            throw new IllegalArgumentException("clientId cannot be null or empty");
+        }
+        if (clientSecret == null || clientSecret.isEmpty()) {
+            throw new IllegalArgumentException("clientSecret cannot be null or empty");
+        }
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.tokenStore = tokenStore;
+    }
+
+    /**
+     * Sets how long before their expiry stored tokens are replaced by new ones. Defaults to five minutes.
+     *
+     * @param refreshAhead time before expiry
+     * @param unit         the unit of <code>refreshAhead</code>
+     * @return this instance for chaining
+     */
+    public TokenGrant setRefreshAhead(long refreshAhead, TimeUnit unit) {
+        if (refreshAhead < 0) {
+            throw new IllegalArgumentException("refreshAhead cannot be negative");
+        }
+        this.refreshAheadMillis = unit.toMillis(refreshAhead);
+        return this;
+    }
+
+    public long getRefreshAheadMillis() {
+        return refreshAheadMillis;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public TokenStore getTokenStore() {
+        return tokenStore;
+    }
+
+    /**
+     * Returns a refresher for a {@link TokenManager} obtaining new tokens through this grant.
+     *
+     * @return token refresher
+     */
+    public abstract TokenManager.Refresher asRefresher();
+
+    /**
+     * Posts the parameters, together with the client credentials, to the token endpoint.
+     *
+     * @param params the grant parameters
+     * @return a future completed with the new token, or exceptionally with a {@link TwitchApiException} if the
+     * endpoint refused it
+     */
+    protected CompletableFuture<AccessToken> requestToken(RequestParams params) {
+        params.put("client_id", clientId);
+        params.put("client_secret", clientSecret);
+
+        CompletableFuture<AccessToken> future = new CompletableFuture<>();
+        httpClient.post(baseUrl + "/token", params, new JsonHttpResponseHandler<OAuthTokenResponse>(objectMapper, OAuthTokenResponse.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, OAuthTokenResponse value) {
+                if (value == null || value.getAccessToken() == null) {
+                    future.completeExceptionally(new TwitchApiException(statusCode, "", "Response has no access token"));
+                    return;
+                }
+                future.complete(value.toAccessToken(System.currentTimeMillis()));
+            }
+
+            @Override
+            public void onFailure(int statusCode, Map<String, List<String>> headers, String content) {
+                String statusMessage = "";
+                String errorMessage = "";
+                try {
+                    if (content.length() > 0) {
+                        Error error = objectMapper.readValue(content, Error.class);
+                        // The id endpoints leave out "error" at times
+                        statusMessage = error.getStatusText() != null ? error.getStatusText() : "";
+                        errorMessage = error.getMessage();
+                    }
+                } catch (IOException ignored) { // not the usual error body; the status code has to do
+                }
+                future.completeExceptionally(new TwitchApiException(statusCode, statusMessage, errorMessage));
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns a digest of the client secret, to tell tokens of different secrets apart in store keys without putting
+     * the secret itself in them.
+     *
+     * @return hex encoded SHA-256 digest of the client secret
+     */
+    protected String secretDigest() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(clientSecret.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // every JVM has to provide it
+        }
+    }
+
+    /**
+     * Joins scopes the way the token endpoint expects them in a form body: separated by spaces.
+     *
+     * @param scopes the scopes
+     * @return the joined scopes
+     */
+    protected static String joinScopes(Scopes... scopes) {
+        StringBuilder sb = new StringBuilder();
+        for (Scopes scope : scopes) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(scope.getKey());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,187 @@
+package com.mb3364.twitch.api.auth.grants.authorizationcode;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mb3364.twitch.api.TwitchApiException;
+import com.mb3364.twitch.api.auth.AccessToken;
+import com.mb3364.twitch.api.auth.Scopes;
+import com.mb3364.twitch.api.auth.TokenManager;
+import com.mb3364.twitch.api.auth.TokenStore;
+import com.mb3364.twitch.api.auth.grants.TokenGrant;
+import com.mrivanplays.twitch.api.AsyncHttpClient;
+import com.mrivanplays.twitch.api.RequestParams;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The OAuth authorization code grant: the user authorizes the application in their browser, which is redirected back
+ * with a code the application's server exchanges, together with its client secret, for a user access token and a
+ * refresh token.
+ * <p>Tokens are kept in the {@link TokenStore} under keys of the application's choosing, e.g. user ids, prefixed with
+ * the token endpoint and the client ID. The client secret is left out, so stored tokens outlive a new secret. A token
+ * about to expire is refreshed through its refresh token, and concurrent refreshes of the same key share one
+ * request.</p>
+ */
+public class AuthorizationCodeGrant extends TokenGrant {
+
+    private final URI redirectUri;
+
+    /**
+     * Creates a new authorization code grant.
+     *
+     * @param httpClient   the http client to request tokens with, without default headers or a credential pool
+     * @param objectMapper the json mapper to decode responses with
+     * @param baseUrl      the base url of the OAuth endpoints, e.g. {@link #DEFAULT_BASE_URL}
+     * @param clientId     the Twitch application client ID
+     * @param clientSecret the Twitch application client secret
+     * @param redirectUri  the redirect URI for your Twitch application
+     * @param tokenStore   the store to keep tokens in
+     */
+    public AuthorizationCodeGrant(AsyncHttpClient httpClient, ObjectMapper objectMapper, String baseUrl,
+                                  String clientId, String clientSecret, URI redirectUri, TokenStore tokenStore) {
+        super(httpClient, objectMapper, baseUrl, clientId, clientSecret, tokenStore);
+        if (redirectUri == null) {
+            throw new IllegalArgumentException("redirectUri cannot be null");
+        }
+        this.redirectUri = redirectUri;
+    }
+
+    public URI getRedirectUri() {
+        return redirectUri;
+    }
+
+    /**
+     * Returns the URL to send the user to in order to authorize the application. Twitch redirects them back to the
+     * redirect URI with <code>code</code> and <code>state</code> query parameters.
+     *
+     * @param state  an unguessable value to check the redirect against
+     * @param scopes the scopes needed for your application
+     * @return the authorization URL
+     */
+    public String getAuthorizationUrl(String state, Scopes... scopes) {
+        return baseUrl + "/authorize?response_type=code" +
+                "&client_id=" + encode(clientId) +
+                "&redirect_uri=" + encode(redirectUri.toString()) +
+                "&scope=" + encode(joinScopes(scopes)) +
+                "&state=" + encode(state);
+    }
+
+    /**
+     * Returns the key a token stored under <code>key</code> by this grant has in the {@link #getTokenStore() token
+     * store}.
+     *
+     * @param key the application's key, e.g. a user id
+     * @return token store key
+     */
+    public String getStoreKey(String key) {
+        return "authorization_code:" + baseUrl + ":" + clientId + ":" + key;
+    }
+
+    /**
+     * Exchanges the code Twitch redirected the user back with for a token, and stores it under the key.
+     *
+     * @param key  the application's key, e.g. a user id
+     * @param code the authorization code
+     * @return a future completed with the token
+     */
+    public CompletableFuture<AccessToken> exchange(String key, String code) {
+        if (code == null || code.isEmpty()) {
+            throw new IllegalArgumentException("code cannot be null or empty");
+        }
+        String storeKey = getStoreKey(key);
+        RequestParams params = new RequestParams();
+        params.put("grant_type", "authorization_code");
+        params.put("code", code);
+        params.put("redirect_uri", redirectUri.toString());
+        // Not coalesced: a code can only be exchanged once, and a new login replaces whatever is stored
+        return requestToken(params).thenApply(token -> {
+            tokenStore.put(storeKey, token);
+            return token;
+        });
+    }
+
+    /**
+     * Returns the token stored under the key, refreshing it first if it expires within the
+     * {@link #setRefreshAhead(long, java.util.concurrent.TimeUnit) refresh ahead} time.
+     *
+     * @param key the application's key, e.g. a user id
+     * @return a future completed with the token, or exceptionally with an {@link IllegalStateException} if no token
+     * is stored under the key
+     */
+    public CompletableFuture<AccessToken> getToken(String key) {
+        String storeKey = getStoreKey(key);
+        return tokenStore.get(storeKey, getRefreshAheadMillis(), stored -> refreshStored(storeKey, stored));
+    }
+
+    /**
+     * Refreshes the token stored under the key, even if it's still valid. Joins the refresh in flight, if any. If
+     * the refresh token is refused the token is removed from the store.
+     *
+     * @param key the application's key, e.g. a user id
+     * @return a future completed with the new token, or exceptionally with an {@link IllegalStateException} if no
+     * token is stored under the key
+     */
+    public CompletableFuture<AccessToken> refresh(String key) {
+        String storeKey = getStoreKey(key);
+        return tokenStore.fetch(storeKey, stored -> refreshStored(storeKey, stored));
+    }
+
+    /**
+     * Requests a new token through the refresh token of the specified one, without storing it.
+     *
+     * @param token the token to refresh
+     * @return a future completed with the new token
+     */
+    public CompletableFuture<AccessToken> refresh(AccessToken token) {
+        if (!token.isRefreshable()) {
+            CompletableFuture<AccessToken> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException("Token has no refresh token"));
+            return future;
+        }
+        RequestParams params = new RequestParams();
+        params.put("grant_type", "refresh_token");
+        params.put("refresh_token", token.getRefreshToken());
+        return requestToken(params).thenApply(refreshed -> {
+            // Twitch doesn't always send the scopes along with a refreshed token; they don't change
+            if (refreshed.getScopes().isEmpty() && !token.getScopes().isEmpty()) {
+                return refreshed.withScopes(token.getScopes());
+            }
+            return refreshed;
+        });
+    }
+
+    @Override
+    public TokenManager.Refresher asRefresher() {
+        return this::refresh;
+    }
+
+    private CompletableFuture<AccessToken> refreshStored(String storeKey, AccessToken stored) {
+        if (stored == null) {
+            CompletableFuture<AccessToken> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException("No token stored under the key; exchange a code first"));
+            return future;
+        }
+        return refresh(stored).whenComplete((token, throwable) -> {
+            Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            if (cause instanceof TwitchApiException && isRefused(((TwitchApiException) cause).getStatusCode())) {
+                // Revoked or otherwise dead, so nobody should keep using it
+                tokenStore.remove(storeKey, stored);
+            }
+        });
+    }
+
+    private static boolean isRefused(int statusCode) {
+        return statusCode == 400 || statusCode == 401;
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e); // UTF-8 is always supported
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.mb3364.twitch.api.auth.grants.clientcredentials;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mb3364.twitch.api.auth.AccessToken;
+import com.mb3364.twitch.api.auth.Scopes;
+import com.mb3364.twitch.api.auth.TokenManager;
+import com.mb3364.twitch.api.auth.TokenStore;
+import com.mb3364.twitch.api.auth.grants.TokenGrant;
+import com.mrivanplays.twitch.api.AsyncHttpClient;
+import com.mrivanplays.twitch.api.RequestParams;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The OAuth client credentials grant: an app access token, obtained with the application's client ID and secret alone
+ * and without any user taking part.
+ * <p>The token is kept in the {@link TokenStore} under a key made of the token endpoint, the client ID, a digest of the
+ * client secret and the scopes, so every grant of the same application and scopes sharing the store shares the token,
+ * and requests a new one at most once at a time.</p>
+ */
+public class ClientCredentialsGrant extends TokenGrant {
+
+    private final Scopes[] scopes;
+    private final String key;
+
+    /**
+     * Creates a new client credentials grant.
+     *
+     * @param httpClient   the http client to request tokens with, without default headers or a credential pool
+     * @param objectMapper the json mapper to decode responses with
+     * @param baseUrl      the base url of the OAuth endpoints, e.g. {@link #DEFAULT_BASE_URL}
+     * @param clientId     the Twitch application client ID
+     * @param clientSecret the Twitch application client secret
+     * @param tokenStore   the store to keep the token in
+     * @param scopes       the scopes to request
+     */
+    public ClientCredentialsGrant(AsyncHttpClient httpClient, ObjectMapper objectMapper, String baseUrl,
+                                  String clientId, String clientSecret, TokenStore tokenStore, Scopes... scopes) {
+        super(httpClient, objectMapper, baseUrl, clientId, clientSecret, tokenStore);
+        this.scopes = scopes.clone();
+        this.key = "client_credentials:" + baseUrl + ":" + clientId + ":" + secretDigest() + ":" + joinScopes(this.scopes);
+    }
+
+    /**
+     * Returns the key the token is stored under in the {@link #getTokenStore() token store}.
+     *
+     * @return token store key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the stored token, or requests a new one if there is none yet or it expires within the
+     * {@link #setRefreshAhead(long, java.util.concurrent.TimeUnit) refresh ahead} time.
+     *
+     * @return a future completed with the token
+     */
+    public CompletableFuture<AccessToken> getToken() {
+        return tokenStore.get(key, getRefreshAheadMillis(), previous -> request());
+    }
+
+    /**
+     * Requests a new token even if the stored one is still valid, e.g. after it was revoked. Joins the request in
+     * flight, if any.
+     *
+     * @return a future completed with the new token
+     */
+    public CompletableFuture<AccessToken> requestToken() {
+        return tokenStore.fetch(key, previous -> request());
+    }
+
+    /**
+     * Returns a refresher requesting a new app access token, whichever token it is asked to refresh.
+     *
+     * @return token refresher
+     */
+    @Override
+    public TokenManager.Refresher asRefresher() {
+        return token -> requestToken();
+    }
+
+    private CompletableFuture<AccessToken> request() {
+        RequestParams params = new RequestParams();
+        params.put("grant_type", "client_credentials");
+        if (scopes.length > 0) {
+            params.put("scope", joinScopes(scopes));
+        }
+        return requestToken(params);
+    }
+}
@@ -1,56 +1,36 @@
 package com.mb3364.twitch.api.auth.grants.implicit;
 
-import com.mb3364.twitch.api.auth.Scopes;
-
-import java.io.*;
-import java.net.Socket;
-import java.net.URL;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.StringTokenizer;
 
-public class AuthenticationCallbackRequest implements Runnable {
-
-    private static final String EOL = "\r\n"; // as specified by HTTP/1.1 spec
-
-    private Socket socket;
-    private URL authPage;
-    private URL failurePage;
-    private URL successPage;
-
-    private AuthenticationListener authenticationListener; // Will receive auth callbacks
-
-    /**
-     * Construct the request and specify which HTML files to server.
-     *
-     * @param socket      Connection socket of the request
-     * @param authPage    HTML page that twitch.tv will send the access_token to
-     * @param failurePage HTML page that shows auth error to user
-     * @param successPage HTML page that shows auth success to user
-     */
-    public AuthenticationCallbackRequest(Socket socket, URL authPage, URL failurePage, URL successPage) {
-        this.socket = socket;
-        this.authPage = authPage;
-        this.failurePage = failurePage;
-        this.successPage = successPage;
-    }
-
-    /**
-     * Send bytes from file input stream to the socket output stream.
-     *
-     * @param fis InputStream of the file contents.
-     * @param os  OutputStream of the socket output stream.
-     * @throws IOException if an I/O exception occurs.
-     */
-    private static void sendFileBytes(InputStream fis, OutputStream os) throws IOException {
-        // Construct a 1K buffer to hold bytes on their way to the socket.
-        byte[] buffer = new byte[1024];
-        int bytes = 0;
-        // Copy requested file into the socket's output stream.
-        while ((bytes = fis.read(buffer)) != -1) {
-            os.write(buffer, 0, bytes);
-        }
+/**
+ * One connection to the {@link AuthenticationCallbackServer}: reads the request head without blocking, writes the
+ * response chosen by the server and then makes the listener call, if any. The call is made when the connection closes
+ * for any reason, since the server has already used up the session by then.
+ */
+final class AuthenticationCallbackRequest {
+
+    private static final int MAX_REQUEST_SIZE = 8 * 1024;
+
+    private final SocketChannel channel;
+    private final AuthenticationCallbackServer server;
+    private final long openedAt = System.currentTimeMillis();
+    private ByteBuffer in = ByteBuffer.allocate(MAX_REQUEST_SIZE);
+    private ByteBuffer out;
+    private String target;
+    private Runnable callback;
+
+    AuthenticationCallbackRequest(SocketChannel channel, AuthenticationCallbackServer server) {
+        this.channel = channel;
+        this.server = server;
     }
 
     /**
@@ -59,7 +39,7 @@ public class AuthenticationCallbackRequest implements Runnable {
      * @param request HTTP request string
      * @return Map of all GET parameter key value pairs
      */
-    private static Map<String, String> extractQueryParams(String request) {
+    static Map<String, String> extractQueryParams(String request) {
         Map<String, String> params = new HashMap<String, String>();
 
         String[] parts = request.split("\\?", 2);
@@ -78,137 +58,109 @@ public class AuthenticationCallbackRequest implements Runnable {
                     value = URLDecoder.decode(pair[1], "UTF-8");
                 }
                 params.put(key, value);
-            } catch (UnsupportedEncodingException ignored) {
+            } catch (UnsupportedEncodingException | IllegalArgumentException ignored) {
             }
         }
 
         return params;
     }
 
-    public void setAuthenticationListener(AuthenticationListener receiver) {
-        this.authenticationListener = receiver;
-    }
-
-    @Override
-    public void run() {
-        try {
-            processRequest();
-        } catch (Exception ignored) {
-        }
+    long getOpenedAt() {
+        return openedAt;
     }
 
     /**
-     * Process the HTTP request and send out correct page.
-     *
-     * @throws IOException
+     * Returns the request target, e.g. <code>/authorize.html?access_token=...</code>, or <code>null</code> if the
+     * request line is malformed.
      */
-    private void processRequest() throws IOException {
-        // Get a reference to the socket's input and output streams.
-        InputStream is = socket.getInputStream();
-        DataOutputStream os = new DataOutputStream(socket.getOutputStream());
-
-        // Set up input stream filters.
-        BufferedReader br = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-
-        // Get the request line of the HTTP request message.
-        String requestLine = br.readLine();
+    String getTarget() {
+        return target;
+    }
 
-        // Store the request line for debugging.
-        //String rawRequest = "\n" + requestLine;
+    void setCallback(Runnable callback) {
+        this.callback = callback;
+    }
 
-        // Read the header lines.
-        String headerLine = null;
-        while ((headerLine = br.readLine()).length() != 0) {
-            //rawRequest += headerLine + "\n";
+    /**
+     * Reads or writes whatever the channel is ready for.
+     */
+    void process(SelectionKey key) {
+        try {
+            if (out == null) {
+                read(key);
+            }
+            if (out != null) {
+                write(key);
+            }
+        } catch (IOException e) {
+            close(key);
         }
+    }
 
-        // DEBUG: Print request
-        //System.out.println(rawRequest);
-
-        // Parse the request line.
-        StringTokenizer tokens = new StringTokenizer(requestLine);
-        String requestMethod = tokens.nextToken();  // Request method, which should be "GET"
-        String requestFilename = tokens.nextToken();
-        Map<String, String> queryParams = extractQueryParams(requestFilename);
+    private void read(SelectionKey key) throws IOException {
+        if (channel.read(in) < 0) {
+            close(key);
+            return;
+        }
+        int headEnd = indexOfHeadEnd();
+        if (headEnd < 0 && in.hasRemaining()) {
+            return; // wait for the rest of the head
+        }
+        if (headEnd >= 0) {
+            parseRequestLine();
+        }
+        in = null;
+        out = server.route(this);
+        key.interestOps(SelectionKey.OP_WRITE);
+    }
 
-        // If we have the token, send the success page
-        String accessToken = queryParams.get("access_token");
-        String[] scopes = new String[0];
-        if (queryParams.containsKey("scope")) {
-            scopes = queryParams.get("scope").split(" ");
+    private void write(SelectionKey key) throws IOException {
+        channel.write(out);
+        if (out.hasRemaining()) {
+            return; // wait until the socket can take more
         }
+        close(key);
+    }
 
-        // See if there is an error message, send the failure page
-        String error = queryParams.get("error");
-        String errorDescription = queryParams.get("error_description");
-
-        //System.out.println("file: " + requestFilename);
-
-        // Open the requested file.
-        InputStream fis;
-        String contentTypeLine;
-        if (requestFilename.startsWith("/auth.js") || requestFilename.startsWith("/auth-success.js")) {
-            fis = getClass().getResourceAsStream(requestFilename);
-            contentTypeLine = "Content-type: text/javascript" + EOL;
-        } else {
-            if (accessToken != null) {
-                fis = successPage.openStream();
-            } else if (error != null) {
-                fis = failurePage.openStream();
-            } else {
-                fis = authPage.openStream();
+    /**
+     * Closes the connection and makes the pending listener call, if any. The token was delivered even if the browser
+     * went away before the page was sent, so the call is never dropped.
+     */
+    void close(SelectionKey key) {
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+        Runnable pending = callback;
+        callback = null;
+        if (pending != null) {
+            try {
+                pending.run();
+            } catch (RuntimeException ignored) { // a broken listener mustn't take the server down with it
             }
-            contentTypeLine = "Content-type: text/html" + EOL;
         }
+    }
 
-        boolean fileExists = fis != null;
-
-        // Construct the response message.
-        String statusLine = null;
-        String entityBody = null;
-        if (fileExists) {
-            statusLine = "HTTP/1.1 200 OK" + EOL;
-        } else {
-            statusLine = "HTTP/1.1 404 Not Found" + EOL;
-            entityBody = "404 Not Found";
+    private int indexOfHeadEnd() {
+        byte[] bytes = in.array();
+        for (int i = 3; i < in.position(); i++) {
+            if (bytes[i] == '\n' && bytes[i - 1] == '\r' && bytes[i - 2] == '\n' && bytes[i - 3] == '\r') {
+                return i;
+            }
         }
+        return -1;
+    }
 
-        // Send the status line.
-        os.writeBytes(statusLine);
-
-        // Send the content type line.
-        os.writeBytes(contentTypeLine);
-
-        // Send a blank line to indicate the end of the header lines.
-        os.writeBytes(EOL);
-
-        // Send the entity body.
-        if (fileExists) {
-            sendFileBytes(fis, os);
-            fis.close();
-        } else {
-            os.writeBytes(entityBody);
+    private void parseRequestLine() {
+        byte[] bytes = in.array();
+        int lineEnd = 0;
+        while (bytes[lineEnd] != '\r') {
+            lineEnd++;
         }
-
-        // Close streams and socket.
-        os.close();
-        br.close();
-        socket.close();
-
-        // Send callbacks
-        if (authenticationListener != null) {
-            // Send callback if access token received
-            if (accessToken != null) {
-                Scopes[] accessScopes = new Scopes[scopes.length];
-                for (int i = 0; i < scopes.length; i++) {
-                    accessScopes[i] = Scopes.fromString(scopes[i]);
-                }
-                authenticationListener.onAccessTokenReceived(accessToken, accessScopes);
-            }
-            // Send callback if authorization error
-            if (error != null) {
-                authenticationListener.onAuthenticationError(error, errorDescription);
-            }
+        StringTokenizer tokens = new StringTokenizer(new String(bytes, 0, lineEnd, StandardCharsets.ISO_8859_1));
+        if (tokens.countTokens() >= 2 && "GET".equals(tokens.nextToken())) {
+            target = tokens.nextToken();
         }
     }
 }
@@ -2,9 +2,35 @@ package com.mb3364.twitch.api.auth.grants.implicit;
 
 import com.mb3364.twitch.api.auth.Scopes;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.net.*;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Serves the redirect uri of the implicit grant flow and receives the access tokens.
+ * <p>The server runs on a single thread with a non-blocking {@link Selector}, so it serves any amount of concurrent
+ * callbacks without a thread per connection. The pages are read once when the server starts and kept in memory.</p>
+ * <p>{@link #start()} serves a single login: it blocks until the first access token or error arrives, which this
+ * server then {@link #getAccessToken() keeps}. To serve many logins on one port, {@link #listen()} in the background
+ * and {@link #register(AuthenticationListener) register} a listener per login. Each login gets its own
+ * <code>state</code>, which Twitch sends back with the callback, routing it to its listener. Callbacks with an unknown
+ * <code>state</code> get the failure page and reach no listener.</p>
+ */
 public class AuthenticationCallbackServer implements AuthenticationListener {
 
     /**
@@ -21,14 +47,28 @@ public class AuthenticationCallbackServer implements AuthenticationListener {
      * Default HTML page that shows auth success to
      */
     public static final String DEFAULT_SUCCESS_PAGE = "/authorize-success.html";
+
+    private static final String[] SCRIPTS = {"/auth.js", "/auth-success.js"};
+    private static final long IDLE_TIMEOUT_MILLIS = 10_000;
+    private static final SecureRandom STATE_RANDOM = new SecureRandom();
+
     private final URL authPage;
     private final URL failurePage;
     private final URL successPage;
     private int port;
-    private ServerSocket serverSocket;
-    private String accessToken; // twitch.tv auth access token
-    private Scopes[] accessScopes; // scopes retrieves for access token
-    private AuthenticationError authenticationError;
+    private final Map<String, AuthenticationListener> sessions = new ConcurrentHashMap<>();
+    private final Map<String, ByteBuffer> scripts = new ConcurrentHashMap<>();
+    private ByteBuffer authResponse;
+    private ByteBuffer failureResponse;
+    private ByteBuffer successResponse;
+    private ByteBuffer notFoundResponse;
+    private ByteBuffer badRequestResponse;
+    private volatile Selector selector;
+    private ServerSocketChannel serverChannel;
+    private volatile boolean singleLogin;
+    private volatile String accessToken; // twitch.tv auth access token
+    private volatile Scopes[] accessScopes; // scopes retrieves for access token
+    private volatile AuthenticationError authenticationError;
 
     /**
      * Constructor that will use default HTML views for output.
@@ -59,46 +99,283 @@ public class AuthenticationCallbackServer implements AuthenticationListener {
     }
 
     /**
-     * Start the server and listen for auth callbacks from twitch.
+     * Start the server and listen for auth callbacks from twitch. Blocks until the first access token or
+     * authentication error arrives, or until the server is {@link #stop() stopped}.
      *
      * @throws IOException if an I/O error occurs while waiting for a connection.
      */
     public void start() throws IOException {
-        // Establish the listen socket
-        // For security reasons, the third parameter is set to not accept connections from outside the localhost
-        serverSocket = new ServerSocket(port, 0, InetAddress.getByName("127.0.0.1"));
+        bind();
+        singleLogin = true;
         run();
     }
 
-    private void run() throws IOException {
-        // Process HTTP service requests
-        while (true) {
-            try {
-                // Listen for a TCP connection request
-                Socket connectionSocket = serverSocket.accept();
-                // Handle request
-                AuthenticationCallbackRequest request = new AuthenticationCallbackRequest(connectionSocket, authPage, failurePage, successPage);
-                request.setAuthenticationListener(this);
-                // Start thread
-                Thread thread = new Thread(request);
-                thread.start();
-            } catch (SocketException e) {
-                // Socket was closed by another thread
-                break;
+    /**
+     * Starts the server on a background thread serving many logins, each routed by its <code>state</code> to the
+     * listener {@link #register(String, AuthenticationListener) registered} for it. Runs until {@link #stop()}.
+     *
+     * @throws IOException if the pages can't be read or the port can't be bound
+     */
+    public void listen() throws IOException {
+        bind();
+        singleLogin = false;
+        Thread thread = new Thread(this::run, "Twitch auth callback server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Registers a login under a new random <code>state</code>. Pass the state to
+     * {@link com.mb3364.twitch.api.auth.Authenticator#getAuthenticationUrl(String, java.net.URI, String, Scopes...)}.
+     *
+     * @param listener receives the access token or error of the login
+     * @return the state of the login
+     */
+    public String register(AuthenticationListener listener) {
+        byte[] bytes = new byte[16];
+        STATE_RANDOM.nextBytes(bytes);
+        String state = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        register(state, listener);
+        return state;
+    }
+
+    /**
+     * Registers a login. The listener receives at most one callback, after which the login is removed. It's called
+     * on the server's thread, so it should return quickly; exceptions it throws are ignored.
+     *
+     * @param state    the <code>state</code> sent to Twitch with the login
+     * @param listener receives the access token or error of the login
+     */
+    public void register(String state, AuthenticationListener listener) {
+        sessions.put(state, listener);
+    }
+
+    /**
+     * Removes a login which didn't complete, e.g. because it timed out.
+     *
+     * @param state the <code>state</code> of the login
+     */
+    public void unregister(String state) {
+        sessions.remove(state);
+    }
+
+    /**
+     * Returns the amount of registered logins still waiting for their callback.
+     *
+     * @return pending logins
+     */
+    public int getPendingCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Returns the port the server listens on, which is the bound port if it was created with port <code>0</code>.
+     *
+     * @return port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    private synchronized void bind() throws IOException {
+        if (selector != null) {
+            throw new IllegalStateException("already running");
+        }
+        loadPages();
+        Selector newSelector = Selector.open();
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        try {
+            // For security reasons, only accept connections from the localhost
+            channel.bind(new InetSocketAddress(InetAddress.getByName("127.0.0.1"), port));
+            channel.configureBlocking(false);
+            channel.register(newSelector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            channel.close();
+            newSelector.close();
+            throw e;
+        }
+        port = channel.socket().getLocalPort();
+        serverChannel = channel;
+        selector = newSelector;
+    }
+
+    private void loadPages() throws IOException {
+        authResponse = response("200 OK", "text/html; charset=utf-8", read(authPage));
+        failureResponse = response("200 OK", "text/html; charset=utf-8", read(failurePage));
+        successResponse = response("200 OK", "text/html; charset=utf-8", read(successPage));
+        notFoundResponse = response("404 Not Found", "text/plain", "404 Not Found".getBytes(StandardCharsets.UTF_8));
+        badRequestResponse = response("400 Bad Request", "text/plain", "400 Bad Request".getBytes(StandardCharsets.UTF_8));
+        for (String script : SCRIPTS) {
+            URL url = getClass().getResource(script);
+            if (url != null) {
+                scripts.put(script, response("200 OK", "text/javascript; charset=utf-8", read(url)));
+            }
+        }
+    }
+
+    private static byte[] read(URL url) throws IOException {
+        try (InputStream in = url.openStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static ByteBuffer response(String status, String contentType, byte[] body) {
+        byte[] head = ("HTTP/1.1 " + status + "\r\n"
+                + "Content-Type: " + contentType + "\r\n"
+                + "Content-Length: " + body.length + "\r\n"
+                + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer response = ByteBuffer.allocateDirect(head.length + body.length);
+        response.put(head).put(body).flip();
+        return response.asReadOnlyBuffer();
+    }
+
+    private void run() {
+        Selector selector = this.selector;
+        long lastSweep = System.currentTimeMillis();
+        try {
+            while (this.selector == selector) {
+                selector.select(1000);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept(selector);
+                    } else {
+                        AuthenticationCallbackRequest request = (AuthenticationCallbackRequest) key.attachment();
+                        try {
+                            request.process(key);
+                        } catch (RuntimeException e) { // e.g. the key was cancelled; only this connection is lost
+                            request.close(key);
+                        }
+                    }
+                }
+                long now = System.currentTimeMillis();
+                if (now - lastSweep >= 1000) {
+                    lastSweep = now;
+                    closeIdle(selector, now);
+                }
+            }
+        } catch (IOException | ClosedSelectorException ignored) {
+            // stopped
+        } finally {
+            close(selector);
+            synchronized (this) {
+                if (this.selector == selector) {
+                    // Ended by an error rather than stop(), which would have cleared these already
+                    this.selector = null;
+                    serverChannel = null;
+                }
+            }
+        }
+    }
+
+    private void accept(Selector selector) throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, new AuthenticationCallbackRequest(channel, this));
+        }
+    }
+
+    private void closeIdle(Selector selector, long now) {
+        for (SelectionKey key : selector.keys()) {
+            Object attachment = key.attachment();
+            if (attachment instanceof AuthenticationCallbackRequest
+                    && now - ((AuthenticationCallbackRequest) attachment).getOpenedAt() > IDLE_TIMEOUT_MILLIS) {
+                ((AuthenticationCallbackRequest) attachment).close(key);
+            }
+        }
+    }
+
+    private void close(Selector selector) {
+        try {
+            for (SelectionKey key : selector.keys()) {
+                Object attachment = key.attachment();
+                if (attachment instanceof AuthenticationCallbackRequest) {
+                    ((AuthenticationCallbackRequest) attachment).close(key); // still makes any pending listener call
+                } else {
+                    key.channel().close();
+                }
+            }
+            selector.close();
+        } catch (IOException | ClosedSelectorException ignored) {
+        }
+    }
+
+    /**
+     * Chooses the response to a request and, for callbacks, the listener call to make once it's sent.
+     *
+     * @param request the request, with its target known
+     * @return the response, ready to be written
+     */
+    ByteBuffer route(AuthenticationCallbackRequest request) {
+        String target = request.getTarget();
+        if (target == null) {
+            return badRequestResponse.duplicate();
+        }
+        String path = target.split("\\?", 2)[0];
+        ByteBuffer script = scripts.get(path);
+        if (script != null) {
+            return script.duplicate();
+        }
+        if (path.endsWith(".js")) {
+            return notFoundResponse.duplicate();
+        }
+
+        Map<String, String> queryParams = AuthenticationCallbackRequest.extractQueryParams(target);
+        String accessToken = queryParams.get("access_token");
+        String error = queryParams.get("error");
+        if (accessToken == null && error == null) {
+            return authResponse.duplicate();
+        }
+
+        String state = queryParams.get("state");
+        AuthenticationListener listener = state != null ? sessions.remove(state) : null;
+        if (listener == null && singleLogin && (state == null || sessions.isEmpty())) {
+            listener = this;
+        }
+        if (listener == null) {
+            return failureResponse.duplicate(); // unknown or already used state
+        }
+
+        AuthenticationListener receiver = listener;
+        if (accessToken != null) {
+            String[] scopes = queryParams.containsKey("scope") ? queryParams.get("scope").split(" ") : new String[0];
+            Scopes[] accessScopes = new Scopes[scopes.length];
+            for (int i = 0; i < scopes.length; i++) {
+                accessScopes[i] = Scopes.fromString(scopes[i]);
             }
+            request.setCallback(() -> receiver.onAccessTokenReceived(accessToken, accessScopes));
+            return successResponse.duplicate();
         }
+        String errorDescription = queryParams.get("error_description");
+        request.setCallback(() -> receiver.onAuthenticationError(error, errorDescription));
+        return failureResponse.duplicate();
     }
 
     /**
      * Stops the server.
      */
-    public void stop() {
-        if (serverSocket != null && !serverSocket.isClosed()) {
+    public synchronized void stop() {
+        Selector current = selector;
+        if (current != null) {
+            selector = null;
             try {
-                serverSocket.close();
+                serverChannel.close();
             } catch (IOException ignored) {
             } finally {
-                serverSocket = null;
+                serverChannel = null;
+                current.wakeup();
             }
         }
     }
@@ -109,7 +386,7 @@ public class AuthenticationCallbackServer implements AuthenticationListener {
      * @return <code>true</code> if server is running. <code>false</code> otherwise
      */
     public boolean isRunning() {
-        return serverSocket != null;
+        return selector != null;
     }
 
     @Override
@@ -0,0 +1,390 @@
+package com.mb3364.twitch.api.handlers;
+
+import com.mb3364.twitch.api.TwitchApiException;
+import com.mb3364.twitch.api.models.Block;
+import com.mb3364.twitch.api.models.Channel;
+import com.mb3364.twitch.api.models.ChannelBadges;
+import com.mb3364.twitch.api.models.ChannelFollow;
+import com.mb3364.twitch.api.models.ChannelSubscription;
+import com.mb3364.twitch.api.models.Emoticon;
+import com.mb3364.twitch.api.models.FeaturedStream;
+import com.mb3364.twitch.api.models.Game;
+import com.mb3364.twitch.api.models.Ingest;
+import com.mb3364.twitch.api.models.Page;
+import com.mb3364.twitch.api.models.Stream;
+import com.mb3364.twitch.api.models.StreamsSummary;
+import com.mb3364.twitch.api.models.Team;
+import com.mb3364.twitch.api.models.Token;
+import com.mb3364.twitch.api.models.TopGame;
+import com.mb3364.twitch.api.models.User;
+import com.mb3364.twitch.api.models.UserFollow;
+import com.mb3364.twitch.api.models.UserSubscription;
+import com.mb3364.twitch.api.models.Video;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Creates response handlers which complete a {@link CompletableFuture} instead of calling back, backing the
+ * <code>...Async</code> methods of the resources. The future is completed on the thread which received the response.
+ * Error responses complete it exceptionally with a {@link TwitchApiException}.
+ */
+public final class FutureHandlers {
+
+    private FutureHandlers() {
+    }
+
+    public static BadgesResponseHandler badges(CompletableFuture<ChannelBadges> future) {
+        return new BadgesFuture(future);
+    }
+
+    public static BlockResponseHandler block(CompletableFuture<Block> future) {
+        return new BlockFuture(future);
+    }
+
+    public static BlocksResponseHandler blocks(CompletableFuture<List<Block>> future) {
+        return new BlocksFuture(future);
+    }
+
+    public static ChannelFollowsResponseHandler channelFollows(CompletableFuture<Page<ChannelFollow>> future) {
+        return new ChannelFollowsFuture(future);
+    }
+
+    public static ChannelResponseHandler channel(CompletableFuture<Channel> future) {
+        return new ChannelFuture(future);
+    }
+
+    public static ChannelSubscriptionResponseHandler channelSubscription(CompletableFuture<ChannelSubscription> future) {
+        return new ChannelSubscriptionFuture(future);
+    }
+
+    public static ChannelSubscriptionsResponseHandler channelSubscriptions(CompletableFuture<Page<ChannelSubscription>> future) {
+        return new ChannelSubscriptionsFuture(future);
+    }
+
+    public static ChannelsResponseHandler channels(CompletableFuture<Page<Channel>> future) {
+        return new ChannelsFuture(future);
+    }
+
+    public static CommercialResponseHandler commercial(CompletableFuture<Void> future) {
+        return new CommercialFuture(future);
+    }
+
+    public static EmoticonsResponseHandler emoticons(CompletableFuture<List<Emoticon>> future) {
+        return new EmoticonsFuture(future);
+    }
+
+    public static FeaturedStreamResponseHandler featuredStream(CompletableFuture<List<FeaturedStream>> future) {
+        return new FeaturedStreamFuture(future);
+    }
+
+    public static GamesResponseHandler games(CompletableFuture<Page<Game>> future) {
+        return new GamesFuture(future);
+    }
+
+    public static IngestsResponseHandler ingests(CompletableFuture<List<Ingest>> future) {
+        return new IngestsFuture(future);
+    }
+
+    public static StreamResponseHandler stream(CompletableFuture<Stream> future) {
+        return new StreamFuture(future);
+    }
+
+    public static StreamsResponseHandler streams(CompletableFuture<Page<Stream>> future) {
+        return new StreamsFuture(future);
+    }
+
+    public static StreamsSummaryResponseHandler streamsSummary(CompletableFuture<StreamsSummary> future) {
+        return new StreamsSummaryFuture(future);
+    }
+
+    public static TeamResponseHandler team(CompletableFuture<Team> future) {
+        return new TeamFuture(future);
+    }
+
+    public static TeamsResponseHandler teams(CompletableFuture<List<Team>> future) {
+        return new TeamsFuture(future);
+    }
+
+    public static TokenResponseHandler token(CompletableFuture<Token> future) {
+        return new TokenFuture(future);
+    }
+
+    public static TopGamesResponseHandler topGames(CompletableFuture<Page<TopGame>> future) {
+        return new TopGamesFuture(future);
+    }
+
+    public static UnblockResponseHandler unblock(CompletableFuture<Void> future) {
+        return new UnblockFuture(future);
+    }
+
+    public static UserFollowResponseHandler userFollow(CompletableFuture<UserFollow> future) {
+        return new UserFollowFuture(future);
+    }
+
+    public static UserFollowsResponseHandler userFollows(CompletableFuture<Page<UserFollow>> future) {
+        return new UserFollowsFuture(future);
+    }
+
+    public static UserResponseHandler user(CompletableFuture<User> future) {
+        return new UserFuture(future);
+    }
+
+    public static UserSubscriptionResponseHandler userSubscription(CompletableFuture<UserSubscription> future) {
+        return new UserSubscriptionFuture(future);
+    }
+
+    public static UserUnfollowResponseHandler userUnfollow(CompletableFuture<Void> future) {
+        return new UserUnfollowFuture(future);
+    }
+
+    public static UsersResponseHandler users(CompletableFuture<List<User>> future) {
+        return new UsersFuture(future);
+    }
+
+    public static VideoResponseHandler video(CompletableFuture<Video> future) {
+        return new VideoFuture(future);
+    }
+
+    public static VideosResponseHandler videos(CompletableFuture<Page<Video>> future) {
+        return new VideosFuture(future);
+    }
+
+    /**
+     * Completes the future exceptionally on either failure; subclasses complete it on success.
+     */
+    private abstract static class FutureAdapter<T> implements BaseFailureHandler {
+
+        final CompletableFuture<T> future;
+
+        FutureAdapter(CompletableFuture<T> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void onFailure(int statusCode, String statusMessage, String errorMessage) {
+            future.completeExceptionally(new TwitchApiException(statusCode, statusMessage, errorMessage));
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            future.completeExceptionally(throwable);
+        }
+    }
+
+    /**
+     * Implements the <code>onSuccess(T)</code> of handlers receiving a single value.
+     */
+    private abstract static class ValueAdapter<T> extends FutureAdapter<T> {
+
+        ValueAdapter(CompletableFuture<T> future) {
+            super(future);
+        }
+
+        public void onSuccess(T value) {
+            future.complete(value);
+        }
+    }
+
+    /**
+     * Implements the <code>onSuccess(int, List)</code> of handlers receiving a page of items.
+     */
+    private abstract static class PageAdapter<T> extends FutureAdapter<Page<T>> {
+
+        PageAdapter(CompletableFuture<Page<T>> future) {
+            super(future);
+        }
+
+        public void onSuccess(int total, List<T> items) {
+            future.complete(new Page<>(total, items));
+        }
+    }
+
+    /**
+     * Implements the <code>onSuccess()</code> of handlers receiving no value.
+     */
+    private abstract static class VoidAdapter extends FutureAdapter<Void> {
+
+        VoidAdapter(CompletableFuture<Void> future) {
+            super(future);
+        }
+
+        public void onSuccess() {
+            future.complete(null);
+        }
+    }
+
+    private static final class BadgesFuture extends ValueAdapter<ChannelBadges> implements BadgesResponseHandler {
+        private BadgesFuture(CompletableFuture<ChannelBadges> future) {
+            super(future);
+        }
+    }
+
+    private static final class BlockFuture extends ValueAdapter<Block> implements BlockResponseHandler {
+        private BlockFuture(CompletableFuture<Block> future) {
+            super(future);
+        }
+    }
+
+    private static final class BlocksFuture extends ValueAdapter<List<Block>> implements BlocksResponseHandler {
+        private BlocksFuture(CompletableFuture<List<Block>> future) {
+            super(future);
+        }
+    }
+
+    private static final class ChannelFollowsFuture extends PageAdapter<ChannelFollow> implements ChannelFollowsResponseHandler {
+        private ChannelFollowsFuture(CompletableFuture<Page<ChannelFollow>> future) {
+            super(future);
+        }
+    }
+
+    private static final class ChannelFuture extends ValueAdapter<Channel> implements ChannelResponseHandler {
+        private ChannelFuture(CompletableFuture<Channel> future) {
+            super(future);
+        }
+    }
+
+    private static final class ChannelSubscriptionFuture extends ValueAdapter<ChannelSubscription> implements ChannelSubscriptionResponseHandler {
+        private ChannelSubscriptionFuture(CompletableFuture<ChannelSubscription> future) {
+            super(future);
+        }
+    }
+
+    private static final class ChannelSubscriptionsFuture extends PageAdapter<ChannelSubscription> implements ChannelSubscriptionsResponseHandler {
+        private ChannelSubscriptionsFuture(CompletableFuture<Page<ChannelSubscription>> future) {
+            super(future);
+        }
+    }
+
+    private static final class ChannelsFuture extends PageAdapter<Channel> implements ChannelsResponseHandler {
+        private ChannelsFuture(CompletableFuture<Page<Channel>> future) {
+            super(future);
+        }
+    }
+
+    private static final class CommercialFuture extends VoidAdapter implements CommercialResponseHandler {
+        private CommercialFuture(CompletableFuture<Void> future) {
+            super(future);
+        }
+    }
+
+    private static final class EmoticonsFuture extends ValueAdapter<List<Emoticon>> implements EmoticonsResponseHandler {
+        private EmoticonsFuture(CompletableFuture<List<Emoticon>> future) {
+            super(future);
+        }
+    }
+
+    private static final class FeaturedStreamFuture extends ValueAdapter<List<FeaturedStream>> implements FeaturedStreamResponseHandler {
+        private FeaturedStreamFuture(CompletableFuture<List<FeaturedStream>> future) {
+            super(future);
+        }
+    }
+
+    private static final class GamesFuture extends PageAdapter<Game> implements GamesResponseHandler {
+        private GamesFuture(CompletableFuture<Page<Game>> future) {
+            super(future);
+        }
+    }
+
+    private static final class IngestsFuture extends ValueAdapter<List<Ingest>> implements IngestsResponseHandler {
+        private IngestsFuture(CompletableFuture<List<Ingest>> future) {
+            super(future);
+        }
+    }
+
+    private static final class StreamFuture extends ValueAdapter<Stream> implements StreamResponseHandler {
+        private StreamFuture(CompletableFuture<Stream> future) {
+            super(future);
+        }
+    }
+
+    private static final class StreamsFuture extends PageAdapter<Stream> implements StreamsResponseHandler {
+        private StreamsFuture(CompletableFuture<Page<Stream>> future) {
+            super(future);
+        }
+    }
+
+    private static final class StreamsSummaryFuture extends ValueAdapter<StreamsSummary> implements StreamsSummaryResponseHandler {
+        private StreamsSummaryFuture(CompletableFuture<StreamsSummary> future) {
+            super(future);
+        }
+    }
+
+    private static final class TeamFuture extends ValueAdapter<Team> implements TeamResponseHandler {
+        private TeamFuture(CompletableFuture<Team> future) {
+            super(future);
+        }
+    }
+
+    private static final class TeamsFuture extends ValueAdapter<List<Team>> implements TeamsResponseHandler {
+        private TeamsFuture(CompletableFuture<List<Team>> future) {
+            super(future);
+        }
+    }
+
+    private static final class TokenFuture extends ValueAdapter<Token> implements TokenResponseHandler {
+        private TokenFuture(CompletableFuture<Token> future) {
+            super(future);
+        }
+    }
+
+    private static final class TopGamesFuture extends PageAdapter<TopGame> implements TopGamesResponseHandler {
+        private TopGamesFuture(CompletableFuture<Page<TopGame>> future) {
+            super(future);
+        }
+    }
+
+    private static final class UnblockFuture extends VoidAdapter implements UnblockResponseHandler {
+        private UnblockFuture(CompletableFuture<Void> future) {
+            super(future);
+        }
+    }
+
+    private static final class UserFollowFuture extends ValueAdapter<UserFollow> implements UserFollowResponseHandler {
+        private UserFollowFuture(CompletableFuture<UserFollow> future) {
+            super(future);
+        }
+    }
+
+    private static final class UserFollowsFuture extends PageAdapter<UserFollow> implements UserFollowsResponseHandler {
+        private UserFollowsFuture(CompletableFuture<Page<UserFollow>> future) {
+            super(future);
+        }
+    }
+
+    private static final class UserFuture extends ValueAdapter<User> implements UserResponseHandler {
+        private UserFuture(CompletableFuture<User> future) {
+            super(future);
+        }
+    }
+
+    private static final class UserSubscriptionFuture extends ValueAdapter<UserSubscription> implements UserSubscriptionResponseHandler {
+        private UserSubscriptionFuture(CompletableFuture<UserSubscription> future) {
+            super(future);
+        }
+    }
+
+    private static final class UserUnfollowFuture extends VoidAdapter implements UserUnfollowResponseHandler {
+        private UserUnfollowFuture(CompletableFuture<Void> future) {
+            super(future);
+        }
+    }
+
+    private static final class UsersFuture extends ValueAdapter<List<User>> implements UsersResponseHandler {
+        private UsersFuture(CompletableFuture<List<User>> future) {
+            super(future);
+        }
+    }
+
+    private static final class VideoFuture extends ValueAdapter<Video> implements VideoResponseHandler {
+        private VideoFuture(CompletableFuture<Video> future) {
+            super(future);
+        }
+    }
+
+    private static final class VideosFuture extends PageAdapter<Video> implements VideosResponseHandler {
+        private VideosFuture(CompletableFuture<Page<Video>> future) {
+            super(future);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.mb3364.twitch.api.handlers;
+
+/**
+ * Implemented by response handlers of <code>GET</code> endpoints, next to their own handler interface, to skip
+ * decoding responses which are the same as the previous one. Only takes effect once the client has
+ * {@link com.mrivanplays.twitch.api.ResponseFingerprints response fingerprints}; otherwise every response goes to
+ * <code>onSuccess</code> as usual.
+ */
+public interface UnchangedHandler {
+
+    /**
+     * Called instead of <code>onSuccess</code> when the response is byte-for-byte the same as the previous response
+     * this handler received for the same request.
+     */
+    void onUnchanged();
+}
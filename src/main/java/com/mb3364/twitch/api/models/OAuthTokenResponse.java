@@ -0,0 +1,98 @@
+package com.mb3364.twitch.api.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mb3364.twitch.api.auth.AccessToken;
+import com.mb3364.twitch.api.auth.Scopes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response of the OAuth token endpoint.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OAuthTokenResponse {
+
+    @JsonProperty("access_token")
+    private String accessToken;
+    @JsonProperty("refresh_token")
+    private String refreshToken;
+    @JsonProperty("expires_in")
+    private long expiresIn;
+    @JsonProperty("token_type")
+    private String tokenType;
+    private List<Scopes> scopes;
+
+    @Override
+    public String toString() {
+        // Never print the secrets themselves
+        return "OAuthTokenResponse{" +
+                "expiresIn=" + expiresIn +
+                ", tokenType='" + tokenType + '\'' +
+                ", scopes=" + scopes +
+                '}';
+    }
+
+    /**
+     * Converts this response to an access token.
+     *
+     * @param receivedAtMillis when the response was received, in milliseconds since the epoch
+     * @return access token
+     */
+    public AccessToken toAccessToken(long receivedAtMillis) {
+        long expiresAtMillis = expiresIn > 0 ? receivedAtMillis + expiresIn * 1000 : 0;
+        return new AccessToken(accessToken, refreshToken, expiresAtMillis, scopes);
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    /**
+     * Get how long the token is valid for, in seconds, or <code>0</code> if not known.
+     *
+     * @return seconds until expiry
+     */
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    public List<Scopes> getScopes() {
+        return scopes;
+    }
+
+    @JsonProperty("scope")
+    public void setScopes(List<String> scopes) {
+        this.scopes = new ArrayList<Scopes>();
+        if (scopes != null) {
+            for (String s : scopes) {
+                this.scopes.add(Scopes.fromString(s));
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.mb3364.twitch.api.models;
+
+import java.util.List;
+
+/**
+ * Represents one page of a listing, along with the total amount of items in the listing.
+ *
+ * @param <T> item type
+ */
+public class Page<T> {
+
+    private final int total;
+    private final List<T> items;
+
+    public Page(int total, List<T> items) {
+        this.total = total;
+        this.items = items;
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "total=" + total +
+                ", items=" + items +
+                '}';
+    }
+
+    /**
+     * Get the total amount of items in the listing, across all pages.
+     *
+     * @return the total
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Get the items of this page.
+     *
+     * @return the items
+     */
+    public List<T> getItems() {
+        return items;
+    }
+}
@@ -2,16 +2,26 @@ package com.mb3364.twitch.api.resources;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.mb3364.twitch.api.auth.MissingScopesException;
+import com.mb3364.twitch.api.auth.Scopes;
 import com.mb3364.twitch.api.handlers.BaseFailureHandler;
+import com.mb3364.twitch.api.handlers.UnchangedHandler;
 import com.mb3364.twitch.api.models.Error;
 import com.mrivanplays.twitch.api.AsyncHttpClient;
+import com.mrivanplays.twitch.api.ChannelData;
 import com.mrivanplays.twitch.api.ChannelNameToID;
+import com.mrivanplays.twitch.api.JsonHttpResponseHandler;
+import com.mrivanplays.twitch.api.RequestParams;
+import com.mrivanplays.twitch.api.RequestQueue;
 import com.mrivanplays.twitch.api.StringHttpResponseHandler;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * AbstractResource is the abstract base class of a Twitch resource. A resource provides the functionality to access the
@@ -21,10 +31,13 @@ import java.util.Map;
  */
 public abstract class AbstractResource {
 
+    private static final long UNKNOWN_SCOPES = -1L; // every bit set, so no check fails
+
     protected final ObjectMapper objectMapper; // can reuse
     protected final AsyncHttpClient http; // can reuse
     private final String baseUrl; // Base url for twitch rest api
     private final ChannelNameToID channelNameToID;
+    private volatile long grantedScopes = UNKNOWN_SCOPES;
 
     /**
      * Construct a resource using the Twitch API base URL and specified API version.
@@ -47,7 +60,30 @@ public abstract class AbstractResource {
      * Configure the Jackson JSON {@link ObjectMapper} to properly parse the API responses.
      */
     private void configureObjectMapper() {
-        objectMapper.setPropertyNamingStrategy(PropertyNamingStrategy.SNAKE_CASE);
+        // Resources share one mapper; avoid reconfiguring it while other resources are using it
+        if (objectMapper.getPropertyNamingStrategy() != PropertyNamingStrategy.SNAKE_CASE) {
+            objectMapper.setPropertyNamingStrategy(PropertyNamingStrategy.SNAKE_CASE);
+        }
+    }
+
+    /**
+     * Returns a copy of <code>params</code> requesting the page at <code>offset</code>.
+     *
+     * @param params the request parameters to copy, may be <code>null</code>
+     * @param offset the offset of the first item
+     * @param limit  the maximum amount of items
+     * @return request parameters of the page
+     */
+    protected static RequestParams pageParams(RequestParams params, int offset, int limit) {
+        RequestParams pageParams = new RequestParams();
+        if (params != null) {
+            for (Map.Entry<String, String> entry : params.stringEntrySet()) {
+                pageParams.put(entry.getKey(), entry.getValue());
+            }
+        }
+        pageParams.put("limit", limit);
+        pageParams.put("offset", offset);
+        return pageParams;
     }
 
     /**
@@ -57,12 +93,49 @@ public abstract class AbstractResource {
      */
     public void setAuthAccessToken(String accessToken) {
         if (accessToken != null && accessToken.length() > 0) {
-            http.setHeader("Authorization", String.format("OAuth %s", accessToken));
+            http.setHeader("Authorization", "OAuth " + accessToken); // no-op when unchanged
         } else {
             http.removeHeader("Authorization");
         }
     }
 
+    /**
+     * Sets the scopes the access token was granted. Methods requiring a scope the token doesn't have then fail with a
+     * {@link MissingScopesException} right away instead of making a request bound to be refused.
+     *
+     * @param scopes the granted scopes, or <code>null</code> if not known, which skips the checks
+     */
+    public void setGrantedScopes(Set<Scopes> scopes) {
+        grantedScopes = scopes != null ? Scopes.toMask(scopes) : UNKNOWN_SCOPES;
+    }
+
+    /**
+     * Get the scopes the access token was granted.
+     *
+     * @return the granted scopes, or <code>null</code> if not known
+     */
+    public Set<Scopes> getGrantedScopes() {
+        long granted = grantedScopes;
+        return granted != UNKNOWN_SCOPES ? Scopes.fromMask(granted) : null;
+    }
+
+    /**
+     * Checks that the access token has the scope a method requires, reporting a {@link MissingScopesException} to the
+     * handler if it's known not to.
+     *
+     * @param required the required scope
+     * @param handler  the handler to report the failure to
+     * @return <code>true</code> if the method may go ahead
+     */
+    protected boolean checkScope(Scopes required, BaseFailureHandler handler) {
+        long granted = grantedScopes;
+        if ((granted & required.bit()) != 0) {
+            return true;
+        }
+        handler.onFailure(new MissingScopesException(Scopes.fromMask(required.bit() & ~granted)));
+        return false;
+    }
+
     /**
      * Sets the application's client ID to be included in the HTTP headers of each API request.
      *
@@ -95,22 +168,72 @@ public abstract class AbstractResource {
     }
 
     protected void getId(String username, TwitchHttpResponseHandler responseHandler) {
-        channelNameToID.getId(username, objectMapper).whenComplete((channelData, error) -> {
+        // Room reserved for this call belongs to the request made with the id, not to the lookup
+        RequestQueue.Reservation reservation = http.getRequestQueue().detachReservation();
+        channelNameToID.getId(username).whenComplete((channelData, error) -> reservation.run(() -> {
             if (error != null) {
                 responseHandler.onFailure(error);
                 return;
             }
-            if (channelData.isHttpError()) {
-                Error e = channelData.getHttpError();
-                responseHandler.onFailure(channelData.getStatusCode(), e.getStatusText(), e.getMessage());
+            if (reportFailure(channelData, responseHandler.apiHandler)) {
                 return;
             }
-            if (!channelData.isSuccessful()) {
-                responseHandler.onFailure(channelData.getException());
+            responseHandler.onSuccess(channelData.getStatusCode(), new HashMap<>(), channelData.getChannelId());
+        }));
+    }
+
+    /**
+     * Resolves the ids of two names at the same time. Both lookups are started right away, so they end up in the same
+     * <code>helix/users</code> request when neither is cached.
+     *
+     * @param first           the first name
+     * @param second          the second name
+     * @param responseHandler the handler receiving both ids
+     */
+    protected void getIds(String first, String second, TwitchIdPairHandler responseHandler) {
+        RequestQueue.Reservation reservation = http.getRequestQueue().detachReservation();
+        CompletableFuture<ChannelData> firstLookup = channelNameToID.getId(first);
+        CompletableFuture<ChannelData> secondLookup = channelNameToID.getId(second);
+        CompletableFuture.allOf(firstLookup, secondLookup).whenComplete((ignored, error) -> reservation.run(() -> {
+            if (error != null) {
+                responseHandler.apiHandler.onFailure(error instanceof CompletionException ? error.getCause() : error);
                 return;
             }
-            responseHandler.onSuccess(channelData.getStatusCode(), new HashMap<>(), channelData.getChannelId());
-        });
+            ChannelData firstData = firstLookup.join();
+            ChannelData secondData = secondLookup.join();
+            if (reportFailure(firstData, responseHandler.apiHandler) || reportFailure(secondData, responseHandler.apiHandler)) {
+                return;
+            }
+            responseHandler.onSuccess(Long.parseLong(firstData.getChannelId()), Long.parseLong(secondData.getChannelId()));
+        }));
+    }
+
+    private static boolean reportFailure(ChannelData channelData, BaseFailureHandler apiHandler) {
+        if (channelData.isHttpError()) {
+            Error e = channelData.getHttpError();
+            apiHandler.onFailure(channelData.getStatusCode(), e.getStatusText(), e.getMessage());
+            return true;
+        }
+        if (!channelData.isSuccessful()) {
+            apiHandler.onFailure(channelData.getException());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Receives the ids resolved by {@link #getIds(String, String, TwitchIdPairHandler)}. Failures are passed to the
+     * api handler.
+     */
+    protected static abstract class TwitchIdPairHandler {
+
+        private BaseFailureHandler apiHandler;
+
+        public TwitchIdPairHandler(BaseFailureHandler apiHandler) {
+            this.apiHandler = apiHandler;
+        }
+
+        public abstract void onSuccess(long firstId, long secondId);
     }
 
     /**
@@ -132,16 +255,7 @@ public abstract class AbstractResource {
 
         @Override
         public void onFailure(int statusCode, Map<String, List<String>> headers, String content) {
-            try {
-                if (content.length() > 0) {
-                    Error error = objectMapper.readValue(content, Error.class);
-                    apiHandler.onFailure(statusCode, error.getStatusText(), error.getMessage());
-                } else {
-                    apiHandler.onFailure(statusCode, "", "");
-                }
-            } catch (IOException e) {
-                apiHandler.onFailure(e);
-            }
+            handleHttpFailure(apiHandler, objectMapper, statusCode, content);
         }
 
         @Override
@@ -153,4 +267,64 @@ public abstract class AbstractResource {
             apiHandler.onFailure(statusCode, statusMessage, errorMessage);
         }
     }
+
+    /**
+     * Handles HTTP response's from the Twitch API, decoding successful responses straight from the response body into
+     * a <code>T</code>.
+     * <p>Failures are handled the same way as in {@link TwitchHttpResponseHandler}.</p>
+     *
+     * @param <T> the type of the decoded response
+     */
+    protected static abstract class TwitchJsonResponseHandler<T> extends JsonHttpResponseHandler<T> {
+
+        private BaseFailureHandler apiHandler;
+        private ObjectMapper objectMapper;
+
+        public TwitchJsonResponseHandler(BaseFailureHandler apiHandler, ObjectMapper objectMapper, Class<T> type) {
+            super(objectMapper, type);
+            this.apiHandler = apiHandler;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public abstract void onSuccess(int statusCode, Map<String, List<String>> headers, T value);
+
+        @Override
+        public boolean acceptsUnchanged() {
+            return apiHandler instanceof UnchangedHandler;
+        }
+
+        @Override
+        public Object getUnchangedOwner() {
+            return apiHandler; // the same for every poll, unlike this wrapper
+        }
+
+        @Override
+        public void onUnchanged(int statusCode, Map<String, List<String>> headers) {
+            ((UnchangedHandler) apiHandler).onUnchanged();
+        }
+
+        @Override
+        public void onFailure(int statusCode, Map<String, List<String>> headers, String content) {
+            handleHttpFailure(apiHandler, objectMapper, statusCode, content);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            apiHandler.onFailure(throwable);
+        }
+    }
+
+    private static void handleHttpFailure(BaseFailureHandler apiHandler, ObjectMapper objectMapper, int statusCode, String content) {
+        try {
+            if (content.length() > 0) {
+                Error error = objectMapper.readValue(content, Error.class);
+                apiHandler.onFailure(statusCode, error.getStatusText(), error.getMessage());
+            } else {
+                apiHandler.onFailure(statusCode, "", "");
+            }
+        } catch (IOException e) {
+            apiHandler.onFailure(e);
+        }
+    }
 }
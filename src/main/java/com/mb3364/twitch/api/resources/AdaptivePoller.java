@@ -0,0 +1,469 @@
+package com.mb3364.twitch.api.resources;
+
+import com.mrivanplays.twitch.api.RequestQueue;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+
+/**
+ * Polls many entities, e.g. channels, each at its own interval adapted to how often it changes.
+ * <p>Every poll updates an estimate of the entity's change rate; the next poll is scheduled about twice per expected
+ * change, between the {@link #setIntervalBounds(long, long, TimeUnit) minimum and maximum intervals}. Entities which
+ * never change drift to the maximum interval while busy ones are polled more often. The hours of the day at which
+ * an entity changed are remembered too, so a channel which usually goes live in the evening is polled more often
+ * around that time and less often at night.</p>
+ * <p>Due polls are kept in a {@link TimingWheel hierarchical timing wheel} ticking every
+ * {@link #setTickDuration(long, TimeUnit) tick}, so scheduling stays cheap with millions of entities. All entities
+ * share a {@link #setBudget(int) budget of requests per minute}: when more polls are due than the budget allows, they
+ * wait in due order, stretching the effective intervals instead of exceeding the budget. Requests still go through
+ * the client's rate limiter like any other.</p>
+ * <p>Listeners are called on the thread which delivered the response.</p>
+ *
+ * @param <T> the type of the polled value
+ */
+public class AdaptivePoller<T> implements AutoCloseable {
+
+    /**
+     * Requests the current value of one entity.
+     *
+     * @param <T> the type of the polled value
+     */
+    @FunctionalInterface
+    public interface Fetcher<T> {
+
+        /**
+         * Requests the current value of the entity.
+         *
+         * @param id the id of the entity
+         * @return a future completed with the value, which may be <code>null</code>, e.g. for an offline stream
+         */
+        CompletableFuture<T> fetch(long id);
+    }
+
+    /**
+     * Receives the changes found by an {@link AdaptivePoller}. Every method does nothing by default.
+     *
+     * @param <T> the type of the polled value
+     */
+    public interface Listener<T> {
+
+        /**
+         * Called when a poll returned a value different from the previous one. The first poll of an entity is not a
+         * change.
+         *
+         * @param id       the id of the entity
+         * @param previous the value returned by the previous poll
+         * @param current  the value returned now
+         */
+        default void onChange(long id, T previous, T current) {
+        }
+
+        /**
+         * Called when a poll failed. The entity is polled again after its current interval.
+         *
+         * @param id        the id of the entity
+         * @param throwable the failure
+         */
+        default void onFailure(long id, Throwable throwable) {
+        }
+    }
+
+    private static final double RATE_SMOOTHING = 0.2;
+    private static final double HOURLY_DECAY = 0.95;
+    private static final double MAX_HOURLY_FACTOR = 4;
+    private static final double JITTER = 0.1;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(() -> RequestQueue.runNonBlocking(runnable), "Twitch adaptive poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Fetcher<T> fetcher;
+    private final BiPredicate<T, T> changed;
+    private final List<Listener<T>> listeners = new CopyOnWriteArrayList<>();
+
+    private long minIntervalMillis = TimeUnit.SECONDS.toMillis(30);
+    private long maxIntervalMillis = TimeUnit.MINUTES.toMillis(30);
+    private long tickMillis = 500;
+    private double budgetPerMilli = 600 / 60_000.0;
+    private double budgetCapacity = 10;
+    private int maxInFlight = 16;
+    private ZoneId zone = ZoneId.systemDefault();
+
+    private final Map<Long, Entry<T>> entries = new HashMap<>(); // guarded by this
+    private final ArrayDeque<Entry<T>> due = new ArrayDeque<>(); // guarded by this
+    private TimingWheel wheel; // guarded by this
+    private long startMillis; // guarded by this
+    private double tokens; // guarded by this
+    private long tokensUpdatedAt; // guarded by this
+    private int inFlight; // guarded by this
+    private int hourOfDay; // guarded by this
+    private long hourCheckedAt = Long.MIN_VALUE; // guarded by this
+    private ScheduledFuture<?> ticker; // guarded by this
+
+    /**
+     * Creates a new poller.
+     *
+     * @param fetcher requests the current value of an entity
+     * @param changed tells whether two consecutive values differ; either value may be <code>null</code>
+     */
+    public AdaptivePoller(Fetcher<T> fetcher, BiPredicate<T, T> changed) {
+        this.fetcher = fetcher;
+        this.changed = changed;
+    }
+
+    /**
+     * Sets the bounds of the poll interval of each entity. Defaults to 30 seconds and 30 minutes. New entities start
+     * at the minimum interval.
+     *
+     * @param min  the shortest interval
+     * @param max  the longest interval
+     * @param unit the unit of <code>min</code> and <code>max</code>
+     * @return this instance for chaining
+     */
+    public synchronized AdaptivePoller<T> setIntervalBounds(long min, long max, TimeUnit unit) {
+        if (min <= 0 || max < min) {
+            throw new IllegalArgumentException("min must be positive and max cannot be less than min");
+        }
+        this.minIntervalMillis = unit.toMillis(min);
+        this.maxIntervalMillis = unit.toMillis(max);
+        return this;
+    }
+
+    /**
+     * Sets the resolution of the schedule. Defaults to 500 milliseconds. Can only be changed before {@link #start()}.
+     *
+     * @param tick tick duration
+     * @param unit the unit of <code>tick</code>
+     * @return this instance for chaining
+     */
+    public synchronized AdaptivePoller<T> setTickDuration(long tick, TimeUnit unit) {
+        if (wheel != null) {
+            throw new IllegalStateException("already started");
+        }
+        if (unit.toMillis(tick) < 1) {
+            throw new IllegalArgumentException("tick must be at least 1 millisecond");
+        }
+        this.tickMillis = unit.toMillis(tick);
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of requests per minute for all entities together. Defaults to 600. Up to a second worth
+     * of requests can be made at once.
+     *
+     * @param requestsPerMinute request budget
+     * @return this instance for chaining
+     */
+    public synchronized AdaptivePoller<T> setBudget(int requestsPerMinute) {
+        if (requestsPerMinute < 1) {
+            throw new IllegalArgumentException("requestsPerMinute must be at least 1");
+        }
+        this.budgetPerMilli = requestsPerMinute / 60_000.0;
+        this.budgetCapacity = Math.max(1, requestsPerMinute / 60.0);
+        this.tokens = Math.min(tokens, budgetCapacity);
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of requests in flight. Defaults to 16.
+     *
+     * @param maxInFlight maximum amount of requests in flight
+     * @return this instance for chaining
+     */
+    public synchronized AdaptivePoller<T> setMaxInFlight(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * Sets the time zone whose hours of the day are used to learn when entities change. Defaults to the system time
+     * zone.
+     *
+     * @param zone time zone
+     * @return this instance for chaining
+     */
+    public synchronized AdaptivePoller<T> setZone(ZoneId zone) {
+        this.zone = zone;
+        this.hourCheckedAt = Long.MIN_VALUE;
+        return this;
+    }
+
+    public AdaptivePoller<T> addListener(Listener<T> listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    public void removeListener(Listener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts polling the specified entity. Once started, its first poll is due right away. Does nothing if it's
+     * already polled.
+     *
+     * @param id the id of the entity
+     * @return this instance for chaining
+     */
+    public synchronized AdaptivePoller<T> add(long id) {
+        if (!entries.containsKey(id)) {
+            Entry<T> entry = new Entry<>(id, minIntervalMillis);
+            entries.put(id, entry);
+            if (wheel != null) {
+                due.add(entry);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Stops polling the specified entity. A poll in flight is ignored when it completes.
+     *
+     * @param id the id of the entity
+     */
+    public synchronized void remove(long id) {
+        Entry<T> entry = entries.remove(id);
+        if (entry != null) {
+            entry.removed = true;
+            if (wheel != null) {
+                wheel.cancel(entry);
+            }
+            // a queued entry is skipped when it's dequeued
+        }
+    }
+
+    /**
+     * Returns the amount of polled entities.
+     *
+     * @return size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the amount of polls which are due but wait for the budget.
+     *
+     * @return backlog size
+     */
+    public synchronized int getBacklog() {
+        return due.size();
+    }
+
+    /**
+     * Returns the current poll interval of the specified entity, or <code>-1</code> if it isn't polled.
+     *
+     * @param id the id of the entity
+     * @return the interval in milliseconds, before the time of day adjustment and jitter
+     */
+    public synchronized long getIntervalMillis(long id) {
+        Entry<T> entry = entries.get(id);
+        return entry == null ? -1 : entry.intervalMillis;
+    }
+
+    /**
+     * Starts polling. Does nothing if already started.
+     *
+     * @return this instance for chaining
+     */
+    public synchronized AdaptivePoller<T> start() {
+        if (ticker == null) {
+            long now = System.currentTimeMillis();
+            if (wheel == null) {
+                startMillis = now;
+                wheel = new TimingWheel(0);
+                due.addAll(entries.values());
+            }
+            tokens = budgetCapacity;
+            tokensUpdatedAt = now;
+            ticker = SCHEDULER.scheduleWithFixedDelay(this::tick, 0, tickMillis, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    /**
+     * Stops polling. Polls in flight complete, and the schedule is kept for a later {@link #start()}.
+     */
+    @Override
+    public synchronized void close() {
+        if (ticker != null) {
+            ticker.cancel(false);
+            ticker = null;
+        }
+    }
+
+    private void tick() {
+        synchronized (this) {
+            if (ticker == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            wheel.advance((now - startMillis) / tickMillis, node -> {
+                @SuppressWarnings("unchecked")
+                Entry<T> entry = (Entry<T>) node;
+                due.add(entry);
+            });
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        List<Entry<T>> toPoll = new ArrayList<>();
+        synchronized (this) {
+            if (ticker == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            tokens = Math.min(budgetCapacity, tokens + (now - tokensUpdatedAt) * budgetPerMilli);
+            tokensUpdatedAt = now;
+            while (inFlight < maxInFlight && tokens >= 1 && !due.isEmpty()) {
+                Entry<T> entry = due.poll();
+                if (entry.removed) {
+                    continue;
+                }
+                tokens--;
+                inFlight++;
+                toPoll.add(entry);
+            }
+        }
+        for (Entry<T> entry : toPoll) {
+            CompletableFuture<T> future;
+            try {
+                future = fetcher.fetch(entry.id);
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((value, error) -> onPolled(entry, value, error));
+        }
+    }
+
+    private void onPolled(Entry<T> entry, T value, Throwable error) {
+        boolean isChange = false;
+        T previous = null;
+        synchronized (this) {
+            inFlight--;
+            if (!entry.removed) {
+                long now = System.currentTimeMillis();
+                if (error == null) {
+                    previous = entry.value;
+                    isChange = entry.polledAt != 0 && changed.test(previous, value);
+                    if (entry.polledAt != 0) {
+                        entry.learn(isChange, now - entry.polledAt, hourOfDay(now));
+                        entry.intervalMillis = clamp(Math.round(1 / (2 * entry.changesPerMilli)));
+                    }
+                    entry.value = value;
+                    entry.polledAt = now;
+                }
+                reschedule(entry, now);
+            }
+        }
+        if (error != null && !entry.removed) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            for (Listener<T> listener : listeners) {
+                notify(() -> listener.onFailure(entry.id, cause));
+            }
+        } else if (isChange) {
+            T before = previous;
+            for (Listener<T> listener : listeners) {
+                notify(() -> listener.onChange(entry.id, before, value));
+            }
+        }
+        dispatch();
+    }
+
+    private void reschedule(Entry<T> entry, long now) {
+        double interval = entry.intervalMillis / entry.hourlyFactor(hourOfDay(now));
+        interval *= 1 + JITTER * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        long delay = clamp(Math.round(interval));
+        wheel.schedule(entry, (now + delay - startMillis) / tickMillis);
+    }
+
+    private long clamp(long intervalMillis) {
+        return Math.max(minIntervalMillis, Math.min(maxIntervalMillis, intervalMillis));
+    }
+
+    private int hourOfDay(long now) {
+        if (now - hourCheckedAt >= TimeUnit.MINUTES.toMillis(1) || now < hourCheckedAt) {
+            hourOfDay = Instant.ofEpochMilli(now).atZone(zone).getHour();
+            hourCheckedAt = now;
+        }
+        return hourOfDay;
+    }
+
+    private void notify(Runnable event) {
+        try {
+            event.run();
+        } catch (RuntimeException ignored) {
+            // a failing listener must not stop the poller or the other listeners
+        }
+    }
+
+    /**
+     * The polling state of one entity.
+     */
+    private static final class Entry<T> extends TimingWheel.Node {
+
+        private final long id;
+        private T value;
+        private long polledAt;
+        private long intervalMillis;
+        private double changesPerMilli = Double.NaN;
+        private float[] changesByHour; // allocated on the first change
+        private boolean removed;
+
+        private Entry(long id, long intervalMillis) {
+            this.id = id;
+            this.intervalMillis = intervalMillis;
+        }
+
+        private void learn(boolean changed, long elapsedMillis, int hour) {
+            double observed = changed ? 1.0 / Math.max(1, elapsedMillis) : 0;
+            changesPerMilli = Double.isNaN(changesPerMilli) ? observed
+                    : changesPerMilli + RATE_SMOOTHING * (observed - changesPerMilli);
+            if (changed) {
+                if (changesByHour == null) {
+                    changesByHour = new float[24];
+                }
+                for (int i = 0; i < changesByHour.length; i++) {
+                    changesByHour[i] *= HOURLY_DECAY;
+                }
+                changesByHour[hour]++;
+            }
+        }
+
+        /**
+         * Returns how much more than on average the entity changes at the specified hour, between
+         * <code>1 / MAX_HOURLY_FACTOR</code> and <code>MAX_HOURLY_FACTOR</code>.
+         */
+        private double hourlyFactor(int hour) {
+            if (changesByHour == null) {
+                return 1;
+            }
+            double total = 0;
+            for (float changes : changesByHour) {
+                total += changes;
+            }
+            double factor = (changesByHour[hour] + 1) / (total / changesByHour.length + 1);
+            return Math.max(1 / MAX_HOURLY_FACTOR, Math.min(MAX_HOURLY_FACTOR, factor));
+        }
+    }
+}
@@ -7,23 +7,30 @@ import com.mb3364.twitch.api.handlers.ChannelResponseHandler;
 import com.mb3364.twitch.api.handlers.ChannelSubscriptionResponseHandler;
 import com.mb3364.twitch.api.handlers.ChannelSubscriptionsResponseHandler;
 import com.mb3364.twitch.api.handlers.CommercialResponseHandler;
+import com.mb3364.twitch.api.handlers.FutureHandlers;
 import com.mb3364.twitch.api.handlers.TeamsResponseHandler;
 import com.mb3364.twitch.api.handlers.UsersResponseHandler;
 import com.mb3364.twitch.api.handlers.VideosResponseHandler;
 import com.mb3364.twitch.api.models.Channel;
+import com.mb3364.twitch.api.models.ChannelFollow;
 import com.mb3364.twitch.api.models.ChannelFollows;
 import com.mb3364.twitch.api.models.ChannelSubscription;
 import com.mb3364.twitch.api.models.ChannelSubscriptions;
 import com.mb3364.twitch.api.models.Editors;
+import com.mb3364.twitch.api.models.Page;
+import com.mb3364.twitch.api.models.Team;
 import com.mb3364.twitch.api.models.Teams;
+import com.mb3364.twitch.api.models.User;
+import com.mb3364.twitch.api.models.Video;
 import com.mb3364.twitch.api.models.Videos;
 import com.mrivanplays.twitch.api.AsyncHttpClient;
 import com.mrivanplays.twitch.api.ChannelNameToID;
 import com.mrivanplays.twitch.api.RequestParams;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link ChannelsResource} provides the functionality to access the <code>/channels</code> endpoints of the Twitch
@@ -44,21 +51,31 @@ public class ChannelsResource extends AbstractResource {
      * @param handler the response handler
      */
     public void get(final ChannelResponseHandler handler) {
+        if (!checkScope(Scopes.CHANNEL_READ, handler)) {
+            return;
+        }
         String url = String.format("%s/channel", getBaseUrl());
 
-        http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, new TwitchJsonResponseHandler<Channel>(handler, objectMapper, Channel.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Channel value = objectMapper.readValue(content, Channel.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Channel value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Returns a channel object of authenticated user. Channel object includes stream key.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_READ}</p>
+     *
+     * @return a future completed with the {@link Channel}
+     */
+    public CompletableFuture<Channel> getAsync() {
+        CompletableFuture<Channel> future = new CompletableFuture<>();
+        get(FutureHandlers.channel(future));
+        return future;
+    }
+
     /**
      * Returns a {@link Channel} object.
      *
@@ -70,23 +87,66 @@ public class ChannelsResource extends AbstractResource {
 
             @Override
             public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/channels/%s", getBaseUrl(), content);
-
-                http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        try {
-                            Channel value = objectMapper.readValue(content, Channel.class);
-                            handler.onSuccess(value);
-                        } catch (IOException e) {
-                            handler.onFailure(e);
-                        }
-                    }
-                });
+                get(Long.parseLong(content), handler);
+            }
+        });
+    }
+
+    /**
+     * Returns a {@link Channel} object.
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with the {@link Channel}
+     */
+    public CompletableFuture<Channel> getAsync(String channelName) {
+        CompletableFuture<Channel> future = new CompletableFuture<>();
+        get(channelName, FutureHandlers.channel(future));
+        return future;
+    }
+
+    /**
+     * Returns a {@link Channel} object.
+     *
+     * @param channelId   the id of the Channel
+     * @param handler     the response handler
+     */
+    public void get(final long channelId, final ChannelResponseHandler handler) {
+        String url = String.format("%s/channels/%d", getBaseUrl(), channelId);
+
+        http.get(url, new TwitchJsonResponseHandler<Channel>(handler, objectMapper, Channel.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Channel value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Returns a {@link Channel} object.
+     *
+     * @param channelId   the id of the Channel
+     * @return a future completed with the {@link Channel}
+     */
+    public CompletableFuture<Channel> getAsync(long channelId) {
+        CompletableFuture<Channel> future = new CompletableFuture<>();
+        get(channelId, FutureHandlers.channel(future));
+        return future;
+    }
+
+    /**
+     * Creates a poller reporting when channels change their title, game or any other property, polling each channel
+     * at an interval adapted to how often it changes.
+     *
+     * @return poller to fill with channel ids and {@link AdaptivePoller#start() start}
+     */
+    public AdaptivePoller<Channel> poller() {
+        return new AdaptivePoller<Channel>(this::getAsync, (previous, current) -> previous == null || current == null
+                ? previous != current
+                : !Objects.equals(previous.getUpdatedAt(), current.getUpdatedAt())
+                || !Objects.equals(previous.getStatus(), current.getStatus())
+                || !Objects.equals(previous.getGame(), current.getGame()));
+    }
+
     /**
      * Returns a list of user objects who are editors of <code>channelName</code>.
      * <p>Authenticated, required scope: {@link Scopes#CHANNEL_READ}</p>
@@ -95,27 +155,65 @@ public class ChannelsResource extends AbstractResource {
      * @param handler     the response handler
      */
     public void getEditors(final String channelName, final UsersResponseHandler handler) {
+        if (!checkScope(Scopes.CHANNEL_READ, handler)) {
+            return;
+        }
         getId(channelName, new TwitchHttpResponseHandler(handler, objectMapper) {
 
             @Override
             public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/channels/%s/editors", getBaseUrl(), content);
-
-                http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        try {
-                            Editors value = objectMapper.readValue(content, Editors.class);
-                            handler.onSuccess(value.getUsers());
-                        } catch (IOException e) {
-                            handler.onFailure(e);
-                        }
-                    }
-                });
+                getEditors(Long.parseLong(content), handler);
+            }
+        });
+    }
+
+    /**
+     * Returns a list of user objects who are editors of <code>channelName</code>.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_READ}</p>
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with the list of {@link User} objects
+     */
+    public CompletableFuture<List<User>> getEditorsAsync(String channelName) {
+        CompletableFuture<List<User>> future = new CompletableFuture<>();
+        getEditors(channelName, FutureHandlers.users(future));
+        return future;
+    }
+
+    /**
+     * Returns a list of user objects who are editors of <code>channelId</code>.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_READ}</p>
+     *
+     * @param channelId   the id of the Channel
+     * @param handler     the response handler
+     */
+    public void getEditors(final long channelId, final UsersResponseHandler handler) {
+        if (!checkScope(Scopes.CHANNEL_READ, handler)) {
+            return;
+        }
+        String url = String.format("%s/channels/%d/editors", getBaseUrl(), channelId);
+
+        http.get(url, new TwitchJsonResponseHandler<Editors>(handler, objectMapper, Editors.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Editors value) {
+                handler.onSuccess(value.getUsers());
             }
         });
     }
 
+    /**
+     * Returns a list of user objects who are editors of <code>channelId</code>.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_READ}</p>
+     *
+     * @param channelId   the id of the Channel
+     * @return a future completed with the list of {@link User} objects
+     */
+    public CompletableFuture<List<User>> getEditorsAsync(long channelId) {
+        CompletableFuture<List<User>> future = new CompletableFuture<>();
+        getEditors(channelId, FutureHandlers.users(future));
+        return future;
+    }
+
     /**
      * Update channel's status, game, or delay.
      * <p>Authenticated, required scope: {@link Scopes#CHANNEL_EDITOR}</p>
@@ -130,42 +228,98 @@ public class ChannelsResource extends AbstractResource {
      * @param handler     the response handler
      */
     public void put(final String channelName, final RequestParams params, final ChannelResponseHandler handler) {
+        if (!checkScope(Scopes.CHANNEL_EDITOR, handler)) {
+            return;
+        }
         getId(channelName, new TwitchHttpResponseHandler(handler, objectMapper) {
 
             @Override
             public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/channels/%s", getBaseUrl(), content);
-
-                if (params.containsKey("status")) {
-                    params.put("channel[status]", params.getString("status"));
-                    params.remove("status");
-                }
-
-                if (params.containsKey("game")) {
-                    params.put("channel[game]", params.getString("game"));
-                    params.remove("game");
-                }
-
-                if (params.containsKey("delay")) {
-                    params.put("channel[delay]", params.getString("delay"));
-                    params.remove("delay");
-                }
-
-                http.put(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        try {
-                            Channel value = objectMapper.readValue(content, Channel.class);
-                            handler.onSuccess(value);
-                        } catch (IOException e) {
-                            handler.onFailure(e);
-                        }
-                    }
-                });
+                put(Long.parseLong(content), params, handler);
+            }
+        });
+    }
+
+    /**
+     * Update channel's status, game, or delay.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_EDITOR}</p>
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters:
+     *                    <ul>
+     *                    <li><code>status</code>: Channel's title</li>
+     *                    <li><code>game</code>: Game category to be classified as.</li>
+     *                    <li><code>delay</code>: Channel delay in seconds. Requires the channel owner's OAuth token.</li>
+     *                    </ul>
+     * @return a future completed with the {@link Channel}
+     */
+    public CompletableFuture<Channel> putAsync(String channelName, RequestParams params) {
+        CompletableFuture<Channel> future = new CompletableFuture<>();
+        put(channelName, params, FutureHandlers.channel(future));
+        return future;
+    }
+
+    /**
+     * Update channel's status, game, or delay.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_EDITOR}</p>
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters:
+     *                    <ul>
+     *                    <li><code>status</code>: Channel's title</li>
+     *                    <li><code>game</code>: Game category to be classified as.</li>
+     *                    <li><code>delay</code>: Channel delay in seconds. Requires the channel owner's OAuth token.</li>
+     *                    </ul>
+     * @param handler     the response handler
+     */
+    public void put(final long channelId, final RequestParams params, final ChannelResponseHandler handler) {
+        if (!checkScope(Scopes.CHANNEL_EDITOR, handler)) {
+            return;
+        }
+        String url = String.format("%s/channels/%d", getBaseUrl(), channelId);
+
+        if (params.containsKey("status")) {
+            params.put("channel[status]", params.getString("status"));
+            params.remove("status");
+        }
+
+        if (params.containsKey("game")) {
+            params.put("channel[game]", params.getString("game"));
+            params.remove("game");
+        }
+
+        if (params.containsKey("delay")) {
+            params.put("channel[delay]", params.getString("delay"));
+            params.remove("delay");
+        }
+
+        http.put(url, params, new TwitchJsonResponseHandler<Channel>(handler, objectMapper, Channel.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Channel value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Update channel's status, game, or delay.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_EDITOR}</p>
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters:
+     *                    <ul>
+     *                    <li><code>status</code>: Channel's title</li>
+     *                    <li><code>game</code>: Game category to be classified as.</li>
+     *                    <li><code>delay</code>: Channel delay in seconds. Requires the channel owner's OAuth token.</li>
+     *                    </ul>
+     * @return a future completed with the {@link Channel}
+     */
+    public CompletableFuture<Channel> putAsync(long channelId, RequestParams params) {
+        CompletableFuture<Channel> future = new CompletableFuture<>();
+        put(channelId, params, FutureHandlers.channel(future));
+        return future;
+    }
+
     /**
      * Reset channel's stream key.
      * <p>Authenticated, required scope: {@link Scopes#CHANNEL_STREAM}</p>
@@ -174,27 +328,65 @@ public class ChannelsResource extends AbstractResource {
      * @param handler     the response handler
      */
     public void resetStreamKey(final String channelName, final ChannelResponseHandler handler) {
+        if (!checkScope(Scopes.CHANNEL_STREAM, handler)) {
+            return;
+        }
         getId(channelName, new TwitchHttpResponseHandler(handler, objectMapper) {
 
             @Override
             public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/channels/%s/stream_key", getBaseUrl(), content);
-
-                http.delete(url, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        try {
-                            Channel value = objectMapper.readValue(content, Channel.class);
-                            handler.onSuccess(value);
-                        } catch (IOException e) {
-                            handler.onFailure(e);
-                        }
-                    }
-                });
+                resetStreamKey(Long.parseLong(content), handler);
+            }
+        });
+    }
+
+    /**
+     * Reset channel's stream key.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_STREAM}</p>
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with the {@link Channel}
+     */
+    public CompletableFuture<Channel> resetStreamKeyAsync(String channelName) {
+        CompletableFuture<Channel> future = new CompletableFuture<>();
+        resetStreamKey(channelName, FutureHandlers.channel(future));
+        return future;
+    }
+
+    /**
+     * Reset channel's stream key.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_STREAM}</p>
+     *
+     * @param channelId   the id of the Channel
+     * @param handler     the response handler
+     */
+    public void resetStreamKey(final long channelId, final ChannelResponseHandler handler) {
+        if (!checkScope(Scopes.CHANNEL_STREAM, handler)) {
+            return;
+        }
+        String url = String.format("%s/channels/%d/stream_key", getBaseUrl(), channelId);
+
+        http.delete(url, new TwitchJsonResponseHandler<Channel>(handler, objectMapper, Channel.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Channel value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Reset channel's stream key.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_STREAM}</p>
+     *
+     * @param channelId   the id of the Channel
+     * @return a future completed with the {@link Channel}
+     */
+    public CompletableFuture<Channel> resetStreamKeyAsync(long channelId) {
+        CompletableFuture<Channel> future = new CompletableFuture<>();
+        resetStreamKey(channelId, FutureHandlers.channel(future));
+        return future;
+    }
+
     /**
      * Start a commercial on channel.
      * <p>Authenticated, required scope: {@link Scopes#CHANNEL_COMMERCIAL}</p>
@@ -206,25 +398,77 @@ public class ChannelsResource extends AbstractResource {
      * @param handler     the response handler
      */
     public void startCommercial(final String channelName, final int length, final CommercialResponseHandler handler) {
+        if (!checkScope(Scopes.CHANNEL_COMMERCIAL, handler)) {
+            return;
+        }
         getId(channelName, new TwitchHttpResponseHandler(handler, objectMapper) {
 
             @Override
             public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/channels/%s/commercial", getBaseUrl(), content);
+                startCommercial(Long.parseLong(content), length, handler);
+            }
+        });
+    }
+
+    /**
+     * Start a commercial on channel.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_COMMERCIAL}</p>
+     *
+     * @param channelName the name of the channel
+     * @param length      Length of commercial break in seconds. Default value is <code>30</code>. Valid values are
+     *                    <code>30</code>, <code>60</code>, <code>90</code>,
+     *                    <code>120</code>, <code>150</code>, and <code>180</code>
+     * @return a future completed once the request succeeded
+     */
+    public CompletableFuture<Void> startCommercialAsync(String channelName, int length) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        startCommercial(channelName, length, FutureHandlers.commercial(future));
+        return future;
+    }
+
+    /**
+     * Start a commercial on channel.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_COMMERCIAL}</p>
+     *
+     * @param channelId   the id of the channel
+     * @param length      Length of commercial break in seconds. Default value is <code>30</code>. Valid values are
+     *                    <code>30</code>, <code>60</code>, <code>90</code>,
+     *                    <code>120</code>, <code>150</code>, and <code>180</code>
+     * @param handler     the response handler
+     */
+    public void startCommercial(final long channelId, final int length, final CommercialResponseHandler handler) {
+        if (!checkScope(Scopes.CHANNEL_COMMERCIAL, handler)) {
+            return;
+        }
+        String url = String.format("%s/channels/%d/commercial", getBaseUrl(), channelId);
 
-                RequestParams params = new RequestParams();
-                params.put("length", Integer.toString(length));
+        RequestParams params = new RequestParams();
+        params.put("length", Integer.toString(length));
 
-                http.post(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        handler.onSuccess();
-                    }
-                });
+        http.post(url, params, new TwitchJsonResponseHandler<Void>(handler, objectMapper, Void.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Void value) {
+                handler.onSuccess();
             }
         });
     }
 
+    /**
+     * Start a commercial on channel.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_COMMERCIAL}</p>
+     *
+     * @param channelId   the id of the channel
+     * @param length      Length of commercial break in seconds. Default value is <code>30</code>. Valid values are
+     *                    <code>30</code>, <code>60</code>, <code>90</code>,
+     *                    <code>120</code>, <code>150</code>, and <code>180</code>
+     * @return a future completed once the request succeeded
+     */
+    public CompletableFuture<Void> startCommercialAsync(long channelId, int length) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        startCommercial(channelId, length, FutureHandlers.commercial(future));
+        return future;
+    }
+
     /**
      * Returns a list of team objects the channel belongs to.
      *
@@ -236,23 +480,52 @@ public class ChannelsResource extends AbstractResource {
 
             @Override
             public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/channels/%s/teams", getBaseUrl(), content);
-
-                http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        try {
-                            Teams value = objectMapper.readValue(content, Teams.class);
-                            handler.onSuccess(value.getTeams());
-                        } catch (IOException e) {
-                            handler.onFailure(e);
-                        }
-                    }
-                });
+                getTeams(Long.parseLong(content), handler);
+            }
+        });
+    }
+
+    /**
+     * Returns a list of team objects the channel belongs to.
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with the list of {@link Team} objects
+     */
+    public CompletableFuture<List<Team>> getTeamsAsync(String channelName) {
+        CompletableFuture<List<Team>> future = new CompletableFuture<>();
+        getTeams(channelName, FutureHandlers.teams(future));
+        return future;
+    }
+
+    /**
+     * Returns a list of team objects the channel belongs to.
+     *
+     * @param channelId   the id of the Channel
+     * @param handler     the response handler
+     */
+    public void getTeams(final long channelId, final TeamsResponseHandler handler) {
+        String url = String.format("%s/channels/%d/teams", getBaseUrl(), channelId);
+
+        http.get(url, new TwitchJsonResponseHandler<Teams>(handler, objectMapper, Teams.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Teams value) {
+                handler.onSuccess(value.getTeams());
             }
         });
     }
 
+    /**
+     * Returns a list of team objects the channel belongs to.
+     *
+     * @param channelId   the id of the Channel
+     * @return a future completed with the list of {@link Team} objects
+     */
+    public CompletableFuture<List<Team>> getTeamsAsync(long channelId) {
+        CompletableFuture<List<Team>> future = new CompletableFuture<>();
+        getTeams(channelId, FutureHandlers.teams(future));
+        return future;
+    }
+
     /**
      * Returns a list of follow objects representing the followers of a channel.
      *
@@ -272,19 +545,7 @@ public class ChannelsResource extends AbstractResource {
 
             @Override
             public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/channels/%s/follows", getBaseUrl(), content);
-
-                http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        try {
-                            ChannelFollows value = objectMapper.readValue(content, ChannelFollows.class);
-                            handler.onSuccess(value.getTotal(), value.getFollows());
-                        } catch (IOException e) {
-                            handler.onFailure(e);
-                        }
-                    }
-                });
+                getFollows(Long.parseLong(content), params, handler);
             }
         });
     }
@@ -293,113 +554,653 @@ public class ChannelsResource extends AbstractResource {
      * Returns a list of follow objects representing the followers of a channel.
      *
      * @param channelName the name of the Channel
-     * @param handler     the response handler
-     */
-    public void getFollows(final String channelName, final ChannelFollowsResponseHandler handler) {
-        getFollows(channelName, new RequestParams(), handler);
-    }
-
-    /**
-     * Returns a list of videos ordered by time of creation, starting with the most recent from specified channel.
-     *
-     * @param channelName the name of the Channel
      * @param params      the optional request parameters:
      *                    <ul>
-     *                    <li><code>limit</code>: Maximum number of objects in array. Default is 10. Maximum is 100.</li>
+     *                    <li><code>limit</code>: Maximum number of objects in array. Default is 25. Maximum is 100.</li>
      *                    <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
-     *                    <li><code>broadcasts</code>: Returns only broadcasts when <code>true</code>.
-     *                    Otherwise only highlights are returned.
-     *                    Default is <code>false</code>
-     *                    </li>
-     *                    <li><code>hls</code>: Returns only HLS VoDs when <code>true</code>.
-     *                    Otherwise only non-HLS VoDs are returned.
-     *                    Default is <code>false</code>.
+     *                    <li><code>direction</code>: Creation date sorting direction. Default is <code>desc</code>.
+     *                    Valid values are <code>asc</code> and <code>desc</code>.
      *                    </li>
      *                    </ul>
-     * @param handler     the response handler
+     * @return a future completed with a {@link Page} of {@link ChannelFollow} objects
      */
-    public void getVideos(final String channelName, final RequestParams params, final VideosResponseHandler handler) {
-        getId(channelName, new TwitchHttpResponseHandler(handler, objectMapper) {
+    public CompletableFuture<Page<ChannelFollow>> getFollowsAsync(String channelName, RequestParams params) {
+        CompletableFuture<Page<ChannelFollow>> future = new CompletableFuture<>();
+        getFollows(channelName, params, FutureHandlers.channelFollows(future));
+        return future;
+    }
 
-            @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/channels/%s/videos", getBaseUrl(), content);
-
-                http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        try {
-                            Videos value = objectMapper.readValue(content, Videos.class);
-                            handler.onSuccess(value.getTotal(), value.getVideos());
-                        } catch (IOException e) {
-                            handler.onFailure(e);
-                        }
-                    }
-                });
-            }
-        });
+    /**
+     * Iterates over every follow of <code>channelName</code>, requesting pages as they're needed.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of follows per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the follows
+     */
+    public PageIterator<ChannelFollow> iterateFollows(final String channelName, RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> getFollowsAsync(channelName, pageParams(params, offset, limit)), pageSize, prefetch);
     }
 
     /**
-     * Returns a list of videos ordered by time of creation, starting with the most recent from specified channel.
+     * Prepares fetching every follow of <code>channelName</code> with concurrent requests, once the first page reported the total.
      *
      * @param channelName the name of the Channel
-     * @param handler     the response handler
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of follows per page, at most 100
+     * @return fan-out to configure and {@link PageFanOut#run(java.util.function.Consumer) run}
      */
-    public void getVideos(final String channelName, final VideosResponseHandler handler) {
-        getVideos(channelName, new RequestParams(), handler);
+    public PageFanOut<ChannelFollow> fetchAllFollows(final String channelName, RequestParams params, int pageSize) {
+        return new PageFanOut<ChannelFollow>((offset, limit) -> getFollowsAsync(channelName, pageParams(params, offset, limit)), pageSize)
+                .setRateLimiter(http.getRateLimiter());
     }
 
     /**
-     * Returns a list of subscription objects sorted by subscription relationship creation date which contain users
-     * subscribed to the specified channel.
-     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     * Prepares exporting every follow of <code>channelName</code> to an NDJSON file, one line per item.
      *
      * @param channelName the name of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of follows per page, at most 100
+     * @return exporter to configure and {@link NdjsonExporter#export(java.nio.file.Path) run}
+     */
+    public NdjsonExporter<ChannelFollow> exportFollows(final String channelName, RequestParams params, int pageSize) {
+        return new NdjsonExporter<ChannelFollow>((offset, limit) -> getFollowsAsync(channelName, pageParams(params, offset, limit)), objectMapper, pageSize)
+                .setRateLimiter(http.getRateLimiter());
+    }
+
+    /**
+     * Returns a list of follow objects representing the followers of a channel.
+     *
+     * @param channelId   the id of the Channel
      * @param params      the optional request parameters:
      *                    <ul>
      *                    <li><code>limit</code>: Maximum number of objects in array. Default is 25. Maximum is 100.</li>
      *                    <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
-     *                    <li><code>direction</code>: Creation date sorting direction.
-     *                    Default is <code>asc</code>. Valid values are <code>asc</code> and <code>desc</code>.
+     *                    <li><code>direction</code>: Creation date sorting direction. Default is <code>desc</code>.
+     *                    Valid values are <code>asc</code> and <code>desc</code>.
      *                    </li>
      *                    </ul>
      * @param handler     the response handler
      */
-    public void getSubscriptions(final String channelName, final RequestParams params, final ChannelSubscriptionsResponseHandler handler) {
-        getId(channelName, new TwitchHttpResponseHandler(handler, objectMapper) {
+    public void getFollows(final long channelId, final RequestParams params, final ChannelFollowsResponseHandler handler) {
+        String url = String.format("%s/channels/%d/follows", getBaseUrl(), channelId);
 
+        http.get(url, params, new TwitchJsonResponseHandler<ChannelFollows>(handler, objectMapper, ChannelFollows.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/channels/%s/subscriptions", getBaseUrl(), content);
-
-                http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        try {
-                            ChannelSubscriptions value = objectMapper.readValue(content, ChannelSubscriptions.class);
-                            handler.onSuccess(value.getTotal(), value.getSubscriptions());
-                        } catch (IOException e) {
-                            handler.onFailure(e);
-                        }
-                    }
-                });
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, ChannelFollows value) {
+                handler.onSuccess(value.getTotal(), value.getFollows());
             }
         });
     }
 
     /**
-     * Returns a list of subscription objects sorted by subscription relationship creation date which contain users
-     * subscribed to the specified channel.
-     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     * Returns a list of follow objects representing the followers of a channel.
      *
-     * @param channelName the name of the Channel
-     * @param handler     the response handler
-     */
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters:
+     *                    <ul>
+     *                    <li><code>limit</code>: Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                    <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                    <li><code>direction</code>: Creation date sorting direction. Default is <code>desc</code>.
+     *                    Valid values are <code>asc</code> and <code>desc</code>.
+     *                    </li>
+     *                    </ul>
+     * @return a future completed with a {@link Page} of {@link ChannelFollow} objects
+     */
+    public CompletableFuture<Page<ChannelFollow>> getFollowsAsync(long channelId, RequestParams params) {
+        CompletableFuture<Page<ChannelFollow>> future = new CompletableFuture<>();
+        getFollows(channelId, params, FutureHandlers.channelFollows(future));
+        return future;
+    }
+
+    /**
+     * Iterates over every follow of <code>channelId</code>, requesting pages as they're needed.
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of follows per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the follows
+     */
+    public PageIterator<ChannelFollow> iterateFollows(final long channelId, RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> getFollowsAsync(channelId, pageParams(params, offset, limit)), pageSize, prefetch);
+    }
+
+    /**
+     * Prepares fetching every follow of <code>channelId</code> with concurrent requests, once the first page reported the total.
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of follows per page, at most 100
+     * @return fan-out to configure and {@link PageFanOut#run(java.util.function.Consumer) run}
+     */
+    public PageFanOut<ChannelFollow> fetchAllFollows(final long channelId, RequestParams params, int pageSize) {
+        return new PageFanOut<ChannelFollow>((offset, limit) -> getFollowsAsync(channelId, pageParams(params, offset, limit)), pageSize)
+                .setRateLimiter(http.getRateLimiter());
+    }
+
+    /**
+     * Prepares exporting every follow of <code>channelId</code> to an NDJSON file, one line per item.
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of follows per page, at most 100
+     * @return exporter to configure and {@link NdjsonExporter#export(java.nio.file.Path) run}
+     */
+    public NdjsonExporter<ChannelFollow> exportFollows(final long channelId, RequestParams params, int pageSize) {
+        return new NdjsonExporter<ChannelFollow>((offset, limit) -> getFollowsAsync(channelId, pageParams(params, offset, limit)), objectMapper, pageSize)
+                .setRateLimiter(http.getRateLimiter());
+    }
+
+    /**
+     * Returns a list of follow objects representing the followers of a channel.
+     *
+     * @param channelName the name of the Channel
+     * @param handler     the response handler
+     */
+    public void getFollows(final String channelName, final ChannelFollowsResponseHandler handler) {
+        getFollows(channelName, new RequestParams(), handler);
+    }
+
+    /**
+     * Returns a list of follow objects representing the followers of a channel.
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with a {@link Page} of {@link ChannelFollow} objects
+     */
+    public CompletableFuture<Page<ChannelFollow>> getFollowsAsync(String channelName) {
+        CompletableFuture<Page<ChannelFollow>> future = new CompletableFuture<>();
+        getFollows(channelName, FutureHandlers.channelFollows(future));
+        return future;
+    }
+
+    /**
+     * Returns a list of follow objects representing the followers of a channel.
+     *
+     * @param channelId   the id of the Channel
+     * @param handler     the response handler
+     */
+    public void getFollows(final long channelId, final ChannelFollowsResponseHandler handler) {
+        getFollows(channelId, new RequestParams(), handler);
+    }
+
+    /**
+     * Returns a list of follow objects representing the followers of a channel.
+     *
+     * @param channelId   the id of the Channel
+     * @return a future completed with a {@link Page} of {@link ChannelFollow} objects
+     */
+    public CompletableFuture<Page<ChannelFollow>> getFollowsAsync(long channelId) {
+        CompletableFuture<Page<ChannelFollow>> future = new CompletableFuture<>();
+        getFollows(channelId, FutureHandlers.channelFollows(future));
+        return future;
+    }
+
+    /**
+     * Returns a list of videos ordered by time of creation, starting with the most recent from specified channel.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters:
+     *                    <ul>
+     *                    <li><code>limit</code>: Maximum number of objects in array. Default is 10. Maximum is 100.</li>
+     *                    <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                    <li><code>broadcasts</code>: Returns only broadcasts when <code>true</code>.
+     *                    Otherwise only highlights are returned.
+     *                    Default is <code>false</code>
+     *                    </li>
+     *                    <li><code>hls</code>: Returns only HLS VoDs when <code>true</code>.
+     *                    Otherwise only non-HLS VoDs are returned.
+     *                    Default is <code>false</code>.
+     *                    </li>
+     *                    </ul>
+     * @param handler     the response handler
+     */
+    public void getVideos(final String channelName, final RequestParams params, final VideosResponseHandler handler) {
+        getId(channelName, new TwitchHttpResponseHandler(handler, objectMapper) {
+
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
+                getVideos(Long.parseLong(content), params, handler);
+            }
+        });
+    }
+
+    /**
+     * Returns a list of videos ordered by time of creation, starting with the most recent from specified channel.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters:
+     *                    <ul>
+     *                    <li><code>limit</code>: Maximum number of objects in array. Default is 10. Maximum is 100.</li>
+     *                    <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                    <li><code>broadcasts</code>: Returns only broadcasts when <code>true</code>.
+     *                    Otherwise only highlights are returned.
+     *                    Default is <code>false</code>
+     *                    </li>
+     *                    <li><code>hls</code>: Returns only HLS VoDs when <code>true</code>.
+     *                    Otherwise only non-HLS VoDs are returned.
+     *                    Default is <code>false</code>.
+     *                    </li>
+     *                    </ul>
+     * @return a future completed with a {@link Page} of {@link Video} objects
+     */
+    public CompletableFuture<Page<Video>> getVideosAsync(String channelName, RequestParams params) {
+        CompletableFuture<Page<Video>> future = new CompletableFuture<>();
+        getVideos(channelName, params, FutureHandlers.videos(future));
+        return future;
+    }
+
+    /**
+     * Iterates over every video of <code>channelName</code>, requesting pages as they're needed.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of videos per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the videos
+     */
+    public PageIterator<Video> iterateVideos(final String channelName, RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> getVideosAsync(channelName, pageParams(params, offset, limit)), pageSize, prefetch);
+    }
+
+    /**
+     * Prepares fetching every video of <code>channelName</code> with concurrent requests, once the first page reported the total.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of videos per page, at most 100
+     * @return fan-out to configure and {@link PageFanOut#run(java.util.function.Consumer) run}
+     */
+    public PageFanOut<Video> fetchAllVideos(final String channelName, RequestParams params, int pageSize) {
+        return new PageFanOut<Video>((offset, limit) -> getVideosAsync(channelName, pageParams(params, offset, limit)), pageSize)
+                .setRateLimiter(http.getRateLimiter());
+    }
+
+    /**
+     * Prepares exporting every video of <code>channelName</code> to an NDJSON file, one line per item.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of videos per page, at most 100
+     * @return exporter to configure and {@link NdjsonExporter#export(java.nio.file.Path) run}
+     */
+    public NdjsonExporter<Video> exportVideos(final String channelName, RequestParams params, int pageSize) {
+        return new NdjsonExporter<Video>((offset, limit) -> getVideosAsync(channelName, pageParams(params, offset, limit)), objectMapper, pageSize)
+                .setRateLimiter(http.getRateLimiter());
+    }
+
+    /**
+     * Returns a list of videos ordered by time of creation, starting with the most recent from specified channel.
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters:
+     *                    <ul>
+     *                    <li><code>limit</code>: Maximum number of objects in array. Default is 10. Maximum is 100.</li>
+     *                    <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                    <li><code>broadcasts</code>: Returns only broadcasts when <code>true</code>.
+     *                    Otherwise only highlights are returned.
+     *                    Default is <code>false</code>
+     *                    </li>
+     *                    <li><code>hls</code>: Returns only HLS VoDs when <code>true</code>.
+     *                    Otherwise only non-HLS VoDs are returned.
+     *                    Default is <code>false</code>.
+     *                    </li>
+     *                    </ul>
+     * @param handler     the response handler
+     */
+    public void getVideos(final long channelId, final RequestParams params, final VideosResponseHandler handler) {
+        String url = String.format("%s/channels/%d/videos", getBaseUrl(), channelId);
+
+        http.get(url, params, new TwitchJsonResponseHandler<Videos>(handler, objectMapper, Videos.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Videos value) {
+                handler.onSuccess(value.getTotal(), value.getVideos());
+            }
+        });
+    }
+
+    /**
+     * Returns a list of videos ordered by time of creation, starting with the most recent from specified channel.
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters:
+     *                    <ul>
+     *                    <li><code>limit</code>: Maximum number of objects in array. Default is 10. Maximum is 100.</li>
+     *                    <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                    <li><code>broadcasts</code>: Returns only broadcasts when <code>true</code>.
+     *                    Otherwise only highlights are returned.
+     *                    Default is <code>false</code>
+     *                    </li>
+     *                    <li><code>hls</code>: Returns only HLS VoDs when <code>true</code>.
+     *                    Otherwise only non-HLS VoDs are returned.
+     *                    Default is <code>false</code>.
+     *                    </li>
+     *                    </ul>
+     * @return a future completed with a {@link Page} of {@link Video} objects
+     */
+    public CompletableFuture<Page<Video>> getVideosAsync(long channelId, RequestParams params) {
+        CompletableFuture<Page<Video>> future = new CompletableFuture<>();
+        getVideos(channelId, params, FutureHandlers.videos(future));
+        return future;
+    }
+
+    /**
+     * Iterates over every video of <code>channelId</code>, requesting pages as they're needed.
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of videos per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the videos
+     */
+    public PageIterator<Video> iterateVideos(final long channelId, RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> getVideosAsync(channelId, pageParams(params, offset, limit)), pageSize, prefetch);
+    }
+
+    /**
+     * Prepares fetching every video of <code>channelId</code> with concurrent requests, once the first page reported the total.
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of videos per page, at most 100
+     * @return fan-out to configure and {@link PageFanOut#run(java.util.function.Consumer) run}
+     */
+    public PageFanOut<Video> fetchAllVideos(final long channelId, RequestParams params, int pageSize) {
+        return new PageFanOut<Video>((offset, limit) -> getVideosAsync(channelId, pageParams(params, offset, limit)), pageSize)
+                .setRateLimiter(http.getRateLimiter());
+    }
+
+    /**
+     * Prepares exporting every video of <code>channelId</code> to an NDJSON file, one line per item.
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of videos per page, at most 100
+     * @return exporter to configure and {@link NdjsonExporter#export(java.nio.file.Path) run}
+     */
+    public NdjsonExporter<Video> exportVideos(final long channelId, RequestParams params, int pageSize) {
+        return new NdjsonExporter<Video>((offset, limit) -> getVideosAsync(channelId, pageParams(params, offset, limit)), objectMapper, pageSize)
+                .setRateLimiter(http.getRateLimiter());
+    }
+
+    /**
+     * Returns a list of videos ordered by time of creation, starting with the most recent from specified channel.
+     *
+     * @param channelName the name of the Channel
+     * @param handler     the response handler
+     */
+    public void getVideos(final String channelName, final VideosResponseHandler handler) {
+        getVideos(channelName, new RequestParams(), handler);
+    }
+
+    /**
+     * Returns a list of videos ordered by time of creation, starting with the most recent from specified channel.
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with a {@link Page} of {@link Video} objects
+     */
+    public CompletableFuture<Page<Video>> getVideosAsync(String channelName) {
+        CompletableFuture<Page<Video>> future = new CompletableFuture<>();
+        getVideos(channelName, FutureHandlers.videos(future));
+        return future;
+    }
+
+    /**
+     * Returns a list of videos ordered by time of creation, starting with the most recent from specified channel.
+     *
+     * @param channelId   the id of the Channel
+     * @param handler     the response handler
+     */
+    public void getVideos(final long channelId, final VideosResponseHandler handler) {
+        getVideos(channelId, new RequestParams(), handler);
+    }
+
+    /**
+     * Returns a list of videos ordered by time of creation, starting with the most recent from specified channel.
+     *
+     * @param channelId   the id of the Channel
+     * @return a future completed with a {@link Page} of {@link Video} objects
+     */
+    public CompletableFuture<Page<Video>> getVideosAsync(long channelId) {
+        CompletableFuture<Page<Video>> future = new CompletableFuture<>();
+        getVideos(channelId, FutureHandlers.videos(future));
+        return future;
+    }
+
+    /**
+     * Returns a list of subscription objects sorted by subscription relationship creation date which contain users
+     * subscribed to the specified channel.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters:
+     *                    <ul>
+     *                    <li><code>limit</code>: Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                    <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                    <li><code>direction</code>: Creation date sorting direction.
+     *                    Default is <code>asc</code>. Valid values are <code>asc</code> and <code>desc</code>.
+     *                    </li>
+     *                    </ul>
+     * @param handler     the response handler
+     */
+    public void getSubscriptions(final String channelName, final RequestParams params, final ChannelSubscriptionsResponseHandler handler) {
+        if (!checkScope(Scopes.CHANNEL_SUBSCRIPTIONS, handler)) {
+            return;
+        }
+        getId(channelName, new TwitchHttpResponseHandler(handler, objectMapper) {
+
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
+                getSubscriptions(Long.parseLong(content), params, handler);
+            }
+        });
+    }
+
+    /**
+     * Returns a list of subscription objects sorted by subscription relationship creation date which contain users
+     * subscribed to the specified channel.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters:
+     *                    <ul>
+     *                    <li><code>limit</code>: Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                    <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                    <li><code>direction</code>: Creation date sorting direction.
+     *                    Default is <code>asc</code>. Valid values are <code>asc</code> and <code>desc</code>.
+     *                    </li>
+     *                    </ul>
+     * @return a future completed with a {@link Page} of {@link ChannelSubscription} objects
+     */
+    public CompletableFuture<Page<ChannelSubscription>> getSubscriptionsAsync(String channelName, RequestParams params) {
+        CompletableFuture<Page<ChannelSubscription>> future = new CompletableFuture<>();
+        getSubscriptions(channelName, params, FutureHandlers.channelSubscriptions(future));
+        return future;
+    }
+
+    /**
+     * Iterates over every subscription to <code>channelName</code>, requesting pages as they're needed.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of subscriptions per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the subscriptions
+     */
+    public PageIterator<ChannelSubscription> iterateSubscriptions(final String channelName, RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> getSubscriptionsAsync(channelName, pageParams(params, offset, limit)), pageSize, prefetch);
+    }
+
+    /**
+     * Prepares fetching every subscription to <code>channelName</code> with concurrent requests, once the first page reported the total.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of subscriptions per page, at most 100
+     * @return fan-out to configure and {@link PageFanOut#run(java.util.function.Consumer) run}
+     */
+    public PageFanOut<ChannelSubscription> fetchAllSubscriptions(final String channelName, RequestParams params, int pageSize) {
+        return new PageFanOut<ChannelSubscription>((offset, limit) -> getSubscriptionsAsync(channelName, pageParams(params, offset, limit)), pageSize)
+                .setRateLimiter(http.getRateLimiter());
+    }
+
+    /**
+     * Prepares exporting every subscription to <code>channelName</code> to an NDJSON file, one line per item.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of subscriptions per page, at most 100
+     * @return exporter to configure and {@link NdjsonExporter#export(java.nio.file.Path) run}
+     */
+    public NdjsonExporter<ChannelSubscription> exportSubscriptions(final String channelName, RequestParams params, int pageSize) {
+        return new NdjsonExporter<ChannelSubscription>((offset, limit) -> getSubscriptionsAsync(channelName, pageParams(params, offset, limit)), objectMapper, pageSize)
+                .setRateLimiter(http.getRateLimiter());
+    }
+
+    /**
+     * Returns a list of subscription objects sorted by subscription relationship creation date which contain users
+     * subscribed to the specified channel.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters:
+     *                    <ul>
+     *                    <li><code>limit</code>: Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                    <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                    <li><code>direction</code>: Creation date sorting direction.
+     *                    Default is <code>asc</code>. Valid values are <code>asc</code> and <code>desc</code>.
+     *                    </li>
+     *                    </ul>
+     * @param handler     the response handler
+     */
+    public void getSubscriptions(final long channelId, final RequestParams params, final ChannelSubscriptionsResponseHandler handler) {
+        if (!checkScope(Scopes.CHANNEL_SUBSCRIPTIONS, handler)) {
+            return;
+        }
+        String url = String.format("%s/channels/%d/subscriptions", getBaseUrl(), channelId);
+
+        http.get(url, params, new TwitchJsonResponseHandler<ChannelSubscriptions>(handler, objectMapper, ChannelSubscriptions.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, ChannelSubscriptions value) {
+                handler.onSuccess(value.getTotal(), value.getSubscriptions());
+            }
+        });
+    }
+
+    /**
+     * Returns a list of subscription objects sorted by subscription relationship creation date which contain users
+     * subscribed to the specified channel.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters:
+     *                    <ul>
+     *                    <li><code>limit</code>: Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                    <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                    <li><code>direction</code>: Creation date sorting direction.
+     *                    Default is <code>asc</code>. Valid values are <code>asc</code> and <code>desc</code>.
+     *                    </li>
+     *                    </ul>
+     * @return a future completed with a {@link Page} of {@link ChannelSubscription} objects
+     */
+    public CompletableFuture<Page<ChannelSubscription>> getSubscriptionsAsync(long channelId, RequestParams params) {
+        CompletableFuture<Page<ChannelSubscription>> future = new CompletableFuture<>();
+        getSubscriptions(channelId, params, FutureHandlers.channelSubscriptions(future));
+        return future;
+    }
+
+    /**
+     * Iterates over every subscription to <code>channelId</code>, requesting pages as they're needed.
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of subscriptions per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the subscriptions
+     */
+    public PageIterator<ChannelSubscription> iterateSubscriptions(final long channelId, RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> getSubscriptionsAsync(channelId, pageParams(params, offset, limit)), pageSize, prefetch);
+    }
+
+    /**
+     * Prepares fetching every subscription to <code>channelId</code> with concurrent requests, once the first page reported the total.
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of subscriptions per page, at most 100
+     * @return fan-out to configure and {@link PageFanOut#run(java.util.function.Consumer) run}
+     */
+    public PageFanOut<ChannelSubscription> fetchAllSubscriptions(final long channelId, RequestParams params, int pageSize) {
+        return new PageFanOut<ChannelSubscription>((offset, limit) -> getSubscriptionsAsync(channelId, pageParams(params, offset, limit)), pageSize)
+                .setRateLimiter(http.getRateLimiter());
+    }
+
+    /**
+     * Prepares exporting every subscription to <code>channelId</code> to an NDJSON file, one line per item.
+     *
+     * @param channelId   the id of the Channel
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of subscriptions per page, at most 100
+     * @return exporter to configure and {@link NdjsonExporter#export(java.nio.file.Path) run}
+     */
+    public NdjsonExporter<ChannelSubscription> exportSubscriptions(final long channelId, RequestParams params, int pageSize) {
+        return new NdjsonExporter<ChannelSubscription>((offset, limit) -> getSubscriptionsAsync(channelId, pageParams(params, offset, limit)), objectMapper, pageSize)
+                .setRateLimiter(http.getRateLimiter());
+    }
+
+    /**
+     * Returns a list of subscription objects sorted by subscription relationship creation date which contain users
+     * subscribed to the specified channel.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     *
+     * @param channelName the name of the Channel
+     * @param handler     the response handler
+     */
     public void getSubscriptions(final String channelName, final ChannelSubscriptionsResponseHandler handler) {
         getSubscriptions(channelName, new RequestParams(), handler);
     }
 
+    /**
+     * Returns a list of subscription objects sorted by subscription relationship creation date which contain users
+     * subscribed to the specified channel.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with a {@link Page} of {@link ChannelSubscription} objects
+     */
+    public CompletableFuture<Page<ChannelSubscription>> getSubscriptionsAsync(String channelName) {
+        CompletableFuture<Page<ChannelSubscription>> future = new CompletableFuture<>();
+        getSubscriptions(channelName, FutureHandlers.channelSubscriptions(future));
+        return future;
+    }
+
+    /**
+     * Returns a list of subscription objects sorted by subscription relationship creation date which contain users
+     * subscribed to the specified channel.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     *
+     * @param channelId   the id of the Channel
+     * @param handler     the response handler
+     */
+    public void getSubscriptions(final long channelId, final ChannelSubscriptionsResponseHandler handler) {
+        getSubscriptions(channelId, new RequestParams(), handler);
+    }
+
+    /**
+     * Returns a list of subscription objects sorted by subscription relationship creation date which contain users
+     * subscribed to the specified channel.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     *
+     * @param channelId   the id of the Channel
+     * @return a future completed with a {@link Page} of {@link ChannelSubscription} objects
+     */
+    public CompletableFuture<Page<ChannelSubscription>> getSubscriptionsAsync(long channelId) {
+        CompletableFuture<Page<ChannelSubscription>> future = new CompletableFuture<>();
+        getSubscriptions(channelId, FutureHandlers.channelSubscriptions(future));
+        return future;
+    }
+
     /**
      * Returns a subscription object which includes the user if that user is subscribed.
      * <p>Authenticated, required scope: {@link Scopes#CHANNEL_CHECK_SUBSCRIPTION}</p>
@@ -409,30 +1210,65 @@ public class ChannelsResource extends AbstractResource {
      * @param handler     the response handler
      */
     public void getSubscription(final String channelName, final String user, final ChannelSubscriptionResponseHandler handler) {
-        getId(channelName, new TwitchHttpResponseHandler(handler, objectMapper) {
+        if (!checkScope(Scopes.CHANNEL_CHECK_SUBSCRIPTION, handler)) {
+            return;
+        }
+        getIds(channelName, user, new TwitchIdPairHandler(handler) {
+
+            @Override
+            public void onSuccess(long channelId, long userId) {
+                getSubscription(channelId, userId, handler);
+            }
+        });
+    }
+
+    /**
+     * Returns a subscription object which includes the user if that user is subscribed.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_CHECK_SUBSCRIPTION}</p>
+     *
+     * @param channelName the name of the channel
+     * @param user        the user to check
+     * @return a future completed with the {@link ChannelSubscription}
+     */
+    public CompletableFuture<ChannelSubscription> getSubscriptionAsync(String channelName, String user) {
+        CompletableFuture<ChannelSubscription> future = new CompletableFuture<>();
+        getSubscription(channelName, user, FutureHandlers.channelSubscription(future));
+        return future;
+    }
+
+    /**
+     * Returns a subscription object which includes the user if that user is subscribed.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_CHECK_SUBSCRIPTION}</p>
+     *
+     * @param channelId   the id of the channel
+     * @param userId      the id of the user to check
+     * @param handler     the response handler
+     */
+    public void getSubscription(final long channelId, final long userId, final ChannelSubscriptionResponseHandler handler) {
+        if (!checkScope(Scopes.CHANNEL_CHECK_SUBSCRIPTION, handler)) {
+            return;
+        }
+        String url = String.format("%s/channels/%d/subscriptions/%d", getBaseUrl(), channelId, userId);
 
+        http.get(url, new TwitchJsonResponseHandler<ChannelSubscription>(handler, objectMapper, ChannelSubscription.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String userId) {
-                getId(user, new TwitchHttpResponseHandler(handler, objectMapper) {
-
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String channelId) {
-                        String url = String.format("%s/channels/%s/subscriptions/%s", getBaseUrl(), userId, channelId);
-
-                        http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
-                            @Override
-                            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                                try {
-                                    ChannelSubscription value = objectMapper.readValue(content, ChannelSubscription.class);
-                                    handler.onSuccess(value);
-                                } catch (IOException e) {
-                                    handler.onFailure(e);
-                                }
-                            }
-                        });
-                    }
-                });
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, ChannelSubscription value) {
+                handler.onSuccess(value);
             }
         });
     }
+
+    /**
+     * Returns a subscription object which includes the user if that user is subscribed.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_CHECK_SUBSCRIPTION}</p>
+     *
+     * @param channelId   the id of the channel
+     * @param userId      the id of the user to check
+     * @return a future completed with the {@link ChannelSubscription}
+     */
+    public CompletableFuture<ChannelSubscription> getSubscriptionAsync(long channelId, long userId) {
+        CompletableFuture<ChannelSubscription> future = new CompletableFuture<>();
+        getSubscription(channelId, userId, FutureHandlers.channelSubscription(future));
+        return future;
+    }
 }
@@ -3,14 +3,16 @@ package com.mb3364.twitch.api.resources;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mb3364.twitch.api.handlers.BadgesResponseHandler;
 import com.mb3364.twitch.api.handlers.EmoticonsResponseHandler;
+import com.mb3364.twitch.api.handlers.FutureHandlers;
 import com.mb3364.twitch.api.models.ChannelBadges;
+import com.mb3364.twitch.api.models.Emoticon;
 import com.mb3364.twitch.api.models.Emoticons;
 import com.mrivanplays.twitch.api.AsyncHttpClient;
 import com.mrivanplays.twitch.api.ChannelNameToID;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link ChatResource} provides the functionality to access the <code>/chat</code> endpoints of the Twitch API.
@@ -31,19 +33,25 @@ public class ChatResource extends AbstractResource {
     public void getEmoticons(final EmoticonsResponseHandler handler) {
         String url = String.format("%s/chat/emoticons", getBaseUrl());
 
-        http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, new TwitchJsonResponseHandler<Emoticons>(handler, objectMapper, Emoticons.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Emoticons value = objectMapper.readValue(content, Emoticons.class);
-                    handler.onSuccess(value.getEmoticons());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Emoticons value) {
+                handler.onSuccess(value.getEmoticons());
             }
         });
     }
 
+    /**
+     * Returns a list of all emoticon objects.
+     *
+     * @return a future completed with the list of {@link Emoticon} objects
+     */
+    public CompletableFuture<List<Emoticon>> getEmoticonsAsync() {
+        CompletableFuture<List<Emoticon>> future = new CompletableFuture<>();
+        getEmoticons(FutureHandlers.emoticons(future));
+        return future;
+    }
+
     /**
      * Returns a list of chat badges that can be used in the specified channel's chat.
      *
@@ -55,20 +63,49 @@ public class ChatResource extends AbstractResource {
 
             @Override
             public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/chat/%s/badges", getBaseUrl(), content);
+                getBadges(Long.parseLong(content), handler);
+            }
+        });
+    }
+
+    /**
+     * Returns a list of chat badges that can be used in the specified channel's chat.
+     *
+     * @param channel the name of the channel
+     * @return a future completed with the {@link ChannelBadges}
+     */
+    public CompletableFuture<ChannelBadges> getBadgesAsync(String channel) {
+        CompletableFuture<ChannelBadges> future = new CompletableFuture<>();
+        getBadges(channel, FutureHandlers.badges(future));
+        return future;
+    }
+
+    /**
+     * Returns a list of chat badges that can be used in the specified channel's chat.
+     *
+     * @param channelId the id of the channel
+     * @param handler the Response Handler
+     */
+    public void getBadges(final long channelId, final BadgesResponseHandler handler) {
+        String url = String.format("%s/chat/%d/badges", getBaseUrl(), channelId);
 
-                http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        try {
-                            ChannelBadges value = objectMapper.readValue(content, ChannelBadges.class);
-                            handler.onSuccess(value);
-                        } catch (IOException e) {
-                            handler.onFailure(e);
-                        }
-                    }
-                });
+        http.get(url, new TwitchJsonResponseHandler<ChannelBadges>(handler, objectMapper, ChannelBadges.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, ChannelBadges value) {
+                handler.onSuccess(value);
             }
         });
     }
+
+    /**
+     * Returns a list of chat badges that can be used in the specified channel's chat.
+     *
+     * @param channelId the id of the channel
+     * @return a future completed with the {@link ChannelBadges}
+     */
+    public CompletableFuture<ChannelBadges> getBadgesAsync(long channelId) {
+        CompletableFuture<ChannelBadges> future = new CompletableFuture<>();
+        getBadges(channelId, FutureHandlers.badges(future));
+        return future;
+    }
 }
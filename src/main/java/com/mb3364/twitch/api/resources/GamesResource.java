@@ -1,15 +1,18 @@
 package com.mb3364.twitch.api.resources;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mb3364.twitch.api.handlers.FutureHandlers;
 import com.mb3364.twitch.api.handlers.TopGamesResponseHandler;
 import com.mb3364.twitch.api.models.Games;
+import com.mb3364.twitch.api.models.Page;
+import com.mb3364.twitch.api.models.TopGame;
 import com.mrivanplays.twitch.api.AsyncHttpClient;
 import com.mrivanplays.twitch.api.ChannelNameToID;
 import com.mrivanplays.twitch.api.RequestParams;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link GamesResource} provides the functionality to access the <code>/games</code> endpoints of the Twitch API.
@@ -35,19 +38,30 @@ public class GamesResource extends AbstractResource {
     public void getTop(final RequestParams params, final TopGamesResponseHandler handler) {
         String url = String.format("%s/games/top", getBaseUrl());
 
-        http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, params, new TwitchJsonResponseHandler<Games>(handler, objectMapper, Games.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Games value = objectMapper.readValue(content, Games.class);
-                    handler.onSuccess(value.getTotal(), value.getTop());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Games value) {
+                handler.onSuccess(value.getTotal(), value.getTop());
             }
         });
     }
 
+    /**
+     * Returns a list of games objects sorted by number of current viewers on Twitch, most popular first.
+     *
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  the maximum number of objects in array. Maximum is 100.</li>
+     *                <li><code>offset</code>: the object offset for pagination. Default is 0.</li>
+     *                </ul>
+     * @return a future completed with a {@link Page} of {@link TopGame} objects
+     */
+    public CompletableFuture<Page<TopGame>> getTopAsync(RequestParams params) {
+        CompletableFuture<Page<TopGame>> future = new CompletableFuture<>();
+        getTop(params, FutureHandlers.topGames(future));
+        return future;
+    }
+
     /**
      * Returns a list of games objects sorted by number of current viewers on Twitch, most popular first.
      *
@@ -56,4 +70,15 @@ public class GamesResource extends AbstractResource {
     public void getTop(TopGamesResponseHandler handler) {
         getTop(new RequestParams(), handler);
     }
+
+    /**
+     * Returns a list of games objects sorted by number of current viewers on Twitch, most popular first.
+     *
+     * @return a future completed with a {@link Page} of {@link TopGame} objects
+     */
+    public CompletableFuture<Page<TopGame>> getTopAsync() {
+        CompletableFuture<Page<TopGame>> future = new CompletableFuture<>();
+        getTop(FutureHandlers.topGames(future));
+        return future;
+    }
 }
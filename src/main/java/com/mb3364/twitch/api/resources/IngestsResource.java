@@ -1,14 +1,16 @@
 package com.mb3364.twitch.api.resources;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mb3364.twitch.api.handlers.FutureHandlers;
 import com.mb3364.twitch.api.handlers.IngestsResponseHandler;
+import com.mb3364.twitch.api.models.Ingest;
 import com.mb3364.twitch.api.models.Ingests;
 import com.mrivanplays.twitch.api.AsyncHttpClient;
 import com.mrivanplays.twitch.api.ChannelNameToID;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link IngestsResource} provides the functionality to access the <code>/ingests</code> endpoints of the Twitch
@@ -30,16 +32,22 @@ public class IngestsResource extends AbstractResource {
     public void get(final IngestsResponseHandler handler) {
         String url = String.format("%s/ingests", getBaseUrl());
 
-        http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, new TwitchJsonResponseHandler<Ingests>(handler, objectMapper, Ingests.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Ingests value = objectMapper.readValue(content, Ingests.class);
-                    handler.onSuccess(value.getIngests());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Ingests value) {
+                handler.onSuccess(value.getIngests());
             }
         });
     }
+
+    /**
+     * Returns a list of ingest objects.
+     *
+     * @return a future completed with the list of {@link Ingest} objects
+     */
+    public CompletableFuture<List<Ingest>> getAsync() {
+        CompletableFuture<List<Ingest>> future = new CompletableFuture<>();
+        get(FutureHandlers.ingests(future));
+        return future;
+    }
 }
@@ -0,0 +1,238 @@
+package com.mb3364.twitch.api.resources;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mrivanplays.twitch.api.RateLimiter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports every item of a paged endpoint to a file, one JSON object per line (NDJSON).
+ * <p>Pages are fetched with a {@link PageFanOut} in offset order and written as they arrive through a fixed size
+ * buffer into a {@link FileChannel}, so memory use doesn't grow with the amount of items. At most once per
+ * {@link #setCheckpointInterval(long, TimeUnit) checkpoint interval}, the file is synced to disk and a checkpoint next
+ * to it (<code>file.checkpoint</code>) records the next offset and the file size. If an export is interrupted,
+ * exporting to the same file again resumes from the checkpoint, fetching the pages written after it again; the
+ * checkpoint is deleted once the export completes.</p>
+ * <p>Pages are written on the thread which delivered them, so consider setting a callback executor on the client when
+ * exporting to slow disks.</p>
+ *
+ * @param <T> item type
+ */
+public class NdjsonExporter<T> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PageIterator.PageFetcher<T> fetcher;
+    private final ObjectWriter writer;
+    private final int pageSize;
+    private int parallelism = 4;
+    private long checkpointIntervalNanos = TimeUnit.SECONDS.toNanos(1);
+    private RateLimiter rateLimiter;
+
+    /**
+     * Creates a new exporter.
+     *
+     * @param fetcher      requests one page
+     * @param objectMapper the mapper used to serialize items
+     * @param pageSize     the amount of items per page, at most 100 for most endpoints
+     */
+    public NdjsonExporter(PageIterator.PageFetcher<T> fetcher, ObjectMapper objectMapper, int pageSize) {
+        this.fetcher = fetcher;
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Sets the maximum amount of pages requested at once. Defaults to 4.
+     *
+     * @param parallelism maximum amount of requests in flight
+     * @return this instance for chaining
+     */
+    public NdjsonExporter<T> setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets how often progress is checkpointed. Each checkpoint syncs the file and the checkpoint to disk, so a shorter
+     * interval loses less progress to a crash at the cost of throughput. <code>0</code> checkpoints after every page.
+     * Defaults to one second.
+     *
+     * @param interval time between checkpoints
+     * @param unit     the unit of <code>interval</code>
+     * @return this instance for chaining
+     */
+    public NdjsonExporter<T> setCheckpointInterval(long interval, TimeUnit unit) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("interval cannot be negative");
+        }
+        this.checkpointIntervalNanos = unit.toNanos(interval);
+        return this;
+    }
+
+    /**
+     * Sets the rate limiter of the client making the requests. See {@link PageFanOut#setRateLimiter(RateLimiter)}.
+     *
+     * @param rateLimiter rate limiter
+     * @return this instance for chaining
+     */
+    public NdjsonExporter<T> setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+
+    /**
+     * Returns the path of the checkpoint kept while exporting to <code>file</code>.
+     *
+     * @param file export file
+     * @return checkpoint path
+     */
+    public static Path checkpointPath(Path file) {
+        return file.resolveSibling(file.getFileName() + ".checkpoint");
+    }
+
+    /**
+     * Exports every item to <code>file</code>, resuming from its checkpoint if there's one. Without a checkpoint, the
+     * file is overwritten.
+     *
+     * @param file export file
+     * @return a future completed with the amount of items written by this run, or exceptionally with the first failure
+     */
+    public CompletableFuture<Long> export(Path file) {
+        Path checkpoint = checkpointPath(file);
+        PageWriter pageWriter;
+        int startOffset;
+        try {
+            long position = 0;
+            startOffset = 0;
+            if (Files.exists(checkpoint)) {
+                String[] values = new String(Files.readAllBytes(checkpoint), StandardCharsets.UTF_8).trim().split(" ");
+                startOffset = Integer.parseInt(values[0]);
+                position = Long.parseLong(values[1]);
+            }
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            // Drop whatever was written after the last checkpoint, or the previous export if there's no checkpoint
+            channel.truncate(position);
+            channel.position(position);
+            pageWriter = new PageWriter(channel, checkpoint, startOffset);
+        } catch (IOException | RuntimeException e) {
+            CompletableFuture<Long> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        CompletableFuture<Long> result = new PageFanOut<>(fetcher, pageSize)
+                .setStartOffset(startOffset)
+                .setParallelism(parallelism)
+                .setRateLimiter(rateLimiter)
+                .setOrdered(true)
+                .run(pageWriter::write);
+        return result.whenComplete((count, error) -> pageWriter.close(error == null));
+    }
+
+    /**
+     * Writes pages to the file channel through a reused buffer, checkpointing after each page.
+     */
+    private final class PageWriter extends OutputStream {
+
+        private final FileChannel channel;
+        private final Path checkpoint;
+        private final Path checkpointTemp;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private int nextOffset;
+        private long lastCheckpointAt = System.nanoTime();
+
+        private PageWriter(FileChannel channel, Path checkpoint, int nextOffset) {
+            this.channel = channel;
+            this.checkpoint = checkpoint;
+            this.checkpointTemp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+            this.nextOffset = nextOffset;
+        }
+
+        private void write(List<T> items) {
+            try {
+                for (T item : items) {
+                    writer.writeValue(this, item);
+                    write('\n');
+                }
+                flushBuffer();
+                nextOffset += pageSize;
+                long now = System.nanoTime();
+                if (now - lastCheckpointAt < checkpointIntervalNanos) {
+                    return;
+                }
+                lastCheckpointAt = now;
+                // The pages have to be on disk before a checkpoint pointing past them is, or a crash could resume
+                // after lines that were never written
+                channel.force(false);
+                String value = nextOffset + " " + channel.position();
+                try (FileChannel temp = FileChannel.open(checkpointTemp, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    temp.write(ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8)));
+                    temp.force(false);
+                }
+                Files.move(checkpointTemp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (!buffer.hasRemaining()) {
+                    flushBuffer();
+                }
+                int chunk = Math.min(len, buffer.remaining());
+                buffer.put(b, off, chunk);
+                off += chunk;
+                len -= chunk;
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void close(boolean completed) {
+            try {
+                if (completed) {
+                    channel.force(false);
+                    Files.deleteIfExists(checkpoint);
+                }
+                channel.close();
+            } catch (IOException ignored) {
+                // the export itself already succeeded or failed
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.mb3364.twitch.api.resources;
+
+import com.mb3364.twitch.api.models.Page;
+import com.mrivanplays.twitch.api.RateLimiter;
+import com.mrivanplays.twitch.api.RequestQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Fetches every page of an endpoint paged with <code>limit</code> and <code>offset</code> concurrently. The first page
+ * is requested alone; once its <code>_total</code> is known, the remaining pages are requested in parallel, with at
+ * most {@link #setParallelism(int) parallelism} requests in flight.
+ * <p>Pages are handed to the consumer one at a time, never concurrently. In {@link #setOrdered(boolean) ordered} mode
+ * they arrive in offset order and at most <code>parallelism</code> pages are requested ahead of the last delivered
+ * one. Unordered mode delivers pages as they arrive for maximum throughput. Either way, a slow consumer slows down
+ * requesting instead of piling up pages in memory.</p>
+ * <p>Requests go through the client's rate limiter like any other. With
+ * {@link #setReservedBudget(int) a reserved budget}, no new pages are requested while the remaining budget
+ * is below it, leaving room for other traffic.</p>
+ *
+ * @param <T> item type
+ */
+public class PageFanOut<T> {
+
+    private static final long BUDGET_RECHECK_MILLIS = 250;
+
+    private static final ScheduledExecutorService BUDGET_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(() -> RequestQueue.runNonBlocking(runnable), "Twitch page fan-out");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PageIterator.PageFetcher<T> fetcher;
+    private final int pageSize;
+    private int startOffset;
+    private int parallelism = 4;
+    private boolean ordered = true;
+    private RateLimiter rateLimiter;
+    private int reservedBudget;
+
+    private final CompletableFuture<Long> result = new CompletableFuture<>();
+    private final TreeMap<Integer, List<T>> ready = new TreeMap<>(); // guarded by this
+    private Consumer<List<T>> consumer;
+    private int pageCount = -1; // guarded by this
+    private int nextToRequest; // guarded by this
+    private int nextToDeliver; // guarded by this
+    private int inFlight; // guarded by this
+    private int delivered; // guarded by this
+    private long itemCount; // guarded by this
+    private boolean delivering; // guarded by this
+    private boolean budgetRecheckScheduled; // guarded by this
+    private boolean started;
+
+    /**
+     * Creates a new fan-out.
+     *
+     * @param fetcher  requests one page
+     * @param pageSize the amount of items per page, at most 100 for most endpoints
+     */
+    public PageFanOut(PageIterator.PageFetcher<T> fetcher, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be at least 1");
+        }
+        this.fetcher = fetcher;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Sets the maximum amount of pages requested at once. Defaults to 4.
+     *
+     * @param parallelism maximum amount of requests in flight
+     * @return this instance for chaining
+     */
+    public PageFanOut<T> setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the offset of the first item to fetch, e.g. to resume an interrupted run. Defaults to 0.
+     *
+     * @param startOffset offset of the first item
+     * @return this instance for chaining
+     */
+    public PageFanOut<T> setStartOffset(int startOffset) {
+        if (startOffset < 0) {
+            throw new IllegalArgumentException("startOffset cannot be negative");
+        }
+        this.startOffset = startOffset;
+        return this;
+    }
+
+    /**
+     * Sets whether pages are delivered in offset order. Defaults to <code>true</code>.
+     *
+     * @param ordered whether to deliver pages in order
+     * @return this instance for chaining
+     */
+    public PageFanOut<T> setOrdered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    /**
+     * Sets the rate limiter whose remaining budget is checked against the {@link #setReservedBudget(int) reserved
+     * budget}. Resources set the rate limiter of their client.
+     *
+     * @param rateLimiter the rate limiter of the client making the requests
+     * @return this instance for chaining
+     */
+    public PageFanOut<T> setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+
+    /**
+     * Holds off requesting pages while the remaining budget of the rate limiter is below <code>reservedBudget</code>.
+     * Defaults to 0.
+     *
+     * @param reservedBudget the budget to leave for other requests
+     * @return this instance for chaining
+     */
+    public PageFanOut<T> setReservedBudget(int reservedBudget) {
+        this.reservedBudget = reservedBudget;
+        return this;
+    }
+
+    /**
+     * Starts fetching. Can only be called once.
+     *
+     * @param consumer receives each page's items, one page at a time
+     * @return a future completed with the amount of items delivered, or exceptionally with the first failure
+     */
+    public CompletableFuture<Long> run(Consumer<List<T>> consumer) {
+        synchronized (this) {
+            if (started) {
+                throw new IllegalStateException("already started");
+            }
+            started = true;
+            this.consumer = consumer;
+            nextToRequest = 1;
+            inFlight = 1;
+        }
+        fetcher.fetch(startOffset, pageSize).whenComplete((page, error) -> onPage(0, page, error));
+        return result;
+    }
+
+    private void onPage(int index, Page<T> page, Throwable error) {
+        if (error != null) {
+            result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            return;
+        }
+        synchronized (this) {
+            inFlight--;
+            if (index == 0) {
+                int remaining = Math.max(page.getTotal() - startOffset, 0);
+                pageCount = Math.max(1, (remaining + pageSize - 1) / pageSize);
+            }
+            List<T> items = page.getItems();
+            ready.put(index, items != null ? items : new ArrayList<>());
+        }
+        deliver();
+        requestMore();
+    }
+
+    private void requestMore() {
+        List<Integer> toRequest = new ArrayList<>();
+        synchronized (this) {
+            if (result.isDone()) {
+                return;
+            }
+            // Bound undelivered pages: ordered mode only requests within a window past the next page to deliver
+            while (inFlight < parallelism && nextToRequest < pageCount
+                    && (ordered ? nextToRequest < nextToDeliver + parallelism : ready.size() < parallelism)) {
+                if (isBudgetExhausted()) {
+                    if (inFlight == 0 && !budgetRecheckScheduled) {
+                        budgetRecheckScheduled = true;
+                        BUDGET_SCHEDULER.schedule(this::recheckBudget, BUDGET_RECHECK_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+                    break; // otherwise the next answer tries again
+                }
+                toRequest.add(nextToRequest++);
+                inFlight++;
+            }
+        }
+        for (int index : toRequest) {
+            fetcher.fetch(startOffset + index * pageSize, pageSize).whenComplete((page, error) -> onPage(index, page, error));
+        }
+    }
+
+    private void recheckBudget() {
+        synchronized (this) {
+            budgetRecheckScheduled = false;
+        }
+        requestMore();
+    }
+
+    private boolean isBudgetExhausted() {
+        return rateLimiter != null && reservedBudget > 0
+                && rateLimiter.getLimit() >= 0 && rateLimiter.getRemaining() < reservedBudget;
+    }
+
+    private void deliver() {
+        while (true) {
+            List<T> items;
+            synchronized (this) {
+                if (delivering || result.isDone()) {
+                    return; // the thread already delivering picks up the new page
+                }
+                Map.Entry<Integer, List<T>> next = ready.firstEntry();
+                if (next == null || (ordered && next.getKey() != nextToDeliver)) {
+                    return;
+                }
+                ready.pollFirstEntry();
+                if (ordered) {
+                    nextToDeliver++;
+                }
+                items = next.getValue();
+                delivering = true;
+            }
+            try {
+                consumer.accept(items);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            } finally {
+                synchronized (this) {
+                    delivering = false;
+                }
+            }
+            synchronized (this) {
+                delivered++;
+                itemCount += items.size();
+                if (delivered == pageCount) {
+                    result.complete(itemCount);
+                    return;
+                }
+            }
+            requestMore();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.mb3364.twitch.api.resources;
+
+import com.mb3364.twitch.api.models.Page;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over every item of an endpoint paged with <code>limit</code> and <code>offset</code>, requesting pages as
+ * they're needed.
+ * <p>While the consumer works through the current page, up to <code>prefetch</code> following pages are already
+ * requested. When the endpoint reports a <code>_total</code>, pages are requested up to it, since twitch returns
+ * short pages when entries are deleted or hidden, and iteration ends at the first empty page. Without a total, it ends
+ * at the first page shorter than the page size. Pages requested past the last one are discarded. If the consumer stops pulling, at most
+ * <code>prefetch</code> pages were requested needlessly; {@link #close()} stops any further requests.</p>
+ * <p>{@link #hasNext()} blocks until the next page arrived, so iterate from your own threads, never from response
+ * handlers. Failed requests are rethrown from {@link #hasNext()}.</p>
+ *
+ * @param <T> item type
+ */
+public class PageIterator<T> implements Iterator<T>, AutoCloseable {
+
+    /**
+     * Requests one page of an endpoint.
+     *
+     * @param <T> item type
+     */
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+
+        /**
+         * Requests the page starting at <code>offset</code>.
+         *
+         * @param offset the offset of the first item
+         * @param limit  the maximum amount of items
+         * @return a future completed with the page. A negative total means the endpoint doesn't report one.
+         */
+        CompletableFuture<Page<T>> fetch(int offset, int limit);
+    }
+
+    private final PageFetcher<T> fetcher;
+    private final int pageSize;
+    private final int prefetch;
+    private final Deque<CompletableFuture<Page<T>>> pending = new ArrayDeque<>();
+    private Iterator<T> current = Collections.emptyIterator();
+    private int nextOffset;
+    private int total = -1;
+    private boolean lastPageSeen;
+    private boolean closed;
+
+    /**
+     * Creates a new page iterator. The first page is requested right away.
+     *
+     * @param fetcher  requests one page
+     * @param pageSize the amount of items per page, at most 100 for most endpoints
+     * @param prefetch the amount of pages to request ahead of the consumer
+     */
+    public PageIterator(PageFetcher<T> fetcher, int pageSize, int prefetch) {
+        if (pageSize < 1 || prefetch < 0) {
+            throw new IllegalArgumentException("pageSize must be at least 1 and prefetch cannot be negative");
+        }
+        this.fetcher = fetcher;
+        this.pageSize = pageSize;
+        this.prefetch = prefetch;
+        request();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            CompletableFuture<Page<T>> next = pending.poll();
+            if (next == null) {
+                if (!request()) {
+                    return false;
+                }
+                next = pending.poll();
+            }
+            Page<T> page;
+            try {
+                page = next.join();
+            } catch (CompletionException e) {
+                close();
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            if (page.getTotal() >= 0) {
+                total = page.getTotal();
+            }
+            int size = page.getItems() != null ? page.getItems().size() : 0;
+            // A short page only means the end when there's no total to go by
+            if (size == 0 || (total < 0 && size < pageSize)) {
+                lastPageSeen = true;
+                pending.clear();
+            }
+            if (page.getItems() != null) {
+                current = page.getItems().iterator();
+            }
+            fill();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Stops requesting pages. Pages already requested are dropped when they arrive.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        pending.clear();
+        current = Collections.emptyIterator();
+    }
+
+    /**
+     * Returns a sequential stream over the remaining items. Closing the stream closes this iterator.
+     *
+     * @return stream of the remaining items
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    private void fill() {
+        while (pending.size() < prefetch && request()) {
+            // keep requesting
+        }
+    }
+
+    private boolean request() {
+        if (closed || lastPageSeen || (total >= 0 && nextOffset >= total)) {
+            return false;
+        }
+        pending.add(fetcher.fetch(nextOffset, pageSize));
+        nextOffset += pageSize;
+        return true;
+    }
+}
@@ -1,14 +1,16 @@
 package com.mb3364.twitch.api.resources;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mb3364.twitch.api.handlers.FutureHandlers;
 import com.mb3364.twitch.api.handlers.TokenResponseHandler;
 import com.mb3364.twitch.api.models.Root;
+import com.mb3364.twitch.api.models.Token;
 import com.mrivanplays.twitch.api.AsyncHttpClient;
 import com.mrivanplays.twitch.api.ChannelNameToID;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link RootResource} provides the functionality to access the root <code>/</code> endpoints of the Twitch API.
@@ -30,16 +32,23 @@ public class RootResource extends AbstractResource {
     public void get(final TokenResponseHandler handler) {
         String url = String.format("%s/", getBaseUrl());
 
-        http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, new TwitchJsonResponseHandler<Root>(handler, objectMapper, Root.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Root value = objectMapper.readValue(content, Root.class);
-                    handler.onSuccess(value.getToken());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Root value) {
+                handler.onSuccess(value.getToken());
             }
         });
     }
+
+    /**
+     * Authentication status. If you are authenticated, the response includes the status of your token and links to
+     * other related resources.
+     *
+     * @return a future completed with the {@link Token}
+     */
+    public CompletableFuture<Token> getAsync() {
+        CompletableFuture<Token> future = new CompletableFuture<>();
+        get(FutureHandlers.token(future));
+        return future;
+    }
 }
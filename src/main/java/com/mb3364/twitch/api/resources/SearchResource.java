@@ -2,16 +2,21 @@ package com.mb3364.twitch.api.resources;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mb3364.twitch.api.handlers.ChannelsResponseHandler;
+import com.mb3364.twitch.api.handlers.FutureHandlers;
 import com.mb3364.twitch.api.handlers.GamesResponseHandler;
 import com.mb3364.twitch.api.handlers.StreamsResponseHandler;
+import com.mb3364.twitch.api.models.Channel;
+import com.mb3364.twitch.api.models.Game;
+import com.mb3364.twitch.api.models.Page;
 import com.mb3364.twitch.api.models.SearchResultContainer;
+import com.mb3364.twitch.api.models.Stream;
 import com.mrivanplays.twitch.api.AsyncHttpClient;
 import com.mrivanplays.twitch.api.ChannelNameToID;
 import com.mrivanplays.twitch.api.RequestParams;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link SearchResource} provides the functionality to access the <code>/search</code> endpoints of the Twitch
@@ -40,19 +45,44 @@ public class SearchResource extends AbstractResource {
         String url = String.format("%s/search/channels", getBaseUrl());
         params.put("q", query);
 
-        http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, params, new TwitchJsonResponseHandler<SearchResultContainer>(handler, objectMapper, SearchResultContainer.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    SearchResultContainer value = objectMapper.readValue(content, SearchResultContainer.class);
-                    handler.onSuccess(value.getTotal(), value.getChannels());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, SearchResultContainer value) {
+                handler.onSuccess(value.getTotal(), value.getChannels());
             }
         });
     }
 
+    /**
+     * Returns a list of channel objects matching the search query.
+     *
+     * @param query   the search query
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  the maximum number of objects in array. Maximum is 100.</li>
+     *                <li><code>offset</code>: the object offset for pagination. Default is 0.</li>
+     *                </ul>
+     * @return a future completed with a {@link Page} of {@link Channel} objects
+     */
+    public CompletableFuture<Page<Channel>> channelsAsync(String query, RequestParams params) {
+        CompletableFuture<Page<Channel>> future = new CompletableFuture<>();
+        channels(query, params, FutureHandlers.channels(future));
+        return future;
+    }
+
+    /**
+     * Iterates over every channel matching <code>query</code>, requesting pages as they're needed.
+     *
+     * @param query       the search query
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of channels per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the channels
+     */
+    public PageIterator<Channel> iterateChannels(final String query, RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> channelsAsync(query, pageParams(params, offset, limit)), pageSize, prefetch);
+    }
+
     /**
      * Returns a list of channel objects matching the search query.
      *
@@ -63,6 +93,18 @@ public class SearchResource extends AbstractResource {
         channels(query, new RequestParams(), handler);
     }
 
+    /**
+     * Returns a list of channel objects matching the search query.
+     *
+     * @param query   the search query
+     * @return a future completed with a {@link Page} of {@link Channel} objects
+     */
+    public CompletableFuture<Page<Channel>> channelsAsync(String query) {
+        CompletableFuture<Page<Channel>> future = new CompletableFuture<>();
+        channels(query, FutureHandlers.channels(future));
+        return future;
+    }
+
     /**
      * Returns a list of stream objects matching the search query.
      *
@@ -80,19 +122,46 @@ public class SearchResource extends AbstractResource {
         String url = String.format("%s/search/streams", getBaseUrl());
         params.put("q", query);
 
-        http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, params, new TwitchJsonResponseHandler<SearchResultContainer>(handler, objectMapper, SearchResultContainer.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    SearchResultContainer value = objectMapper.readValue(content, SearchResultContainer.class);
-                    handler.onSuccess(value.getTotal(), value.getStreams());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, SearchResultContainer value) {
+                handler.onSuccess(value.getTotal(), value.getStreams());
             }
         });
     }
 
+    /**
+     * Returns a list of stream objects matching the search query.
+     *
+     * @param query   the search query
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  the maximum number of objects in array. Maximum is 100.</li>
+     *                <li><code>offset</code>: the object offset for pagination. Default is 0.</li>
+     *                <li><code>hls</code>:  If set to true, only returns streams using HLS.
+     *                If set to false, only returns streams that are non-HLS.</li>
+     *                </ul>
+     * @return a future completed with a {@link Page} of {@link Stream} objects
+     */
+    public CompletableFuture<Page<Stream>> streamsAsync(String query, RequestParams params) {
+        CompletableFuture<Page<Stream>> future = new CompletableFuture<>();
+        streams(query, params, FutureHandlers.streams(future));
+        return future;
+    }
+
+    /**
+     * Iterates over every stream matching <code>query</code>, requesting pages as they're needed.
+     *
+     * @param query       the search query
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of streams per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the streams
+     */
+    public PageIterator<Stream> iterateStreams(final String query, RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> streamsAsync(query, pageParams(params, offset, limit)), pageSize, prefetch);
+    }
+
     /**
      * Returns a list of stream objects matching the search query.
      *
@@ -103,6 +172,18 @@ public class SearchResource extends AbstractResource {
         streams(query, new RequestParams(), handler);
     }
 
+    /**
+     * Returns a list of stream objects matching the search query.
+     *
+     * @param query   the search query
+     * @return a future completed with a {@link Page} of {@link Stream} objects
+     */
+    public CompletableFuture<Page<Stream>> streamsAsync(String query) {
+        CompletableFuture<Page<Stream>> future = new CompletableFuture<>();
+        streams(query, FutureHandlers.streams(future));
+        return future;
+    }
+
     /**
      * Returns a list of game objects matching the search query.
      *
@@ -118,19 +199,30 @@ public class SearchResource extends AbstractResource {
         params.put("q", query);
         params.put("type", "suggest");
 
-        http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, params, new TwitchJsonResponseHandler<SearchResultContainer>(handler, objectMapper, SearchResultContainer.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    SearchResultContainer value = objectMapper.readValue(content, SearchResultContainer.class);
-                    handler.onSuccess(value.getGames().size(), value.getGames());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, SearchResultContainer value) {
+                handler.onSuccess(value.getGames().size(), value.getGames());
             }
         });
     }
 
+    /**
+     * Returns a list of game objects matching the search query.
+     *
+     * @param query   the search query
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>live</code>:  If true, only returns games that are live on at least one channel.</li>
+     *                </ul>
+     * @return a future completed with a {@link Page} of {@link Game} objects
+     */
+    public CompletableFuture<Page<Game>> gamesAsync(String query, RequestParams params) {
+        CompletableFuture<Page<Game>> future = new CompletableFuture<>();
+        games(query, params, FutureHandlers.games(future));
+        return future;
+    }
+
     /**
      * Returns a list of game objects matching the search query.
      *
@@ -140,4 +232,16 @@ public class SearchResource extends AbstractResource {
     public void games(final String query, final GamesResponseHandler handler) {
         games(query, new RequestParams(), handler);
     }
+
+    /**
+     * Returns a list of game objects matching the search query.
+     *
+     * @param query   the search query
+     * @return a future completed with a {@link Page} of {@link Game} objects
+     */
+    public CompletableFuture<Page<Game>> gamesAsync(String query) {
+        CompletableFuture<Page<Game>> future = new CompletableFuture<>();
+        games(query, FutureHandlers.games(future));
+        return future;
+    }
 }
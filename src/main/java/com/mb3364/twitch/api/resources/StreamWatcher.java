@@ -0,0 +1,404 @@
+package com.mb3364.twitch.api.resources;
+
+import com.mb3364.twitch.api.models.Channel;
+import com.mb3364.twitch.api.models.Page;
+import com.mb3364.twitch.api.models.Stream;
+import com.mrivanplays.twitch.api.RequestParams;
+import com.mrivanplays.twitch.api.RequestQueue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the live status of many channels at once.
+ * <p>Each cycle, the watched channel ids are packed into comma separated <code>channel</code> lists of up to
+ * {@link #MAX_BATCH_SIZE} ids, each requested with a single <code>GET /streams</code>, at most
+ * {@link #setParallelism(int) parallelism} batches at a time. The streams returned are compared with the previous
+ * cycle and listeners are told which channels went online, went offline or changed their game, title or stream.
+ * Watching 20 000 channels thus takes 200 requests per cycle.</p>
+ * <p>The first cycle reports every live channel as online. When a batch fails, its channels keep their previous
+ * state until a later cycle succeeds, so failures never produce offline events. A cycle starts
+ * {@link #setInterval(long, TimeUnit) interval} after the previous one started, or right after it finished if it took
+ * longer than that.</p>
+ * <p>Listeners are called on the thread which completed the cycle, one event at a time.</p>
+ */
+public class StreamWatcher implements AutoCloseable {
+
+    /**
+     * Receives the changes found by a {@link StreamWatcher}. Every method does nothing by default.
+     */
+    public interface Listener {
+
+        /**
+         * Called when a channel went live.
+         *
+         * @param stream the stream of the channel
+         */
+        default void onOnline(Stream stream) {
+        }
+
+        /**
+         * Called when a channel went offline.
+         *
+         * @param channelId the id of the channel
+         * @param lastSeen  the stream of the channel as seen by the previous cycle
+         */
+        default void onOffline(long channelId, Stream lastSeen) {
+        }
+
+        /**
+         * Called when a live channel changed its game or title, or started a new stream.
+         *
+         * @param previous the stream as seen by the previous cycle
+         * @param current  the stream as seen now
+         */
+        default void onChanged(Stream previous, Stream current) {
+        }
+
+        /**
+         * Called when a batch request failed. Its channels keep their previous state.
+         *
+         * @param throwable the failure
+         */
+        default void onFailure(Throwable throwable) {
+        }
+    }
+
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(() -> RequestQueue.runNonBlocking(runnable), "Twitch stream watcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final StreamsResource streams;
+    private final Set<Long> channelIds = ConcurrentHashMap.newKeySet();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile long intervalNanos = TimeUnit.SECONDS.toNanos(60);
+    private volatile int parallelism = 4;
+    private volatile int batchSize = MAX_BATCH_SIZE;
+    private volatile Map<Long, Stream> live = Collections.emptyMap();
+    private ScheduledFuture<?> nextCycle; // guarded by this
+    private boolean running; // guarded by this
+
+    /**
+     * Creates a new watcher. Use {@link StreamsResource#watcher()} to create one.
+     *
+     * @param streams the resource making the requests
+     */
+    public StreamWatcher(StreamsResource streams) {
+        this.streams = streams;
+    }
+
+    /**
+     * Sets the time between the start of two cycles. Defaults to 60 seconds. Applies from the next cycle on.
+     *
+     * @param interval poll interval
+     * @param unit     the unit of <code>interval</code>
+     * @return this instance for chaining
+     */
+    public StreamWatcher setInterval(long interval, TimeUnit unit) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        this.intervalNanos = unit.toNanos(interval);
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of batches requested at once. Defaults to 4.
+     *
+     * @param parallelism maximum amount of requests in flight
+     * @return this instance for chaining
+     */
+    public StreamWatcher setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the amount of channel ids per request. Defaults to {@link #MAX_BATCH_SIZE}.
+     *
+     * @param batchSize channel ids per request, between 1 and {@link #MAX_BATCH_SIZE}
+     * @return this instance for chaining
+     */
+    public StreamWatcher setBatchSize(int batchSize) {
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batchSize must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Starts watching the specified channels from the next cycle on.
+     *
+     * @param channelIds ids of the channels
+     * @return this instance for chaining
+     */
+    public StreamWatcher watch(Collection<Long> channelIds) {
+        this.channelIds.addAll(channelIds);
+        return this;
+    }
+
+    /**
+     * Starts watching the specified channels from the next cycle on.
+     *
+     * @param channelIds ids of the channels
+     * @return this instance for chaining
+     */
+    public StreamWatcher watch(long... channelIds) {
+        for (long channelId : channelIds) {
+            this.channelIds.add(channelId);
+        }
+        return this;
+    }
+
+    /**
+     * Stops watching the specified channels. No offline events are sent for them.
+     *
+     * @param channelIds ids of the channels
+     */
+    public void unwatch(long... channelIds) {
+        for (long channelId : channelIds) {
+            this.channelIds.remove(channelId);
+        }
+    }
+
+    /**
+     * Returns the ids of the watched channels.
+     *
+     * @return unmodifiable view of the watched channel ids
+     */
+    public Set<Long> getWatched() {
+        return Collections.unmodifiableSet(channelIds);
+    }
+
+    /**
+     * Returns the streams of the watched channels which were live in the last cycle, by channel id.
+     *
+     * @return unmodifiable snapshot of the live streams
+     */
+    public Map<Long, Stream> getLive() {
+        return live;
+    }
+
+    public StreamWatcher addListener(Listener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts polling. The first cycle starts right away. Does nothing if already started.
+     *
+     * @return this instance for chaining
+     */
+    public synchronized StreamWatcher start() {
+        if (!running) {
+            running = true;
+            nextCycle = SCHEDULER.schedule(this::runCycle, 0, TimeUnit.NANOSECONDS);
+        }
+        return this;
+    }
+
+    /**
+     * Stops polling. A cycle in progress finishes but no new cycle is started.
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (nextCycle != null) {
+            nextCycle.cancel(false);
+            nextCycle = null;
+        }
+    }
+
+    private void runCycle() {
+        long start = System.nanoTime();
+        new Cycle(new ArrayList<>(channelIds), batchSize, parallelism).run().whenComplete((ignored, error) -> {
+            synchronized (this) {
+                if (running) {
+                    long delay = Math.max(0, intervalNanos - (System.nanoTime() - start));
+                    nextCycle = SCHEDULER.schedule(this::runCycle, delay, TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+    }
+
+    static boolean hasChanged(Stream previous, Stream current) {
+        if (previous.getId() != current.getId() || !Objects.equals(previous.getGame(), current.getGame())) {
+            return true;
+        }
+        Channel previousChannel = previous.getChannel();
+        Channel currentChannel = current.getChannel();
+        return !Objects.equals(previousChannel.getStatus(), currentChannel.getStatus());
+    }
+
+    /**
+     * One poll of every watched channel: requests the batches, then diffs the merged result with the previous cycle.
+     */
+    private final class Cycle {
+
+        private final List<Long> ids;
+        private final int batchSize;
+        private final int parallelism;
+        private final int batchCount;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final Map<Long, Stream> found = new HashMap<>(); // guarded by this
+        private final Set<Long> failed = new HashSet<>(); // guarded by this
+        private final List<Throwable> failures = new ArrayList<>(); // guarded by this
+        private int nextBatch; // guarded by this
+        private int completed; // guarded by this
+
+        private Cycle(List<Long> ids, int batchSize, int parallelism) {
+            this.ids = ids;
+            this.batchSize = batchSize;
+            this.parallelism = parallelism;
+            this.batchCount = (ids.size() + batchSize - 1) / batchSize;
+        }
+
+        private CompletableFuture<Void> run() {
+            if (batchCount == 0) {
+                finish();
+                return done;
+            }
+            int initial;
+            synchronized (this) {
+                initial = Math.min(parallelism, batchCount);
+                nextBatch = initial;
+            }
+            for (int i = 0; i < initial; i++) {
+                request(i);
+            }
+            return done;
+        }
+
+        private void request(int batch) {
+            List<Long> batchIds = ids.subList(batch * batchSize, Math.min(ids.size(), (batch + 1) * batchSize));
+            StringBuilder channel = new StringBuilder();
+            for (Long id : batchIds) {
+                if (channel.length() > 0) {
+                    channel.append(',');
+                }
+                channel.append(id);
+            }
+            RequestParams params = new RequestParams();
+            params.put("channel", channel.toString());
+            params.put("limit", batchIds.size());
+            CompletableFuture<Page<Stream>> future;
+            try {
+                future = streams.getAsync(params);
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((page, error) -> onBatch(batchIds, page, error));
+        }
+
+        private void onBatch(List<Long> batchIds, Page<Stream> page, Throwable error) {
+            int next = -1;
+            boolean last;
+            synchronized (this) {
+                if (error != null) {
+                    failed.addAll(batchIds);
+                    failures.add(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                } else if (page.getItems() != null) {
+                    for (Stream stream : page.getItems()) {
+                        if (stream != null && stream.getChannel() != null) {
+                            found.put(stream.getChannel().getId(), stream);
+                        }
+                    }
+                }
+                completed++;
+                if (nextBatch < batchCount) {
+                    next = nextBatch++;
+                }
+                last = completed == batchCount;
+            }
+            if (next >= 0) {
+                request(next);
+            }
+            if (last) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            Map<Long, Stream> previous = live;
+            Map<Long, Stream> current = new HashMap<>();
+            List<Throwable> cycleFailures;
+            synchronized (this) {
+                for (Long id : ids) {
+                    Stream stream = failed.contains(id) ? previous.get(id) : found.get(id);
+                    if (stream != null) {
+                        current.put(id, stream);
+                    }
+                }
+                cycleFailures = new ArrayList<>(failures);
+            }
+            // Channels unwatched during the cycle are dropped without an event
+            current.keySet().retainAll(channelIds);
+            live = Collections.unmodifiableMap(current);
+
+            try {
+                for (Throwable failure : cycleFailures) {
+                    for (Listener listener : listeners) {
+                        notify(() -> listener.onFailure(failure));
+                    }
+                }
+                for (Map.Entry<Long, Stream> entry : current.entrySet()) {
+                    Stream before = previous.get(entry.getKey());
+                    Stream now = entry.getValue();
+                    for (Listener listener : listeners) {
+                        if (before == null) {
+                            notify(() -> listener.onOnline(now));
+                        } else if (before != now && hasChanged(before, now)) {
+                            notify(() -> listener.onChanged(before, now));
+                        }
+                    }
+                }
+                for (Map.Entry<Long, Stream> entry : previous.entrySet()) {
+                    long channelId = entry.getKey();
+                    if (!current.containsKey(channelId) && channelIds.contains(channelId)) {
+                        for (Listener listener : listeners) {
+                            notify(() -> listener.onOffline(channelId, entry.getValue()));
+                        }
+                    }
+                }
+            } finally {
+                done.complete(null);
+            }
+        }
+
+        private void notify(Runnable event) {
+            try {
+                event.run();
+            } catch (RuntimeException ignored) {
+                // a failing listener must not stop the watcher or the other listeners
+            }
+        }
+    }
+}
@@ -3,10 +3,14 @@ package com.mb3364.twitch.api.resources;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mb3364.twitch.api.auth.Scopes;
 import com.mb3364.twitch.api.handlers.FeaturedStreamResponseHandler;
+import com.mb3364.twitch.api.handlers.FutureHandlers;
 import com.mb3364.twitch.api.handlers.StreamResponseHandler;
 import com.mb3364.twitch.api.handlers.StreamsResponseHandler;
 import com.mb3364.twitch.api.handlers.StreamsSummaryResponseHandler;
+import com.mb3364.twitch.api.models.FeaturedStream;
 import com.mb3364.twitch.api.models.FeaturedStreamContainer;
+import com.mb3364.twitch.api.models.Page;
+import com.mb3364.twitch.api.models.Stream;
 import com.mb3364.twitch.api.models.StreamContainer;
 import com.mb3364.twitch.api.models.Streams;
 import com.mb3364.twitch.api.models.StreamsSummary;
@@ -14,9 +18,9 @@ import com.mrivanplays.twitch.api.AsyncHttpClient;
 import com.mrivanplays.twitch.api.ChannelNameToID;
 import com.mrivanplays.twitch.api.RequestParams;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link StreamsResource} provides the functionality to access the <code>/streams</code> endpoints of the Twitch
@@ -42,23 +46,55 @@ public class StreamsResource extends AbstractResource {
 
             @Override
             public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/streams/%s", getBaseUrl(), content);
-
-                http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        try {
-                            StreamContainer value = objectMapper.readValue(content, StreamContainer.class);
-                            handler.onSuccess(value.getStream());
-                        } catch (IOException e) {
-                            handler.onFailure(e);
-                        }
-                    }
-                });
+                get(Long.parseLong(content), handler);
             }
         });
     }
 
+    /**
+     * Returns a stream object.
+     * <p>The stream object in the onSuccess() response will be <code>null</code> if the stream is offline.</p>
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with the {@link Stream}
+     */
+    public CompletableFuture<Stream> getAsync(String channelName) {
+        CompletableFuture<Stream> future = new CompletableFuture<>();
+        get(channelName, FutureHandlers.stream(future));
+        return future;
+    }
+
+    /**
+     * Returns a stream object.
+     * <p>The stream object in the onSuccess() response will be <code>null</code> if the stream is offline.</p>
+     *
+     * @param channelId   the id of the Channel
+     * @param handler     the response handler
+     */
+    public void get(final long channelId, final StreamResponseHandler handler) {
+        String url = String.format("%s/streams/%d", getBaseUrl(), channelId);
+
+        http.get(url, new TwitchJsonResponseHandler<StreamContainer>(handler, objectMapper, StreamContainer.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, StreamContainer value) {
+                handler.onSuccess(value.getStream());
+            }
+        });
+    }
+
+    /**
+     * Returns a stream object.
+     * <p>The stream object in the onSuccess() response will be <code>null</code> if the stream is offline.</p>
+     *
+     * @param channelId   the id of the Channel
+     * @return a future completed with the {@link Stream}
+     */
+    public CompletableFuture<Stream> getAsync(long channelId) {
+        CompletableFuture<Stream> future = new CompletableFuture<>();
+        get(channelId, FutureHandlers.stream(future));
+        return future;
+    }
+
     /**
      * Returns a list of stream objects that are queried by a number of parameters sorted by number of viewers
      * descending.
@@ -76,19 +112,66 @@ public class StreamsResource extends AbstractResource {
     public void get(final RequestParams params, final StreamsResponseHandler handler) {
         String url = String.format("%s/streams", getBaseUrl());
 
-        http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, params, new TwitchJsonResponseHandler<Streams>(handler, objectMapper, Streams.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Streams value = objectMapper.readValue(content, Streams.class);
-                    handler.onSuccess(value.getTotal(), value.getStreams());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Streams value) {
+                handler.onSuccess(value.getTotal(), value.getStreams());
             }
         });
     }
 
+    /**
+     * Returns a list of stream objects that are queried by a number of parameters sorted by number of viewers
+     * descending.
+     *
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>game</code>:  Streams categorized under <code>game</code>.</li>
+     *                <li><code>channel</code>:  Streams from a comma separated list of channels.</li>
+     *                <li><code>limit</code>:  Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                <li><code>client_id</code>: Only shows streams from applications of <code>client_id</code>.</li>
+     *                </ul>
+     * @return a future completed with a {@link Page} of {@link Stream} objects
+     */
+    public CompletableFuture<Page<Stream>> getAsync(RequestParams params) {
+        CompletableFuture<Page<Stream>> future = new CompletableFuture<>();
+        get(params, FutureHandlers.streams(future));
+        return future;
+    }
+
+    /**
+     * Iterates over every live stream matching <code>params</code>, requesting pages as they're needed.
+     *
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of streams per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the streams
+     */
+    public PageIterator<Stream> iterate(RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> getAsync(pageParams(params, offset, limit)), pageSize, prefetch);
+    }
+
+    /**
+     * Creates a watcher reporting when channels go live, go offline or change, polling them in batches.
+     *
+     * @return watcher to configure and {@link StreamWatcher#start() start}
+     */
+    public StreamWatcher watcher() {
+        return new StreamWatcher(this);
+    }
+
+    /**
+     * Creates a poller reporting when channels go live, go offline or change, polling each channel at an interval
+     * adapted to how often it changes. The polled value is <code>null</code> while a channel is offline.
+     *
+     * @return poller to fill with channel ids and {@link AdaptivePoller#start() start}
+     */
+    public AdaptivePoller<Stream> poller() {
+        return new AdaptivePoller<Stream>(this::getAsync, (previous, current) -> previous == null || current == null
+                ? previous != current : StreamWatcher.hasChanged(previous, current));
+    }
+
     /**
      * Returns a list of stream objects that are queried by a number of parameters sorted by number of viewers
      * descending.
@@ -99,6 +182,18 @@ public class StreamsResource extends AbstractResource {
         get(new RequestParams(), handler);
     }
 
+    /**
+     * Returns a list of stream objects that are queried by a number of parameters sorted by number of viewers
+     * descending.
+     *
+     * @return a future completed with a {@link Page} of {@link Stream} objects
+     */
+    public CompletableFuture<Page<Stream>> getAsync() {
+        CompletableFuture<Page<Stream>> future = new CompletableFuture<>();
+        get(FutureHandlers.streams(future));
+        return future;
+    }
+
     /**
      * Returns a list of featured (promoted) stream objects.
      *
@@ -112,19 +207,30 @@ public class StreamsResource extends AbstractResource {
     public void getFeatured(final RequestParams params, final FeaturedStreamResponseHandler handler) {
         String url = String.format("%s/streams/featured", getBaseUrl());
 
-        http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, params, new TwitchJsonResponseHandler<FeaturedStreamContainer>(handler, objectMapper, FeaturedStreamContainer.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    FeaturedStreamContainer value = objectMapper.readValue(content, FeaturedStreamContainer.class);
-                    handler.onSuccess(value.getFeatured());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, FeaturedStreamContainer value) {
+                handler.onSuccess(value.getFeatured());
             }
         });
     }
 
+    /**
+     * Returns a list of featured (promoted) stream objects.
+     *
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                </ul>
+     * @return a future completed with the list of {@link FeaturedStream} objects
+     */
+    public CompletableFuture<List<FeaturedStream>> getFeaturedAsync(RequestParams params) {
+        CompletableFuture<List<FeaturedStream>> future = new CompletableFuture<>();
+        getFeatured(params, FutureHandlers.featuredStream(future));
+        return future;
+    }
+
     /**
      * Returns a list of featured (promoted) stream objects.
      *
@@ -134,6 +240,17 @@ public class StreamsResource extends AbstractResource {
         getFeatured(new RequestParams(), handler);
     }
 
+    /**
+     * Returns a list of featured (promoted) stream objects.
+     *
+     * @return a future completed with the list of {@link FeaturedStream} objects
+     */
+    public CompletableFuture<List<FeaturedStream>> getFeaturedAsync() {
+        CompletableFuture<List<FeaturedStream>> future = new CompletableFuture<>();
+        getFeatured(FutureHandlers.featuredStream(future));
+        return future;
+    }
+
     /**
      * Returns a summary of current streams.
      *
@@ -145,19 +262,26 @@ public class StreamsResource extends AbstractResource {
         RequestParams params = new RequestParams();
         params.put("game", game);
 
-        http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, params, new TwitchJsonResponseHandler<StreamsSummary>(handler, objectMapper, StreamsSummary.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    StreamsSummary value = objectMapper.readValue(content, StreamsSummary.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, StreamsSummary value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Returns a summary of current streams.
+     *
+     * @param game    Only show stats for the set game
+     * @return a future completed with the {@link StreamsSummary}
+     */
+    public CompletableFuture<StreamsSummary> getSummaryAsync(String game) {
+        CompletableFuture<StreamsSummary> future = new CompletableFuture<>();
+        getSummary(game, FutureHandlers.streamsSummary(future));
+        return future;
+    }
+
     /**
      * Returns a summary of current streams.
      *
@@ -166,19 +290,25 @@ public class StreamsResource extends AbstractResource {
     public void getSummary(final StreamsSummaryResponseHandler handler) {
         String url = String.format("%s/streams/summary", getBaseUrl());
 
-        http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, new TwitchJsonResponseHandler<StreamsSummary>(handler, objectMapper, StreamsSummary.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    StreamsSummary value = objectMapper.readValue(content, StreamsSummary.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, StreamsSummary value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Returns a summary of current streams.
+     *
+     * @return a future completed with the {@link StreamsSummary}
+     */
+    public CompletableFuture<StreamsSummary> getSummaryAsync() {
+        CompletableFuture<StreamsSummary> future = new CompletableFuture<>();
+        getSummary(FutureHandlers.streamsSummary(future));
+        return future;
+    }
+
     /**
      * Returns a list of stream objects that the authenticated user is following. Authenticated, required scope: {@link
      * Scopes#USER_READ}
@@ -191,21 +321,48 @@ public class StreamsResource extends AbstractResource {
      * @param handler the response handler
      */
     public void getFollowed(final RequestParams params, final StreamsResponseHandler handler) {
+        if (!checkScope(Scopes.USER_READ, handler)) {
+            return;
+        }
         String url = String.format("%s/streams/followed", getBaseUrl());
 
-        http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, params, new TwitchJsonResponseHandler<Streams>(handler, objectMapper, Streams.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Streams value = objectMapper.readValue(content, Streams.class);
-                    handler.onSuccess(value.getTotal(), value.getStreams());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Streams value) {
+                handler.onSuccess(value.getTotal(), value.getStreams());
             }
         });
     }
 
+    /**
+     * Returns a list of stream objects that the authenticated user is following. Authenticated, required scope: {@link
+     * Scopes#USER_READ}
+     *
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                </ul>
+     * @return a future completed with a {@link Page} of {@link Stream} objects
+     */
+    public CompletableFuture<Page<Stream>> getFollowedAsync(RequestParams params) {
+        CompletableFuture<Page<Stream>> future = new CompletableFuture<>();
+        getFollowed(params, FutureHandlers.streams(future));
+        return future;
+    }
+
+    /**
+     * Iterates over every live stream the authenticated user follows, requesting pages as they're needed.
+     *
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of streams per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the streams
+     */
+    public PageIterator<Stream> iterateFollowed(RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> getFollowedAsync(pageParams(params, offset, limit)), pageSize, prefetch);
+    }
+
     /**
      * Returns a list of stream objects that the authenticated user is following. Authenticated, required scope: {@link
      * Scopes#USER_READ}
@@ -215,4 +372,16 @@ public class StreamsResource extends AbstractResource {
     public void getFollowed(final StreamsResponseHandler handler) {
         getFollowed(new RequestParams(), handler);
     }
+
+    /**
+     * Returns a list of stream objects that the authenticated user is following. Authenticated, required scope: {@link
+     * Scopes#USER_READ}
+     *
+     * @return a future completed with a {@link Page} of {@link Stream} objects
+     */
+    public CompletableFuture<Page<Stream>> getFollowedAsync() {
+        CompletableFuture<Page<Stream>> future = new CompletableFuture<>();
+        getFollowed(FutureHandlers.streams(future));
+        return future;
+    }
 }
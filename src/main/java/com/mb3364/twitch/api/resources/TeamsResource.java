@@ -1,6 +1,7 @@
 package com.mb3364.twitch.api.resources;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mb3364.twitch.api.handlers.FutureHandlers;
 import com.mb3364.twitch.api.handlers.TeamResponseHandler;
 import com.mb3364.twitch.api.handlers.TeamsResponseHandler;
 import com.mb3364.twitch.api.models.Team;
@@ -9,9 +10,9 @@ import com.mrivanplays.twitch.api.AsyncHttpClient;
 import com.mrivanplays.twitch.api.ChannelNameToID;
 import com.mrivanplays.twitch.api.RequestParams;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link TeamsResource} provides the functionality to access the <code>/teams</code> endpoints of the Twitch API.
@@ -37,19 +38,30 @@ public class TeamsResource extends AbstractResource {
     public void get(final RequestParams params, final TeamsResponseHandler handler) {
         String url = String.format("%s/teams", getBaseUrl());
 
-        http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, params, new TwitchJsonResponseHandler<Teams>(handler, objectMapper, Teams.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Teams value = objectMapper.readValue(content, Teams.class);
-                    handler.onSuccess(value.getTeams());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Teams value) {
+                handler.onSuccess(value.getTeams());
             }
         });
     }
 
+    /**
+     * Returns a list of active teams.
+     *
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  the maximum number of objects in array. Maximum is 100.</li>
+     *                <li><code>offset</code>: the object offset for pagination. Default is 0.</li>
+     *                </ul>
+     * @return a future completed with the list of {@link Team} objects
+     */
+    public CompletableFuture<List<Team>> getAsync(RequestParams params) {
+        CompletableFuture<List<Team>> future = new CompletableFuture<>();
+        get(params, FutureHandlers.teams(future));
+        return future;
+    }
+
     /**
      * Returns a list of active teams.
      *
@@ -59,6 +71,17 @@ public class TeamsResource extends AbstractResource {
         get(new RequestParams(), handler);
     }
 
+    /**
+     * Returns a list of active teams.
+     *
+     * @return a future completed with the list of {@link Team} objects
+     */
+    public CompletableFuture<List<Team>> getAsync() {
+        CompletableFuture<List<Team>> future = new CompletableFuture<>();
+        get(FutureHandlers.teams(future));
+        return future;
+    }
+
     /**
      * Returns a specified {@link Team} object.
      *
@@ -68,16 +91,23 @@ public class TeamsResource extends AbstractResource {
     public void get(final String team, final TeamResponseHandler handler) {
         String url = String.format("%s/teams/%s", getBaseUrl(), team);
 
-        http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, new TwitchJsonResponseHandler<Team>(handler, objectMapper, Team.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Team value = objectMapper.readValue(content, Team.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Team value) {
+                handler.onSuccess(value);
             }
         });
     }
+
+    /**
+     * Returns a specified {@link Team} object.
+     *
+     * @param team    the name of the {@link Team}
+     * @return a future completed with the {@link Team}
+     */
+    public CompletableFuture<Team> getAsync(String team) {
+        CompletableFuture<Team> future = new CompletableFuture<>();
+        get(team, FutureHandlers.team(future));
+        return future;
+    }
 }
@@ -0,0 +1,152 @@
+package com.mb3364.twitch.api.resources;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel: four levels of 64 slots, each slot of a level spanning a full turn of the level below.
+ * Scheduling and cancelling are constant time and advancing a tick only touches the nodes which are due or move down a
+ * level, so millions of nodes can be scheduled cheaply. Deadlines past the top level wait in an overflow list which is
+ * reconsidered whenever the top level completes a turn.
+ * <p>Not thread safe; callers must synchronize access.</p>
+ */
+final class TimingWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int OVERFLOW = LEVELS * SLOTS;
+
+    /**
+     * An entry of the wheel. A node is in at most one slot at a time.
+     */
+    static class Node {
+
+        private Node prev;
+        private Node next;
+        private long deadline;
+        private int slot = -1;
+
+        boolean isScheduled() {
+            return slot >= 0;
+        }
+    }
+
+    private final Node[] heads = new Node[OVERFLOW + 1];
+    private long now;
+    private int size;
+
+    TimingWheel(long now) {
+        this.now = now;
+    }
+
+    long now() {
+        return now;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Schedules the node to expire at the specified tick, rescheduling it if it's already scheduled.
+     *
+     * @param node     the node
+     * @param deadline the tick at which the node expires; deadlines not after the current tick expire on the next one
+     */
+    void schedule(Node node, long deadline) {
+        if (node.isScheduled()) {
+            unlink(node);
+        }
+        node.deadline = Math.max(deadline, now + 1);
+        link(node, slotOf(node.deadline));
+        size++;
+    }
+
+    void cancel(Node node) {
+        if (node.isScheduled()) {
+            unlink(node);
+            size--;
+        }
+    }
+
+    /**
+     * Advances the wheel up to the specified tick, handing every node which expired on the way to the consumer. The
+     * consumer may schedule nodes again.
+     *
+     * @param to      the tick to advance to
+     * @param expired receives the expired nodes
+     */
+    void advance(long to, Consumer<Node> expired) {
+        while (now < to) {
+            now++;
+            // Each lower level completing a turn moves the next slot of the level above down
+            for (int level = 1; level < LEVELS && ((now >>> (SLOT_BITS * level)) << (SLOT_BITS * level)) == now; level++) {
+                cascade(level * SLOTS + (int) ((now >>> (SLOT_BITS * level)) & SLOT_MASK));
+            }
+            if ((now & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+                cascade(OVERFLOW);
+            }
+            int slot = (int) (now & SLOT_MASK);
+            Node node = heads[slot];
+            while (node != null) {
+                Node next = node.next;
+                unlink(node);
+                size--;
+                expired.accept(node);
+                node = next;
+            }
+        }
+    }
+
+    private void cascade(int slot) {
+        Node node = heads[slot];
+        heads[slot] = null;
+        while (node != null) {
+            Node next = node.next;
+            node.prev = null;
+            node.next = null;
+            link(node, slotOf(node.deadline));
+            node = next;
+        }
+    }
+
+    /**
+     * Returns the slot of the lowest level whose turn contains both the current tick and the deadline. The deadline
+     * then always falls in a later slot of that level than the current tick.
+     */
+    private int slotOf(long deadline) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((deadline >>> shift) == (now >>> shift)) {
+                return level * SLOTS + (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+            }
+        }
+        return OVERFLOW;
+    }
+
+    private void link(Node node, int slot) {
+        Node head = heads[slot];
+        node.next = head;
+        node.prev = null;
+        if (head != null) {
+            head.prev = node;
+        }
+        heads[slot] = node;
+        node.slot = slot;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            heads[node.slot] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        node.slot = -1;
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mb3364.twitch.api.auth.Scopes;
 import com.mb3364.twitch.api.handlers.BlockResponseHandler;
 import com.mb3364.twitch.api.handlers.BlocksResponseHandler;
+import com.mb3364.twitch.api.handlers.FutureHandlers;
 import com.mb3364.twitch.api.handlers.UnblockResponseHandler;
 import com.mb3364.twitch.api.handlers.UserFollowResponseHandler;
 import com.mb3364.twitch.api.handlers.UserFollowsResponseHandler;
@@ -12,6 +13,7 @@ import com.mb3364.twitch.api.handlers.UserSubscriptionResponseHandler;
 import com.mb3364.twitch.api.handlers.UserUnfollowResponseHandler;
 import com.mb3364.twitch.api.models.Block;
 import com.mb3364.twitch.api.models.Blocks;
+import com.mb3364.twitch.api.models.Page;
 import com.mb3364.twitch.api.models.User;
 import com.mb3364.twitch.api.models.UserFollow;
 import com.mb3364.twitch.api.models.UserFollows;
@@ -20,9 +22,9 @@ import com.mrivanplays.twitch.api.AsyncHttpClient;
 import com.mrivanplays.twitch.api.ChannelNameToID;
 import com.mrivanplays.twitch.api.RequestParams;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link UsersResource} provides the functionality to access the <code>/users</code> endpoints of the Twitch API.
@@ -46,44 +48,82 @@ public class UsersResource extends AbstractResource {
 
             @Override
             public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/users/%s", getBaseUrl(), content);
-
-                http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        try {
-                            User value = objectMapper.readValue(content, User.class);
-                            handler.onSuccess(value);
-                        } catch (IOException e) {
-                            handler.onFailure(e);
-                        }
-                    }
-                });
+                get(Long.parseLong(content), handler);
             }
         });
     }
 
+    /**
+     * Returns a {@link User} object.
+     *
+     * @param user    the user to request
+     * @return a future completed with the {@link User}
+     */
+    public CompletableFuture<User> getAsync(String user) {
+        CompletableFuture<User> future = new CompletableFuture<>();
+        get(user, FutureHandlers.user(future));
+        return future;
+    }
+
+    /**
+     * Returns a {@link User} object.
+     *
+     * @param userId  the id of the user to request
+     * @param handler the response handler
+     */
+    public void get(final long userId, final UserResponseHandler handler) {
+        String url = String.format("%s/users/%d", getBaseUrl(), userId);
+
+        http.get(url, new TwitchJsonResponseHandler<User>(handler, objectMapper, User.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, User value) {
+                handler.onSuccess(value);
+            }
+        });
+    }
+
+    /**
+     * Returns a {@link User} object.
+     *
+     * @param userId  the id of the user to request
+     * @return a future completed with the {@link User}
+     */
+    public CompletableFuture<User> getAsync(long userId) {
+        CompletableFuture<User> future = new CompletableFuture<>();
+        get(userId, FutureHandlers.user(future));
+        return future;
+    }
+
     /**
      * Returns the authenticated {@link User} object. Authenticated, required scope: {@link Scopes#USER_READ}
      *
      * @param handler the response handler
      */
     public void get(final UserResponseHandler handler) {
+        if (!checkScope(Scopes.USER_READ, handler)) {
+            return;
+        }
         String url = String.format("%s/user", getBaseUrl());
 
-        http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, new TwitchJsonResponseHandler<User>(handler, objectMapper, User.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    User value = objectMapper.readValue(content, User.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, User value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Returns the authenticated {@link User} object. Authenticated, required scope: {@link Scopes#USER_READ}
+     *
+     * @return a future completed with the {@link User}
+     */
+    public CompletableFuture<User> getAsync() {
+        CompletableFuture<User> future = new CompletableFuture<>();
+        get(FutureHandlers.user(future));
+        return future;
+    }
+
     /**
      * Returns the channel subscription that the user subscribes to. Authenticated, required scope: {@link
      * Scopes#USER_SUBSCRIPTIONS}
@@ -93,33 +133,68 @@ public class UsersResource extends AbstractResource {
      * @param handler the response handler
      */
     public void getSubscription(final String user, final String channel, final UserSubscriptionResponseHandler handler) {
-        getId(user, new TwitchHttpResponseHandler(handler, objectMapper) {
+        if (!checkScope(Scopes.USER_SUBSCRIPTIONS, handler)) {
+            return;
+        }
+        getIds(user, channel, new TwitchIdPairHandler(handler) {
+
+            @Override
+            public void onSuccess(long userId, long channelId) {
+                getSubscription(userId, channelId, handler);
+            }
+        });
+    }
+
+    /**
+     * Returns the channel subscription that the user subscribes to. Authenticated, required scope: {@link
+     * Scopes#USER_SUBSCRIPTIONS}
+     *
+     * @param user    the authenticated user's name
+     * @param channel the channel name of the subscription
+     * @return a future completed with the {@link UserSubscription}
+     */
+    public CompletableFuture<UserSubscription> getSubscriptionAsync(String user, String channel) {
+        CompletableFuture<UserSubscription> future = new CompletableFuture<>();
+        getSubscription(user, channel, FutureHandlers.userSubscription(future));
+        return future;
+    }
+
+    /**
+     * Returns the channel subscription that the user subscribes to. Authenticated, required scope: {@link
+     * Scopes#USER_SUBSCRIPTIONS}
+     *
+     * @param userId    the authenticated user's id
+     * @param channelId the channel id of the subscription
+     * @param handler   the response handler
+     */
+    public void getSubscription(final long userId, final long channelId, final UserSubscriptionResponseHandler handler) {
+        if (!checkScope(Scopes.USER_SUBSCRIPTIONS, handler)) {
+            return;
+        }
+        String url = String.format("%s/users/%d/subscriptions/%d", getBaseUrl(), userId, channelId);
 
+        http.get(url, new TwitchJsonResponseHandler<UserSubscription>(handler, objectMapper, UserSubscription.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String userId) {
-                getId(channel, new TwitchHttpResponseHandler(handler, objectMapper) {
-
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String channelId) {
-                        String url = String.format("%s/users/%s/subscriptions/%s", getBaseUrl(), userId, channelId);
-
-                        http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
-                            @Override
-                            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                                try {
-                                    UserSubscription value = objectMapper.readValue(content, UserSubscription.class);
-                                    handler.onSuccess(value);
-                                } catch (IOException e) {
-                                    handler.onFailure(e);
-                                }
-                            }
-                        });
-                    }
-                });
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, UserSubscription value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Returns the channel subscription that the user subscribes to. Authenticated, required scope: {@link
+     * Scopes#USER_SUBSCRIPTIONS}
+     *
+     * @param userId    the authenticated user's id
+     * @param channelId the channel id of the subscription
+     * @return a future completed with the {@link UserSubscription}
+     */
+    public CompletableFuture<UserSubscription> getSubscriptionAsync(long userId, long channelId) {
+        CompletableFuture<UserSubscription> future = new CompletableFuture<>();
+        getSubscription(userId, channelId, FutureHandlers.userSubscription(future));
+        return future;
+    }
+
     /**
      * Returns a {@link UserFollows} object that contains a list of {@link UserFollow} objects representing channels the
      * user is following.
@@ -141,23 +216,134 @@ public class UsersResource extends AbstractResource {
 
             @Override
             public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/users/%s/follows/channels", getBaseUrl(), content);
-
-                http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        try {
-                            UserFollows value = objectMapper.readValue(content, UserFollows.class);
-                            handler.onSuccess(value.getTotal(), value.getFollows());
-                        } catch (IOException e) {
-                            handler.onFailure(e);
-                        }
-                    }
-                });
+                getFollows(Long.parseLong(content), params, handler);
+            }
+        });
+    }
+
+    /**
+     * Returns a {@link UserFollows} object that contains a list of {@link UserFollow} objects representing channels the
+     * user is following.
+     *
+     * @param user    the user's name
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                <li><code>direction</code>: Sorting direction. Default is <code>desc</code>.
+     *                Valid values are <code>asc</code> and <code>desc</code>.</li>
+     *                <li><code>sortby</code>: Sort key. Default is <code>created_at</code>.
+     *                Valid values are <code>created_at</code>, <code>last_broadcast</code>, and <code>login</code>.</li>
+     *                </ul>
+     * @return a future completed with a {@link Page} of {@link UserFollow} objects
+     */
+    public CompletableFuture<Page<UserFollow>> getFollowsAsync(String user, RequestParams params) {
+        CompletableFuture<Page<UserFollow>> future = new CompletableFuture<>();
+        getFollows(user, params, FutureHandlers.userFollows(future));
+        return future;
+    }
+
+    /**
+     * Iterates over every channel <code>user</code> follows, requesting pages as they're needed.
+     *
+     * @param user        the user name
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of follows per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the follows
+     */
+    public PageIterator<UserFollow> iterateFollows(final String user, RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> getFollowsAsync(user, pageParams(params, offset, limit)), pageSize, prefetch);
+    }
+
+    /**
+     * Prepares exporting every channel <code>user</code> follows to an NDJSON file, one line per item.
+     *
+     * @param user        the user name
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of follows per page, at most 100
+     * @return exporter to configure and {@link NdjsonExporter#export(java.nio.file.Path) run}
+     */
+    public NdjsonExporter<UserFollow> exportFollows(final String user, RequestParams params, int pageSize) {
+        return new NdjsonExporter<UserFollow>((offset, limit) -> getFollowsAsync(user, pageParams(params, offset, limit)), objectMapper, pageSize)
+                .setRateLimiter(http.getRateLimiter());
+    }
+
+    /**
+     * Returns a {@link UserFollows} object that contains a list of {@link UserFollow} objects representing channels the
+     * user is following.
+     *
+     * @param userId  the user's id
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                <li><code>direction</code>: Sorting direction. Default is <code>desc</code>.
+     *                Valid values are <code>asc</code> and <code>desc</code>.</li>
+     *                <li><code>sortby</code>: Sort key. Default is <code>created_at</code>.
+     *                Valid values are <code>created_at</code>, <code>last_broadcast</code>, and <code>login</code>.</li>
+     *                </ul>
+     * @param handler the response handler
+     */
+    public void getFollows(final long userId, final RequestParams params, final UserFollowsResponseHandler handler) {
+        String url = String.format("%s/users/%d/follows/channels", getBaseUrl(), userId);
+
+        http.get(url, params, new TwitchJsonResponseHandler<UserFollows>(handler, objectMapper, UserFollows.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, UserFollows value) {
+                handler.onSuccess(value.getTotal(), value.getFollows());
             }
         });
     }
 
+    /**
+     * Returns a {@link UserFollows} object that contains a list of {@link UserFollow} objects representing channels the
+     * user is following.
+     *
+     * @param userId  the user's id
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                <li><code>direction</code>: Sorting direction. Default is <code>desc</code>.
+     *                Valid values are <code>asc</code> and <code>desc</code>.</li>
+     *                <li><code>sortby</code>: Sort key. Default is <code>created_at</code>.
+     *                Valid values are <code>created_at</code>, <code>last_broadcast</code>, and <code>login</code>.</li>
+     *                </ul>
+     * @return a future completed with a {@link Page} of {@link UserFollow} objects
+     */
+    public CompletableFuture<Page<UserFollow>> getFollowsAsync(long userId, RequestParams params) {
+        CompletableFuture<Page<UserFollow>> future = new CompletableFuture<>();
+        getFollows(userId, params, FutureHandlers.userFollows(future));
+        return future;
+    }
+
+    /**
+     * Iterates over every channel <code>userId</code> follows, requesting pages as they're needed.
+     *
+     * @param userId      the user id
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of follows per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the follows
+     */
+    public PageIterator<UserFollow> iterateFollows(final long userId, RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> getFollowsAsync(userId, pageParams(params, offset, limit)), pageSize, prefetch);
+    }
+
+    /**
+     * Prepares exporting every channel <code>userId</code> follows to an NDJSON file, one line per item.
+     *
+     * @param userId      the user id
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of follows per page, at most 100
+     * @return exporter to configure and {@link NdjsonExporter#export(java.nio.file.Path) run}
+     */
+    public NdjsonExporter<UserFollow> exportFollows(final long userId, RequestParams params, int pageSize) {
+        return new NdjsonExporter<UserFollow>((offset, limit) -> getFollowsAsync(userId, pageParams(params, offset, limit)), objectMapper, pageSize)
+                .setRateLimiter(http.getRateLimiter());
+    }
+
     /**
      * Returns a {@link UserFollows} object that contains a list of {@link UserFollow} objects representing channels the
      * user is following.
@@ -169,6 +355,43 @@ public class UsersResource extends AbstractResource {
         getFollows(user, new RequestParams(), handler);
     }
 
+    /**
+     * Returns a {@link UserFollows} object that contains a list of {@link UserFollow} objects representing channels the
+     * user is following.
+     *
+     * @param user    the user's name
+     * @return a future completed with a {@link Page} of {@link UserFollow} objects
+     */
+    public CompletableFuture<Page<UserFollow>> getFollowsAsync(String user) {
+        CompletableFuture<Page<UserFollow>> future = new CompletableFuture<>();
+        getFollows(user, FutureHandlers.userFollows(future));
+        return future;
+    }
+
+    /**
+     * Returns a {@link UserFollows} object that contains a list of {@link UserFollow} objects representing channels the
+     * user is following.
+     *
+     * @param userId  the user's id
+     * @param handler the response handler
+     */
+    public void getFollows(final long userId, final UserFollowsResponseHandler handler) {
+        getFollows(userId, new RequestParams(), handler);
+    }
+
+    /**
+     * Returns a {@link UserFollows} object that contains a list of {@link UserFollow} objects representing channels the
+     * user is following.
+     *
+     * @param userId  the user's id
+     * @return a future completed with a {@link Page} of {@link UserFollow} objects
+     */
+    public CompletableFuture<Page<UserFollow>> getFollowsAsync(long userId) {
+        CompletableFuture<Page<UserFollow>> future = new CompletableFuture<>();
+        getFollows(userId, FutureHandlers.userFollows(future));
+        return future;
+    }
+
     /**
      * Returns a {@link UserFollow} object representing a channel follow.
      *
@@ -177,33 +400,59 @@ public class UsersResource extends AbstractResource {
      * @param handler the response handler
      */
     public void getFollow(final String user, final String channel, final UserFollowResponseHandler handler) {
-        getId(user, new TwitchHttpResponseHandler(handler, objectMapper) {
+        getIds(user, channel, new TwitchIdPairHandler(handler) {
+
+            @Override
+            public void onSuccess(long userId, long channelId) {
+                getFollow(userId, channelId, handler);
+            }
+        });
+    }
+
+    /**
+     * Returns a {@link UserFollow} object representing a channel follow.
+     *
+     * @param user    the user
+     * @param channel the channel
+     * @return a future completed with the {@link UserFollow}
+     */
+    public CompletableFuture<UserFollow> getFollowAsync(String user, String channel) {
+        CompletableFuture<UserFollow> future = new CompletableFuture<>();
+        getFollow(user, channel, FutureHandlers.userFollow(future));
+        return future;
+    }
+
+    /**
+     * Returns a {@link UserFollow} object representing a channel follow.
+     *
+     * @param userId    the id of the user
+     * @param channelId the id of the channel
+     * @param handler   the response handler
+     */
+    public void getFollow(final long userId, final long channelId, final UserFollowResponseHandler handler) {
+        String url = String.format("%s/users/%d/follows/channels/%d", getBaseUrl(), userId, channelId);
 
+        http.get(url, new TwitchJsonResponseHandler<UserFollow>(handler, objectMapper, UserFollow.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String userId) {
-                getId(channel, new TwitchHttpResponseHandler(handler, objectMapper) {
-
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String channelId) {
-                        String url = String.format("%s/users/%s/follows/channels/%s", getBaseUrl(), userId, channelId);
-
-                        http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
-                            @Override
-                            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                                try {
-                                    UserFollow value = objectMapper.readValue(content, UserFollow.class);
-                                    handler.onSuccess(value);
-                                } catch (IOException e) {
-                                    handler.onFailure(e);
-                                }
-                            }
-                        });
-                    }
-                });
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, UserFollow value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Returns a {@link UserFollow} object representing a channel follow.
+     *
+     * @param userId    the id of the user
+     * @param channelId the id of the channel
+     * @return a future completed with the {@link UserFollow}
+     */
+    public CompletableFuture<UserFollow> getFollowAsync(long userId, long channelId) {
+        CompletableFuture<UserFollow> future = new CompletableFuture<>();
+        getFollow(userId, channelId, FutureHandlers.userFollow(future));
+        return future;
+    }
+
     /**
      * Follow a channel. Must be authenticated as the <code>user</code>. Authenticated, required scope: {@link
      * Scopes#USER_FOLLOWS_EDIT}
@@ -215,36 +464,77 @@ public class UsersResource extends AbstractResource {
      * @param handler             the response handler
      */
     public void follow(final String user, final String channel, final boolean enableNotifications, final UserFollowResponseHandler handler) {
-        getId(user, new TwitchHttpResponseHandler(handler, objectMapper) {
+        if (!checkScope(Scopes.USER_FOLLOWS_EDIT, handler)) {
+            return;
+        }
+        getIds(user, channel, new TwitchIdPairHandler(handler) {
+
+            @Override
+            public void onSuccess(long userId, long channelId) {
+                follow(userId, channelId, enableNotifications, handler);
+            }
+        });
+    }
+
+    /**
+     * Follow a channel. Must be authenticated as the <code>user</code>. Authenticated, required scope: {@link
+     * Scopes#USER_FOLLOWS_EDIT}
+     *
+     * @param user                the authenticated user
+     * @param channel             the channel to follow
+     * @param enableNotifications receive email/push notifications when channel goes live. Default is
+     *                            <code>false</code>.
+     * @return a future completed with the {@link UserFollow}
+     */
+    public CompletableFuture<UserFollow> followAsync(String user, String channel, boolean enableNotifications) {
+        CompletableFuture<UserFollow> future = new CompletableFuture<>();
+        follow(user, channel, enableNotifications, FutureHandlers.userFollow(future));
+        return future;
+    }
+
+    /**
+     * Follow a channel. Must be authenticated as the <code>userId</code>. Authenticated, required scope: {@link
+     * Scopes#USER_FOLLOWS_EDIT}
+     *
+     * @param userId              the id of the authenticated user
+     * @param channelId           the id of the channel to follow
+     * @param enableNotifications receive email/push notifications when channel goes live. Default is
+     *                            <code>false</code>.
+     * @param handler             the response handler
+     */
+    public void follow(final long userId, final long channelId, final boolean enableNotifications, final UserFollowResponseHandler handler) {
+        if (!checkScope(Scopes.USER_FOLLOWS_EDIT, handler)) {
+            return;
+        }
+        String url = String.format("%s/users/%d/follows/channels/%d", getBaseUrl(), userId, channelId);
+
+        RequestParams params = new RequestParams();
+        params.put("notifications", Boolean.toString(enableNotifications));
 
+        http.put(url, params, new TwitchJsonResponseHandler<UserFollow>(handler, objectMapper, UserFollow.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String userId) {
-                getId(channel, new TwitchHttpResponseHandler(handler, objectMapper) {
-
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String channelId) {
-                        String url = String.format("%s/users/%s/follows/channels/%s", getBaseUrl(), userId, channelId);
-
-                        RequestParams params = new RequestParams();
-                        params.put("notifications", Boolean.toString(enableNotifications));
-
-                        http.put(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
-                            @Override
-                            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                                try {
-                                    UserFollow value = objectMapper.readValue(content, UserFollow.class);
-                                    handler.onSuccess(value);
-                                } catch (IOException e) {
-                                    handler.onFailure(e);
-                                }
-                            }
-                        });
-                    }
-                });
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, UserFollow value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Follow a channel. Must be authenticated as the <code>userId</code>. Authenticated, required scope: {@link
+     * Scopes#USER_FOLLOWS_EDIT}
+     *
+     * @param userId              the id of the authenticated user
+     * @param channelId           the id of the channel to follow
+     * @param enableNotifications receive email/push notifications when channel goes live. Default is
+     *                            <code>false</code>.
+     * @return a future completed with the {@link UserFollow}
+     */
+    public CompletableFuture<UserFollow> followAsync(long userId, long channelId, boolean enableNotifications) {
+        CompletableFuture<UserFollow> future = new CompletableFuture<>();
+        follow(userId, channelId, enableNotifications, FutureHandlers.userFollow(future));
+        return future;
+    }
+
     /**
      * Follow a channel. Must be authenticated as the <code>user</code>. Authenticated, required scope: {@link
      * Scopes#USER_FOLLOWS_EDIT}
@@ -257,6 +547,46 @@ public class UsersResource extends AbstractResource {
         follow(user, channel, false, handler);
     }
 
+    /**
+     * Follow a channel. Must be authenticated as the <code>user</code>. Authenticated, required scope: {@link
+     * Scopes#USER_FOLLOWS_EDIT}
+     *
+     * @param user    the authenticated user
+     * @param channel the channel to follow
+     * @return a future completed with the {@link UserFollow}
+     */
+    public CompletableFuture<UserFollow> followAsync(String user, String channel) {
+        CompletableFuture<UserFollow> future = new CompletableFuture<>();
+        follow(user, channel, FutureHandlers.userFollow(future));
+        return future;
+    }
+
+    /**
+     * Follow a channel. Must be authenticated as the <code>userId</code>. Authenticated, required scope: {@link
+     * Scopes#USER_FOLLOWS_EDIT}
+     *
+     * @param userId    the id of the authenticated user
+     * @param channelId the id of the channel to follow
+     * @param handler   the response handler
+     */
+    public void follow(final long userId, final long channelId, final UserFollowResponseHandler handler) {
+        follow(userId, channelId, false, handler);
+    }
+
+    /**
+     * Follow a channel. Must be authenticated as the <code>userId</code>. Authenticated, required scope: {@link
+     * Scopes#USER_FOLLOWS_EDIT}
+     *
+     * @param userId    the id of the authenticated user
+     * @param channelId the id of the channel to follow
+     * @return a future completed with the {@link UserFollow}
+     */
+    public CompletableFuture<UserFollow> followAsync(long userId, long channelId) {
+        CompletableFuture<UserFollow> future = new CompletableFuture<>();
+        follow(userId, channelId, FutureHandlers.userFollow(future));
+        return future;
+    }
+
     /**
      * Unfollow a channel. Must be authenticated as the <code>user</code>. Authenticated, required scope: {@link
      * Scopes#USER_FOLLOWS_EDIT}
@@ -266,28 +596,68 @@ public class UsersResource extends AbstractResource {
      * @param handler the response handler
      */
     public void unfollow(final String user, final String channel, final UserUnfollowResponseHandler handler) {
-        getId(user, new TwitchHttpResponseHandler(handler, objectMapper) {
+        if (!checkScope(Scopes.USER_FOLLOWS_EDIT, handler)) {
+            return;
+        }
+        getIds(user, channel, new TwitchIdPairHandler(handler) {
+
+            @Override
+            public void onSuccess(long userId, long channelId) {
+                unfollow(userId, channelId, handler);
+            }
+        });
+    }
+
+    /**
+     * Unfollow a channel. Must be authenticated as the <code>user</code>. Authenticated, required scope: {@link
+     * Scopes#USER_FOLLOWS_EDIT}
+     *
+     * @param user    the authenticated user
+     * @param channel the channel to unfollow
+     * @return a future completed once the request succeeded
+     */
+    public CompletableFuture<Void> unfollowAsync(String user, String channel) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        unfollow(user, channel, FutureHandlers.userUnfollow(future));
+        return future;
+    }
+
+    /**
+     * Unfollow a channel. Must be authenticated as the <code>userId</code>. Authenticated, required scope: {@link
+     * Scopes#USER_FOLLOWS_EDIT}
+     *
+     * @param userId    the id of the authenticated user
+     * @param channelId the id of the channel to unfollow
+     * @param handler   the response handler
+     */
+    public void unfollow(final long userId, final long channelId, final UserUnfollowResponseHandler handler) {
+        if (!checkScope(Scopes.USER_FOLLOWS_EDIT, handler)) {
+            return;
+        }
+        String url = String.format("%s/users/%d/follows/channels/%d", getBaseUrl(), userId, channelId);
 
+        http.delete(url, new TwitchJsonResponseHandler<Void>(handler, objectMapper, Void.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String userId) {
-                getId(channel, new TwitchHttpResponseHandler(handler, objectMapper) {
-
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String channelId) {
-                        String url = String.format("%s/users/%s/follows/channels/%s", getBaseUrl(), userId, channelId);
-
-                        http.delete(url, new TwitchHttpResponseHandler(handler, objectMapper) {
-                            @Override
-                            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                                handler.onSuccess();
-                            }
-                        });
-                    }
-                });
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Void value) {
+                handler.onSuccess();
             }
         });
     }
 
+    /**
+     * Unfollow a channel. Must be authenticated as the <code>userId</code>. Authenticated, required scope: {@link
+     * Scopes#USER_FOLLOWS_EDIT}
+     *
+     * @param userId    the id of the authenticated user
+     * @param channelId the id of the channel to unfollow
+     * @return a future completed once the request succeeded
+     */
+    public CompletableFuture<Void> unfollowAsync(long userId, long channelId) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        unfollow(userId, channelId, FutureHandlers.userUnfollow(future));
+        return future;
+    }
+
     /**
      * Returns a list of {@link Block} objects on <code>User</code>'s block list. List sorted by recency, newest first.
      * Authenticated, required scope: {@link Scopes#USER_BLOCKS_READ}
@@ -301,27 +671,108 @@ public class UsersResource extends AbstractResource {
      * @param handler the response handler
      */
     public void getBlocks(final String user, final RequestParams params, final BlocksResponseHandler handler) {
+        if (!checkScope(Scopes.USER_BLOCKS_READ, handler)) {
+            return;
+        }
         getId(user, new TwitchHttpResponseHandler(handler, objectMapper) {
 
             @Override
             public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                String url = String.format("%s/users/%s/blocks", getBaseUrl(), content);
-
-                http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                        try {
-                            Blocks value = objectMapper.readValue(content, Blocks.class);
-                            handler.onSuccess(value.getBlocks());
-                        } catch (IOException e) {
-                            handler.onFailure(e);
-                        }
-                    }
-                });
+                getBlocks(Long.parseLong(content), params, handler);
+            }
+        });
+    }
+
+    /**
+     * Returns a list of {@link Block} objects on <code>User</code>'s block list. List sorted by recency, newest first.
+     * Authenticated, required scope: {@link Scopes#USER_BLOCKS_READ}
+     *
+     * @param user    the authenticated user
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                </ul>
+     * @return a future completed with the list of {@link Block} objects
+     */
+    public CompletableFuture<List<Block>> getBlocksAsync(String user, RequestParams params) {
+        CompletableFuture<List<Block>> future = new CompletableFuture<>();
+        getBlocks(user, params, FutureHandlers.blocks(future));
+        return future;
+    }
+
+    /**
+     * Iterates over every user <code>user</code> blocked, requesting pages as they're needed.
+     *
+     * @param user        the user name
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of blocks per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the blocks
+     */
+    public PageIterator<Block> iterateBlocks(final String user, RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> getBlocksAsync(user, pageParams(params, offset, limit))
+                .thenApply(blocks -> new Page<>(-1, blocks)), pageSize, prefetch);
+    }
+
+    /**
+     * Returns a list of {@link Block} objects on <code>User</code>'s block list. List sorted by recency, newest first.
+     * Authenticated, required scope: {@link Scopes#USER_BLOCKS_READ}
+     *
+     * @param userId  the id of the authenticated user
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                </ul>
+     * @param handler the response handler
+     */
+    public void getBlocks(final long userId, final RequestParams params, final BlocksResponseHandler handler) {
+        if (!checkScope(Scopes.USER_BLOCKS_READ, handler)) {
+            return;
+        }
+        String url = String.format("%s/users/%d/blocks", getBaseUrl(), userId);
+
+        http.get(url, params, new TwitchJsonResponseHandler<Blocks>(handler, objectMapper, Blocks.class) {
+            @Override
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Blocks value) {
+                handler.onSuccess(value.getBlocks());
             }
         });
     }
 
+    /**
+     * Returns a list of {@link Block} objects on <code>User</code>'s block list. List sorted by recency, newest first.
+     * Authenticated, required scope: {@link Scopes#USER_BLOCKS_READ}
+     *
+     * @param userId  the id of the authenticated user
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  Maximum number of objects in array. Default is 25. Maximum is 100.</li>
+     *                <li><code>offset</code>: Object offset for pagination. Default is 0.</li>
+     *                </ul>
+     * @return a future completed with the list of {@link Block} objects
+     */
+    public CompletableFuture<List<Block>> getBlocksAsync(long userId, RequestParams params) {
+        CompletableFuture<List<Block>> future = new CompletableFuture<>();
+        getBlocks(userId, params, FutureHandlers.blocks(future));
+        return future;
+    }
+
+    /**
+     * Iterates over every user <code>userId</code> blocked, requesting pages as they're needed.
+     *
+     * @param userId      the user id
+     * @param params      the optional request parameters, besides <code>limit</code> and <code>offset</code>
+     * @param pageSize    the amount of blocks per page, at most 100
+     * @param prefetch    the amount of pages to request ahead of the consumer
+     * @return iterator over the blocks
+     */
+    public PageIterator<Block> iterateBlocks(final long userId, RequestParams params, int pageSize, int prefetch) {
+        return new PageIterator<>((offset, limit) -> getBlocksAsync(userId, pageParams(params, offset, limit))
+                .thenApply(blocks -> new Page<>(-1, blocks)), pageSize, prefetch);
+    }
+
     /**
      * Returns a list of {@link Block} objects on <code>User</code>'s block list. List sorted by recency, newest first.
      * Authenticated, required scope: {@link Scopes#USER_BLOCKS_READ}
@@ -333,70 +784,182 @@ public class UsersResource extends AbstractResource {
         getBlocks(user, new RequestParams(), handler);
     }
 
+    /**
+     * Returns a list of {@link Block} objects on <code>User</code>'s block list. List sorted by recency, newest first.
+     * Authenticated, required scope: {@link Scopes#USER_BLOCKS_READ}
+     *
+     * @param user    the authenticated user
+     * @return a future completed with the list of {@link Block} objects
+     */
+    public CompletableFuture<List<Block>> getBlocksAsync(String user) {
+        CompletableFuture<List<Block>> future = new CompletableFuture<>();
+        getBlocks(user, FutureHandlers.blocks(future));
+        return future;
+    }
+
+    /**
+     * Returns a list of {@link Block} objects on <code>User</code>'s block list. List sorted by recency, newest first.
+     * Authenticated, required scope: {@link Scopes#USER_BLOCKS_READ}
+     *
+     * @param userId  the id of the authenticated user
+     * @param handler the response handler
+     */
+    public void getBlocks(final long userId, final BlocksResponseHandler handler) {
+        getBlocks(userId, new RequestParams(), handler);
+    }
+
+    /**
+     * Returns a list of {@link Block} objects on <code>User</code>'s block list. List sorted by recency, newest first.
+     * Authenticated, required scope: {@link Scopes#USER_BLOCKS_READ}
+     *
+     * @param userId  the id of the authenticated user
+     * @return a future completed with the list of {@link Block} objects
+     */
+    public CompletableFuture<List<Block>> getBlocksAsync(long userId) {
+        CompletableFuture<List<Block>> future = new CompletableFuture<>();
+        getBlocks(userId, FutureHandlers.blocks(future));
+        return future;
+    }
+
     /**
      * Blocks a <code>target</code> for the authenticated <code>user</code>. Authenticated, required scope: {@link
-     * Scopes#USER_FOLLOWS_EDIT}
+     * Scopes#USER_BLOCKS_EDIT}
      *
      * @param user    the authenticated user
      * @param target  the user to block
      * @param handler the response handler
      */
     public void putBlock(final String user, final String target, final BlockResponseHandler handler) {
-        getId(user, new TwitchHttpResponseHandler(handler, objectMapper) {
+        if (!checkScope(Scopes.USER_BLOCKS_EDIT, handler)) {
+            return;
+        }
+        getIds(user, target, new TwitchIdPairHandler(handler) {
+
+            @Override
+            public void onSuccess(long userId, long targetId) {
+                putBlock(userId, targetId, handler);
+            }
+        });
+    }
+
+    /**
+     * Blocks a <code>target</code> for the authenticated <code>user</code>. Authenticated, required scope: {@link
+     * Scopes#USER_BLOCKS_EDIT}
+     *
+     * @param user    the authenticated user
+     * @param target  the user to block
+     * @return a future completed with the {@link Block}
+     */
+    public CompletableFuture<Block> putBlockAsync(String user, String target) {
+        CompletableFuture<Block> future = new CompletableFuture<>();
+        putBlock(user, target, FutureHandlers.block(future));
+        return future;
+    }
+
+    /**
+     * Blocks a <code>targetId</code> for the authenticated <code>userId</code>. Authenticated, required scope: {@link
+     * Scopes#USER_BLOCKS_EDIT}
+     *
+     * @param userId   the id of the authenticated user
+     * @param targetId the id of the user to block
+     * @param handler  the response handler
+     */
+    public void putBlock(final long userId, final long targetId, final BlockResponseHandler handler) {
+        if (!checkScope(Scopes.USER_BLOCKS_EDIT, handler)) {
+            return;
+        }
+        String url = String.format("%s/users/%d/blocks/%d", getBaseUrl(), userId, targetId);
 
+        http.put(url, new TwitchJsonResponseHandler<Block>(handler, objectMapper, Block.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String userId) {
-                getId(target, new TwitchHttpResponseHandler(handler, objectMapper) {
-
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String channelId) {
-                        String url = String.format("%s/users/%s/blocks/%s", getBaseUrl(), userId, channelId);
-
-                        http.put(url, new TwitchHttpResponseHandler(handler, objectMapper) {
-                            @Override
-                            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                                try {
-                                    Block value = objectMapper.readValue(content, Block.class);
-                                    handler.onSuccess(value);
-                                } catch (IOException e) {
-                                    handler.onFailure(e);
-                                }
-                            }
-                        });
-                    }
-                });
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Block value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Blocks a <code>targetId</code> for the authenticated <code>userId</code>. Authenticated, required scope: {@link
+     * Scopes#USER_BLOCKS_EDIT}
+     *
+     * @param userId   the id of the authenticated user
+     * @param targetId the id of the user to block
+     * @return a future completed with the {@link Block}
+     */
+    public CompletableFuture<Block> putBlockAsync(long userId, long targetId) {
+        CompletableFuture<Block> future = new CompletableFuture<>();
+        putBlock(userId, targetId, FutureHandlers.block(future));
+        return future;
+    }
+
     /**
      * Removes the {@link Block} of <code>target</code> for the authenticated <code>user</code>. Authenticated, required
-     * scope: {@link Scopes#USER_FOLLOWS_EDIT}
+     * scope: {@link Scopes#USER_BLOCKS_EDIT}
      *
      * @param user    the authenticated user
      * @param target  the user to unblock
      * @param handler the response handler
      */
     public void deleteBlock(final String user, final String target, final UnblockResponseHandler handler) {
-        getId(user, new TwitchHttpResponseHandler(handler, objectMapper) {
+        if (!checkScope(Scopes.USER_BLOCKS_EDIT, handler)) {
+            return;
+        }
+        getIds(user, target, new TwitchIdPairHandler(handler) {
+
+            @Override
+            public void onSuccess(long userId, long targetId) {
+                deleteBlock(userId, targetId, handler);
+            }
+        });
+    }
+
+    /**
+     * Removes the {@link Block} of <code>target</code> for the authenticated <code>user</code>. Authenticated, required
+     * scope: {@link Scopes#USER_BLOCKS_EDIT}
+     *
+     * @param user    the authenticated user
+     * @param target  the user to unblock
+     * @return a future completed once the request succeeded
+     */
+    public CompletableFuture<Void> deleteBlockAsync(String user, String target) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        deleteBlock(user, target, FutureHandlers.unblock(future));
+        return future;
+    }
+
+    /**
+     * Removes the {@link Block} of <code>targetId</code> for the authenticated <code>userId</code>. Authenticated, required
+     * scope: {@link Scopes#USER_BLOCKS_EDIT}
+     *
+     * @param userId   the id of the authenticated user
+     * @param targetId the id of the user to unblock
+     * @param handler  the response handler
+     */
+    public void deleteBlock(final long userId, final long targetId, final UnblockResponseHandler handler) {
+        if (!checkScope(Scopes.USER_BLOCKS_EDIT, handler)) {
+            return;
+        }
+        String url = String.format("%s/users/%d/blocks/%d", getBaseUrl(), userId, targetId);
 
+        http.delete(url, new TwitchJsonResponseHandler<Void>(handler, objectMapper, Void.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String userId) {
-                getId(target, new TwitchHttpResponseHandler(handler, objectMapper) {
-
-                    @Override
-                    public void onSuccess(int statusCode, Map<String, List<String>> headers, String channelId) {
-                        String url = String.format("%s/users/%s/blocks/%s", getBaseUrl(), userId, channelId);
-
-                        http.delete(url, new TwitchHttpResponseHandler(handler, objectMapper) {
-                            @Override
-                            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                                handler.onSuccess();
-                            }
-                        });
-                    }
-                });
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Void value) {
+                handler.onSuccess();
             }
         });
     }
+
+    /**
+     * Removes the {@link Block} of <code>targetId</code> for the authenticated <code>userId</code>. Authenticated, required
+     * scope: {@link Scopes#USER_BLOCKS_EDIT}
+     *
+     * @param userId   the id of the authenticated user
+     * @param targetId the id of the user to unblock
+     * @return a future completed once the request succeeded
+     */
+    public CompletableFuture<Void> deleteBlockAsync(long userId, long targetId) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        deleteBlock(userId, targetId, FutureHandlers.unblock(future));
+        return future;
+    }
 }
@@ -2,17 +2,19 @@ package com.mb3364.twitch.api.resources;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mb3364.twitch.api.auth.Scopes;
+import com.mb3364.twitch.api.handlers.FutureHandlers;
 import com.mb3364.twitch.api.handlers.VideoResponseHandler;
 import com.mb3364.twitch.api.handlers.VideosResponseHandler;
+import com.mb3364.twitch.api.models.Page;
 import com.mb3364.twitch.api.models.Video;
 import com.mb3364.twitch.api.models.Videos;
 import com.mrivanplays.twitch.api.AsyncHttpClient;
 import com.mrivanplays.twitch.api.ChannelNameToID;
 import com.mrivanplays.twitch.api.RequestParams;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link VideosResource} provides the functionality
@@ -35,19 +37,26 @@ public class VideosResource extends AbstractResource {
     public void get(final String id, final VideoResponseHandler handler) {
         String url = String.format("%s/videos/%s", getBaseUrl(), id);
 
-        http.get(url, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, new TwitchJsonResponseHandler<Video>(handler, objectMapper, Video.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Video value = objectMapper.readValue(content, Video.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Video value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Returns a {@link Video} object.
+     *
+     * @param id      the ID of the Video
+     * @return a future completed with the {@link Video}
+     */
+    public CompletableFuture<Video> getAsync(String id) {
+        CompletableFuture<Video> future = new CompletableFuture<>();
+        get(id, FutureHandlers.video(future));
+        return future;
+    }
+
     /**
      * Returns a list of {@link Video}'s created in a given time period sorted by number of views, most popular first.
      *
@@ -66,19 +75,35 @@ public class VideosResource extends AbstractResource {
     public void getTop(final RequestParams params, final VideosResponseHandler handler) {
         String url = String.format("%s/videos/top", getBaseUrl());
 
-        http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, params, new TwitchJsonResponseHandler<Videos>(handler, objectMapper, Videos.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Videos value = objectMapper.readValue(content, Videos.class);
-                    handler.onSuccess(value.getVideos().size(), value.getVideos());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Videos value) {
+                handler.onSuccess(value.getVideos().size(), value.getVideos());
             }
         });
     }
 
+    /**
+     * Returns a list of {@link Video}'s created in a given time period sorted by number of views, most popular first.
+     *
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  the maximum number of objects in array. Maximum is 100.</li>
+     *                <li><code>offset</code>: the object offset for pagination. Default is 0.</li>
+     *                <li><code>game</code>: Returns only videos from game.</li>
+     *                <li><code>period</code>: Returns only videos created in time period.
+     *                Valid values are <code>week</code>, <code>month</code>,
+     *                or <code>all</code>. Default is <code>week</code>.
+     *                </li>
+     *                </ul>
+     * @return a future completed with a {@link Page} of {@link Video} objects
+     */
+    public CompletableFuture<Page<Video>> getTopAsync(RequestParams params) {
+        CompletableFuture<Page<Video>> future = new CompletableFuture<>();
+        getTop(params, FutureHandlers.videos(future));
+        return future;
+    }
+
     /**
      * Returns a list of {@link Video}'s created in a given time period sorted by number of views, most popular first.
      *
@@ -88,6 +113,17 @@ public class VideosResource extends AbstractResource {
         getTop(null, handler);
     }
 
+    /**
+     * Returns a list of {@link Video}'s created in a given time period sorted by number of views, most popular first.
+     *
+     * @return a future completed with a {@link Page} of {@link Video} objects
+     */
+    public CompletableFuture<Page<Video>> getTopAsync() {
+        CompletableFuture<Page<Video>> future = new CompletableFuture<>();
+        getTop(FutureHandlers.videos(future));
+        return future;
+    }
+
     /**
      * Returns a list of {@link Video}'s from channels that the authenticated user is following.
      * Authenticated, required scope: {@link Scopes#USER_READ}
@@ -100,21 +136,36 @@ public class VideosResource extends AbstractResource {
      * @param handler the response handler
      */
     public void getFollowed(final RequestParams params, final VideosResponseHandler handler) {
+        if (!checkScope(Scopes.USER_READ, handler)) {
+            return;
+        }
         String url = String.format("%s/videos/followed", getBaseUrl());
 
-        http.get(url, params, new TwitchHttpResponseHandler(handler, objectMapper) {
+        http.get(url, params, new TwitchJsonResponseHandler<Videos>(handler, objectMapper, Videos.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Videos value = objectMapper.readValue(content, Videos.class);
-                    handler.onSuccess(value.getVideos().size(), value.getVideos());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, Videos value) {
+                handler.onSuccess(value.getVideos().size(), value.getVideos());
             }
         });
     }
 
+    /**
+     * Returns a list of {@link Video}'s from channels that the authenticated user is following.
+     * Authenticated, required scope: {@link Scopes#USER_READ}
+     *
+     * @param params  the optional request parameters:
+     *                <ul>
+     *                <li><code>limit</code>:  the maximum number of objects in array. Maximum is 100.</li>
+     *                <li><code>offset</code>: the object offset for pagination. Default is 0.</li>
+     *                </ul>
+     * @return a future completed with a {@link Page} of {@link Video} objects
+     */
+    public CompletableFuture<Page<Video>> getFollowedAsync(RequestParams params) {
+        CompletableFuture<Page<Video>> future = new CompletableFuture<>();
+        getFollowed(params, FutureHandlers.videos(future));
+        return future;
+    }
+
     /**
      * Returns a list of {@link Video}'s from channels that the authenticated user is following.
      * Authenticated, required scope: {@link Scopes#USER_READ}
@@ -124,4 +175,16 @@ public class VideosResource extends AbstractResource {
     public void getFollowed(final VideosResponseHandler handler) {
         getFollowed(new RequestParams(), handler);
     }
+
+    /**
+     * Returns a list of {@link Video}'s from channels that the authenticated user is following.
+     * Authenticated, required scope: {@link Scopes#USER_READ}
+     *
+     * @return a future completed with a {@link Page} of {@link Video} objects
+     */
+    public CompletableFuture<Page<Video>> getFollowedAsync() {
+        CompletableFuture<Page<Video>> future = new CompletableFuture<>();
+        getFollowed(FutureHandlers.videos(future));
+        return future;
+    }
 }
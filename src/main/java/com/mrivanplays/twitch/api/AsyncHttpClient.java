@@ -3,7 +3,18 @@ package com.mrivanplays.twitch.api;
 import java.io.File;
 import java.io.IOException;
 import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import okhttp3.Call;
 import okhttp3.Callback;
@@ -17,27 +28,492 @@ import okhttp3.Response;
 
 public class AsyncHttpClient {
 
+    private static final ScheduledExecutorService RETRY_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Twitch retry scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Limiters of tokens no longer used are dropped beyond this many
+    private static final int MAX_TOKEN_RATE_LIMITERS = 1_024;
+
     private OkHttpClient okHttpClient;
-    private Headers.Builder headersBuilder;
+    // Copy-on-write snapshot shared by every request; replaced as a whole, never mutated
+    private final AtomicReference<Headers> headers = new AtomicReference<>(Headers.of());
+    private RateLimiter rateLimiter; // paces requests without an Authorization header
+    // Twitch limits every token on its own; shared by derived clients, keyed by Authorization value, guarded by itself
+    private Map<String, RateLimiter> tokenRateLimiters;
+    private volatile RetryPolicy retryPolicy = RetryPolicy.none();
+    private LatencyTracker latencyTracker;
+    private volatile Executor callbackExecutor; // null runs callbacks on the thread which received the response
+    private CallbackMetrics callbackMetrics;
+    private volatile RequestQueue requestQueue = RequestQueue.unbounded();
+    private volatile ResponseCache responseCache; // null disables caching
+    private volatile ResponseFingerprints responseFingerprints; // null disables fingerprinting
+    private volatile CredentialPool credentialPool; // null sends every request with this client's headers
 
     public AsyncHttpClient(OkHttpClient okHttpClient) {
         this.okHttpClient = okHttpClient;
-        headersBuilder = new Headers.Builder();
+        rateLimiter = new RateLimiter();
+        tokenRateLimiters = new LinkedHashMap<String, RateLimiter>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RateLimiter> eldest) {
+                return size() > MAX_TOKEN_RATE_LIMITERS;
+            }
+        };
+        latencyTracker = new LatencyTracker();
+        callbackMetrics = new CallbackMetrics();
+    }
+
+    private AsyncHttpClient(AsyncHttpClient parent, Headers headers) {
+        this.okHttpClient = parent.okHttpClient;
+        this.rateLimiter = parent.rateLimiter;
+        this.tokenRateLimiters = parent.tokenRateLimiters;
+        this.retryPolicy = parent.retryPolicy;
+        this.latencyTracker = parent.latencyTracker;
+        this.callbackExecutor = parent.callbackExecutor;
+        this.callbackMetrics = parent.callbackMetrics;
+        this.requestQueue = parent.requestQueue;
+        this.responseCache = parent.responseCache;
+        this.responseFingerprints = parent.responseFingerprints;
+        this.headers.set(headers);
+    }
+
+    /**
+     * Returns a client sending the specified header on top of the headers this client currently sends, e.g. to make
+     * requests with another user's credentials. The returned client shares this client's connection pool,
+     * dispatcher, rate limiters, request queue, response cache and response fingerprints, and starts with its retry
+     * policy and callback executor. Later header changes on either client don't affect the other. Requests are paced
+     * by the limiter of the <code>Authorization</code> header they carry, see {@link #getRateLimiter()}.
+     *
+     * @param key   header name
+     * @param value header value
+     * @return derived client
+     */
+    public AsyncHttpClient withHeader(String key, String value) {
+        return new AsyncHttpClient(this, headers.get().newBuilder().set(key, value).build());
     }
 
     private void requestCall(Request request, HttpResponseHandler responseHandler) {
-        okHttpClient.newCall(request).enqueue(new Callback() {
+        if (responseHandler instanceof JsonHttpResponseHandler && "GET".equals(request.method())) {
+            JsonHttpResponseHandler<?> jsonHandler = (JsonHttpResponseHandler<?>) responseHandler;
+            ResponseCache cache = responseCache;
+            if (cache != null) {
+                long ttlNanos = cache.getTtlNanos(request.url().toString());
+                if (ttlNanos >= 0) {
+                    cachedCall(cache, ttlNanos, request, jsonHandler);
+                    return;
+                }
+            }
+            ResponseFingerprints fingerprints = responseFingerprints;
+            if (fingerprints != null && jsonHandler.acceptsUnchanged()) {
+                submit(request, new FingerprintingResponseHandler<>(fingerprints, ResponseCache.key(request), jsonHandler));
+                return;
+            }
+        }
+        submit(request, responseHandler);
+    }
 
-            @Override
-            public void onFailure(Call call, IOException e) {
-                responseHandler.onFailure(e);
+    private <T> void cachedCall(ResponseCache cache, long ttlNanos, Request request, JsonHttpResponseHandler<T> responseHandler) {
+        String key = ResponseCache.key(request);
+        ResponseCache.Entry cached = cache.get(key);
+        if (cached != null && cached.isFresh(System.nanoTime())) {
+            cache.recordHit();
+            deliver(CachingResponseHandler.fromCache(cached, responseHandler));
+            return;
+        }
+        Request conditionalRequest = cached != null ? cached.addValidators(request) : request;
+        submit(conditionalRequest, new CachingResponseHandler<>(cache, key, ttlNanos, cached, responseHandler));
+    }
+
+    private void submit(Request request, HttpResponseHandler responseHandler) {
+        RequestQueue queue = requestQueue;
+        queue.submit(new Execution(request, responseHandler, queue));
+    }
+
+    /**
+     * Returns the cache of responses, or <code>null</code> if responses aren't cached.
+     *
+     * @return response cache
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Sets the cache of responses. Only <code>GET</code> requests handled by a {@link JsonHttpResponseHandler}
+     * to urls the cache has a time to live for are cached.
+     *
+     * @param responseCache response cache, or <code>null</code> to disable caching
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Returns the fingerprints of previous responses, or <code>null</code> if responses aren't fingerprinted.
+     *
+     * @return response fingerprints
+     */
+    public ResponseFingerprints getResponseFingerprints() {
+        return responseFingerprints;
+    }
+
+    /**
+     * Sets the fingerprints of previous responses, enabling change detection. Only <code>GET</code> requests handled
+     * by a {@link JsonHttpResponseHandler} which {@link JsonHttpResponseHandler#acceptsUnchanged() accepts unchanged
+     * responses} and not cached by the {@link #setResponseCache(ResponseCache) response cache} are fingerprinted.
+     *
+     * @param responseFingerprints response fingerprints, or <code>null</code> to disable change detection
+     */
+    public void setResponseFingerprints(ResponseFingerprints responseFingerprints) {
+        this.responseFingerprints = responseFingerprints;
+    }
+
+    /**
+     * Returns the pool of credentials requests are spread over, or <code>null</code> if requests are sent with this
+     * client's headers.
+     *
+     * @return credential pool
+     */
+    public CredentialPool getCredentialPool() {
+        return credentialPool;
+    }
+
+    /**
+     * Sets the pool of credentials requests are spread over. Each attempt of a request is then sent with the
+     * <code>Client-ID</code>, and access token if any, of a credential picked from the pool, and paced by that
+     * credential's rate limiter instead of {@link #getRateLimiter() this client's}. Clients derived through
+     * {@link #withHeader(String, String)} don't use the pool, as they carry credentials of their own.
+     * <p>If every credential is rate limited or revoked, requests fail with an {@link IOException}, which the
+     * {@link #setRetryPolicy(RetryPolicy) retry policy} may retry.</p>
+     *
+     * @param credentialPool credential pool, or <code>null</code> to send requests with this client's headers
+     */
+    public void setCredentialPool(CredentialPool credentialPool) {
+        this.credentialPool = credentialPool;
+    }
+
+    /**
+     * Returns the queue bounding how many requests are in flight and waiting.
+     *
+     * @return request queue
+     */
+    public RequestQueue getRequestQueue() {
+        return requestQueue;
+    }
+
+    /**
+     * Sets the queue bounding how many requests are in flight and waiting. Defaults to
+     * {@link RequestQueue#unbounded()}. Requests already submitted stay in the previous queue.
+     *
+     * @param requestQueue request queue
+     */
+    public void setRequestQueue(RequestQueue requestQueue) {
+        this.requestQueue = Objects.requireNonNull(requestQueue, "requestQueue");
+    }
+
+    /**
+     * Returns the rate limiter pacing the requests of this client, e.g. to read the current budget and queue depth.
+     * Twitch limits every access token on its own, so requests carrying an <code>Authorization</code> header are paced
+     * by a limiter of that token, shared with every client derived from the same one. Requests without are paced by
+     * one limiter.
+     *
+     * @return the rate limiter of the <code>Authorization</code> header this client currently sends
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiterFor(headers.get().get("Authorization"));
+    }
+
+    private RateLimiter rateLimiterFor(String authorization) {
+        if (authorization == null) {
+            return rateLimiter;
+        }
+        synchronized (tokenRateLimiters) {
+            return tokenRateLimiters.computeIfAbsent(authorization, key -> new RateLimiter());
+        }
+    }
+
+    /**
+     * Returns the policy deciding which failed requests are retried or hedged.
+     *
+     * @return retry policy
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Sets the policy deciding which failed requests are retried or hedged. Defaults to {@link RetryPolicy#none()}.
+     *
+     * @param retryPolicy retry policy
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = Objects.requireNonNull(retryPolicy, "retryPolicy");
+    }
+
+    /**
+     * Returns the executor response callbacks run on, or <code>null</code> if they run on OkHttp's dispatcher threads.
+     *
+     * @return callback executor
+     */
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * Sets the executor response callbacks run on, so slow handlers don't hold up OkHttp's dispatcher threads.
+     * Responses are still read and decoded on the dispatcher thread which received them; only the handler invocation
+     * is handed over. If the executor rejects a callback, it runs on the dispatcher thread instead.
+     *
+     * @param callbackExecutor callback executor, or <code>null</code> to run callbacks on the dispatcher threads
+     */
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Returns a snapshot of how long callbacks waited for the callback executor and how long they ran.
+     *
+     * @return callback stats
+     */
+    public CallbackStats callbackStats() {
+        return callbackMetrics.snapshot();
+    }
+
+    private void deliver(Runnable callback) {
+        deliver(callback, null);
+    }
+
+    /**
+     * Runs the callback, on the callback executor if there's one.
+     *
+     * @param callback the callback
+     * @param room     the room of the request which finished, taken by the first request the callback makes, or
+     *                 <code>null</code>
+     */
+    private void deliver(Runnable callback, RequestQueue.Reservation room) {
+        long readyAt = System.nanoTime();
+        Runnable timedCallback = () -> {
+            long startedAt = System.nanoTime();
+            try {
+                if (room != null) {
+                    room.runFollowUp(callback);
+                } else {
+                    callback.run();
+                }
+            } finally {
+                callbackMetrics.record(startedAt - readyAt, System.nanoTime() - startedAt);
             }
+        };
+        Executor executor = callbackExecutor;
+        if (executor == null) {
+            timedCallback.run();
+            return;
+        }
+        try {
+            executor.execute(timedCallback);
+        } catch (RejectedExecutionException e) {
+            timedCallback.run();
+        }
+    }
 
-            @Override
-            public void onResponse(Call call, Response response) throws IOException {
-                responseHandler.processResponse(response);
+    /**
+     * A single logical request, which may be sent several times: again after a retryable failure, or a second time in
+     * parallel when hedged. Only the first definitive outcome reaches the handler.
+     */
+    private final class Execution implements RequestQueue.Submission {
+
+        private final Request request;
+        private final HttpResponseHandler responseHandler;
+        private final RequestQueue queue;
+        private final RetryPolicy policy = retryPolicy;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final List<Call> calls = new ArrayList<>(2); // guarded by this
+        private int round = 1; // guarded by this
+        private int pending; // guarded by this
+        private boolean hedgeScheduled; // guarded by this
+        private boolean hedged; // guarded by this
+
+        private Execution(Request request, HttpResponseHandler responseHandler, RequestQueue queue) {
+            this.request = request;
+            this.responseHandler = responseHandler;
+            this.queue = queue;
+        }
+
+        @Override
+        public void reject(RejectedExecutionException exception) {
+            if (done.compareAndSet(false, true)) {
+                deliver(() -> responseHandler.onFailure(exception));
+            }
+        }
+
+        @Override
+        public void start() {
+            send(1);
+        }
+
+        /**
+         * Starts the hedge clock once the first attempt is actually sent, so time spent waiting for the rate limiter
+         * doesn't count against the attempt.
+         */
+        private void scheduleHedge() {
+            if (!policy.canHedge(request)) {
+                return;
+            }
+            synchronized (this) {
+                if (hedgeScheduled || round != 1) {
+                    return;
+                }
+                hedgeScheduled = true;
+            }
+            long p95 = latencyTracker.p95();
+            if (p95 >= 0) {
+                RETRY_SCHEDULER.schedule(this::hedge, p95, TimeUnit.NANOSECONDS);
             }
-        });
+        }
+
+        private void hedge() {
+            synchronized (this) {
+                if (done.get() || hedged || round != 1 || pending != 1) {
+                    return;
+                }
+                hedged = true;
+            }
+            send(1);
+        }
+
+        private void send(int attemptRound) {
+            synchronized (this) {
+                pending++;
+            }
+            CredentialPool pool = credentialPool;
+            CredentialPool.Credential credential = pool != null ? pool.select() : null;
+            if (pool != null && credential == null) {
+                IOException e = new IOException("Every credential in the pool is rate limited or revoked");
+                attemptFailed(attemptRound, policy.retryDelay(request, attemptRound, e), e);
+                return;
+            }
+            RateLimiter limiter = credential != null ? credential.getRateLimiter() : rateLimiterFor(request.header("Authorization"));
+            Request attemptRequest = credential != null ? credential.apply(request) : request;
+            limiter.submit(() -> {
+                if (credential != null && !done.get() && !credential.isAvailable(System.currentTimeMillis())) {
+                    // Left the rotation while this attempt waited for its budget; pick another credential
+                    limiter.onFailure();
+                    synchronized (this) {
+                        pending--;
+                    }
+                    send(attemptRound);
+                    return;
+                }
+                Call call = null;
+                synchronized (this) {
+                    if (done.get()) {
+                        pending--;
+                    } else {
+                        call = okHttpClient.newCall(attemptRequest);
+                        calls.add(call);
+                    }
+                }
+                if (call == null) {
+                    limiter.onFailure(); // releases the slot acquired for this attempt
+                    return;
+                }
+                long sentAt = System.nanoTime();
+                call.enqueue(new Callback() {
+
+                    @Override
+                    public void onFailure(Call call, IOException e) {
+                        // A losing hedge cancelled by the winner says nothing about the credential; only free its slot
+                        if (credential != null && !call.isCanceled() && !done.get()) {
+                            pool.onFailure(credential);
+                        } else {
+                            limiter.onFailure();
+                        }
+                        if (done.get()) {
+                            return;
+                        }
+                        attemptFailed(attemptRound, policy.retryDelay(request, attemptRound, e), e);
+                    }
+
+                    @Override
+                    public void onResponse(Call call, Response response) throws IOException {
+                        if (credential != null) {
+                            pool.onResponse(credential, response.code(), response.headers());
+                        } else {
+                            limiter.onResponse(response.headers());
+                        }
+                        latencyTracker.record(System.nanoTime() - sentAt);
+                        if (!response.isSuccessful()) {
+                            long delay = policy.retryDelay(request, attemptRound, response);
+                            if (delay >= 0) {
+                                response.close();
+                                attemptFailed(attemptRound, delay, null);
+                                return;
+                            }
+                        }
+                        RequestQueue.Reservation room = complete(call);
+                        if (room == null) {
+                            response.close();
+                            return;
+                        }
+                        Runnable callback;
+                        try {
+                            callback = responseHandler.readResponse(response);
+                        } catch (RuntimeException e) {
+                            room.runFollowUp(() -> {
+                            }); // gives the room back
+                            throw e;
+                        }
+                        deliver(callback, room);
+                    }
+                });
+                if (attemptRound == 1) {
+                    scheduleHedge();
+                }
+            });
+        }
+
+        private void attemptFailed(int attemptRound, long retryDelay, IOException exception) {
+            synchronized (this) {
+                pending--;
+                if (pending > 0 || attemptRound != round) {
+                    return; // the other attempt decides
+                }
+                if (retryDelay >= 0) {
+                    round++;
+                    RETRY_SCHEDULER.schedule(() -> send(attemptRound + 1), retryDelay, TimeUnit.MILLISECONDS);
+                    return;
+                }
+            }
+            if (exception != null) {
+                RequestQueue.Reservation room = complete(null);
+                if (room != null) {
+                    deliver(() -> responseHandler.onFailure(exception), room);
+                }
+            }
+        }
+
+        /**
+         * Marks this request as answered and cancels any other attempt still in flight. Its room in the queue is kept
+         * for the first request the handler makes.
+         *
+         * @param winner the call which answered, or <code>null</code>
+         * @return the room of this request if this call is the first to complete it, otherwise <code>null</code>
+         */
+        private RequestQueue.Reservation complete(Call winner) {
+            if (!done.compareAndSet(false, true)) {
+                return null;
+            }
+            synchronized (this) {
+                for (Call call : calls) {
+                    if (call != winner) {
+                        call.cancel();
+                    }
+                }
+            }
+            return queue.handOff();
+        }
     }
 
     private Request.Builder createNoPostOrPutRequest(String url, RequestParams requestParams) {
@@ -51,19 +527,45 @@ public class AsyncHttpClient {
     private Request.Builder createRequest(String url) {
         return new Request.Builder()
                 .url(url)
-                .headers(headersBuilder.build());
+                .headers(headers.get());
     }
 
     public String getHeader(String key) {
-        return headersBuilder.get(key);
+        return headers.get().get(key);
+    }
+
+    /**
+     * Returns the headers currently sent with every request. The returned instance is never modified; changing a
+     * header replaces it.
+     *
+     * @return headers snapshot
+     */
+    public Headers getHeaders() {
+        return headers.get();
     }
 
     public void setHeader(String key, String value) {
-        headersBuilder.set(key, value);
+        Headers current;
+        Headers updated;
+        do {
+            current = headers.get();
+            if (value.equals(current.get(key)) && current.values(key).size() == 1) {
+                return;
+            }
+            updated = current.newBuilder().set(key, value).build();
+        } while (!headers.compareAndSet(current, updated));
     }
 
     public void removeHeader(String key) {
-        headersBuilder.removeAll(key);
+        Headers current;
+        Headers updated;
+        do {
+            current = headers.get();
+            if (current.get(key) == null) {
+                return;
+            }
+            updated = current.newBuilder().removeAll(key).build();
+        } while (!headers.compareAndSet(current, updated));
     }
 
     public String getUserAgent() {
@@ -0,0 +1,87 @@
+package com.mrivanplays.twitch.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Wraps a {@link JsonHttpResponseHandler}, storing successful responses in a {@link ResponseCache} and answering
+ * <code>304 Not Modified</code> responses with the cached body.
+ *
+ * @param <T> the type of the decoded response
+ */
+final class CachingResponseHandler<T> extends HttpResponseHandler {
+
+    private final ResponseCache cache;
+    private final String key;
+    private final long ttlNanos;
+    private final ResponseCache.Entry cached; // the entry being revalidated, if any
+    private final JsonHttpResponseHandler<T> delegate;
+
+    CachingResponseHandler(ResponseCache cache, String key, long ttlNanos, ResponseCache.Entry cached, JsonHttpResponseHandler<T> delegate) {
+        this.cache = cache;
+        this.key = key;
+        this.ttlNanos = ttlNanos;
+        this.cached = cached;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onFailure(Throwable throwable) {
+        delegate.onFailure(throwable);
+    }
+
+    @Override
+    protected Runnable readResponse(Response response) {
+        int responseCode = response.code();
+        if (responseCode == 304 && cached != null) {
+            response.close();
+            cached.refresh();
+            cache.recordHit();
+            return fromCache(cached, delegate);
+        }
+        if (responseCode < 200 || responseCode >= 300) {
+            return delegate.readResponse(response);
+        }
+
+        cache.recordMiss();
+        Map<String, List<String>> responseHeaders = response.headers().toMultimap();
+        long start = System.nanoTime();
+        byte[] content;
+        T value;
+        try (ResponseBody body = response.body()) {
+            content = body.bytes();
+            value = delegate.decode(new ByteArrayInputStream(content));
+        } catch (IOException e) {
+            cache.recordLoad(false, System.nanoTime() - start);
+            return () -> delegate.onFailure(e);
+        }
+        cache.recordLoad(true, System.nanoTime() - start);
+
+        String etag = response.header("ETag");
+        String lastModified = response.header("Last-Modified");
+        if (ttlNanos > 0 || etag != null || lastModified != null) {
+            cache.put(key, new ResponseCache.Entry(content, responseCode, responseHeaders, etag, lastModified, ttlNanos));
+        }
+        return () -> delegate.onSuccess(responseCode, responseHeaders, value);
+    }
+
+    /**
+     * Decodes a cached response for the handler, so no two callers share the decoded objects.
+     *
+     * @return the callback to deliver the response with
+     */
+    static <T> Runnable fromCache(ResponseCache.Entry entry, JsonHttpResponseHandler<T> handler) {
+        T value;
+        try {
+            value = handler.decode(new ByteArrayInputStream(entry.body));
+        } catch (IOException e) {
+            return () -> handler.onFailure(e);
+        }
+        return () -> handler.onSuccess(entry.statusCode, entry.headers, value);
+    }
+}
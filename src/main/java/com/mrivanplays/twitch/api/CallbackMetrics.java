@@ -0,0 +1,29 @@
+package com.mrivanplays.twitch.api;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the counters behind {@link CallbackStats}.
+ */
+final class CallbackMetrics {
+
+    private final LongAdder deliveredCount = new LongAdder();
+    private final LongAdder totalQueueWaitTime = new LongAdder();
+    private final LongAccumulator maxQueueWaitTime = new LongAccumulator(Math::max, 0);
+    private final LongAdder totalHandlerTime = new LongAdder();
+    private final LongAccumulator maxHandlerTime = new LongAccumulator(Math::max, 0);
+
+    void record(long queueWaitTime, long handlerTime) {
+        deliveredCount.increment();
+        totalQueueWaitTime.add(queueWaitTime);
+        maxQueueWaitTime.accumulate(queueWaitTime);
+        totalHandlerTime.add(handlerTime);
+        maxHandlerTime.accumulate(handlerTime);
+    }
+
+    CallbackStats snapshot() {
+        return new CallbackStats(deliveredCount.sum(), totalQueueWaitTime.sum(), maxQueueWaitTime.get(),
+                totalHandlerTime.sum(), maxHandlerTime.get());
+    }
+}
@@ -0,0 +1,81 @@
+package com.mrivanplays.twitch.api;
+
+/**
+ * Represents a point in time snapshot of how response callbacks were delivered: how long decoded responses waited for
+ * the callback executor, and how long the callbacks took.
+ */
+public class CallbackStats {
+
+    private final long deliveredCount;
+    private final long totalQueueWaitTime;
+    private final long maxQueueWaitTime;
+    private final long totalHandlerTime;
+    private final long maxHandlerTime;
+
+    public CallbackStats(long deliveredCount, long totalQueueWaitTime, long maxQueueWaitTime, long totalHandlerTime, long maxHandlerTime) {
+        this.deliveredCount = deliveredCount;
+        this.totalQueueWaitTime = totalQueueWaitTime;
+        this.maxQueueWaitTime = maxQueueWaitTime;
+        this.totalHandlerTime = totalHandlerTime;
+        this.maxHandlerTime = maxHandlerTime;
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    /**
+     * Returns the total time, in nanoseconds, decoded responses waited between being read and their callback starting.
+     *
+     * @return total queue wait time in nanoseconds
+     */
+    public long getTotalQueueWaitTime() {
+        return totalQueueWaitTime;
+    }
+
+    public long getMaxQueueWaitTime() {
+        return maxQueueWaitTime;
+    }
+
+    /**
+     * Returns the average time, in nanoseconds, a decoded response waited for its callback to start.
+     *
+     * @return average queue wait time in nanoseconds
+     */
+    public double getAverageQueueWaitTime() {
+        return deliveredCount == 0 ? 0.0 : (double) totalQueueWaitTime / deliveredCount;
+    }
+
+    /**
+     * Returns the total time, in nanoseconds, spent running callbacks.
+     *
+     * @return total handler time in nanoseconds
+     */
+    public long getTotalHandlerTime() {
+        return totalHandlerTime;
+    }
+
+    public long getMaxHandlerTime() {
+        return maxHandlerTime;
+    }
+
+    /**
+     * Returns the average time, in nanoseconds, spent running a callback.
+     *
+     * @return average handler time in nanoseconds
+     */
+    public double getAverageHandlerTime() {
+        return deliveredCount == 0 ? 0.0 : (double) totalHandlerTime / deliveredCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CallbackStats{" +
+                "deliveredCount=" + deliveredCount +
+                ", totalQueueWaitTime=" + totalQueueWaitTime +
+                ", maxQueueWaitTime=" + maxQueueWaitTime +
+                ", totalHandlerTime=" + totalHandlerTime +
+                ", maxHandlerTime=" + maxHandlerTime +
+                '}';
+    }
+}
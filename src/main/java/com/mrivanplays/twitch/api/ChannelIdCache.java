@@ -0,0 +1,284 @@
+package com.mrivanplays.twitch.api;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Represents a size bounded, expiring cache of resolved channel ids, used by {@link ChannelNameToID}.
+ * <p>Successful lookups are kept for the configured time to live, while failed lookups (names which do not exist) are
+ * kept for a shorter, separate time so they aren't requested over and over again.</p>
+ * <p>When full, the cache only admits a new entry if it was used more often recently than the oldest entry, using a
+ * frequency sketch to estimate how often keys are used. This keeps ids which are looked up often cached while a crawl
+ * over many one-off names passes through.</p>
+ */
+public class ChannelIdCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 100_000;
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.HOURS.toMillis(24);
+    public static final long DEFAULT_NEGATIVE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final long maximumSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Entries in insertion order; eviction candidates are taken from the head. May contain stale entries.
+    private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger orderSize = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ReentrantLock sketchLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+
+    /**
+     * Creates a new cache with the default size and times to live.
+     */
+    public ChannelIdCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize the maximum amount of names to keep
+     * @param ttl         how long a resolved id is kept
+     * @param negativeTtl how long a name which couldn't be resolved is kept. <code>0</code> disables negative caching.
+     * @param unit        the unit of <code>ttl</code> and <code>negativeTtl</code>
+     */
+    public ChannelIdCache(long maximumSize, long ttl, long negativeTtl, TimeUnit unit) {
+        if (maximumSize < 0 || ttl < 0 || negativeTtl < 0) {
+            throw new IllegalArgumentException("maximumSize, ttl and negativeTtl cannot be negative");
+        }
+        this.maximumSize = maximumSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.negativeTtlNanos = unit.toNanos(negativeTtl);
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Returns the cached lookup result of the specified name, or <code>null</code> if it isn't cached.
+     *
+     * @param login the login name
+     * @return cached channel data, which may be unsuccessful for names which do not exist
+     */
+    public ChannelData get(String login) {
+        recordAccess(login);
+        Entry entry = entries.get(login);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            if (entries.remove(login, entry)) {
+                evictionCount.increment();
+            }
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return entry.data;
+    }
+
+    /**
+     * Returns the cached lookup result of the specified name like {@link #get(String)}, without counting it as an
+     * access: neither the statistics nor the eviction policy see it.
+     *
+     * @param login the login name
+     * @return cached channel data, or <code>null</code> if it isn't cached or expired
+     */
+    public ChannelData peek(String login) {
+        Entry entry = entries.get(login);
+        return entry == null || entry.isExpired(System.nanoTime()) ? null : entry.data;
+    }
+
+    /**
+     * Caches the lookup result of the specified name. Successful results are kept for the time to live, unsuccessful
+     * ones for the negative time to live.
+     *
+     * @param login the login name
+     * @param data  the lookup result
+     */
+    public void put(String login, ChannelData data) {
+        long ttl = data.isSuccessful() ? ttlNanos : negativeTtlNanos;
+        if (ttl == 0 || maximumSize == 0) {
+            return;
+        }
+        Entry entry = new Entry(login, data, System.nanoTime() + ttl);
+        entries.put(login, entry);
+        order.offer(entry);
+        int queued = orderSize.incrementAndGet();
+        if (queued > 2 * Math.min(maximumSize, Integer.MAX_VALUE / 4) + 16) {
+            purgeStale();
+        }
+        if (entries.size() > maximumSize) {
+            evict(entry);
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            entries.clear();
+            order.clear();
+            orderSize.set(0);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the approximate amount of cached names.
+     *
+     * @return size
+     */
+    public long size() {
+        return entries.size();
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Records the time taken to successfully resolve a name.
+     *
+     * @param loadTime load time in nanoseconds
+     */
+    public void recordLoadSuccess(long loadTime) {
+        loadSuccessCount.increment();
+        totalLoadTime.add(loadTime);
+    }
+
+    /**
+     * Records the time taken by a failed attempt to resolve a name.
+     *
+     * @param loadTime load time in nanoseconds
+     */
+    public void recordLoadFailure(long loadTime) {
+        loadFailureCount.increment();
+        totalLoadTime.add(loadTime);
+    }
+
+    /**
+     * Returns a snapshot of this cache's counters.
+     *
+     * @return stats
+     */
+    public CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(),
+                loadSuccessCount.sum(), loadFailureCount.sum(), totalLoadTime.sum());
+    }
+
+    private void recordAccess(String login) {
+        // Lossy under contention; the sketch only needs an estimate
+        if (sketchLock.tryLock()) {
+            try {
+                sketch.increment(login);
+            } finally {
+                sketchLock.unlock();
+            }
+        }
+    }
+
+    private int frequency(String login) {
+        sketchLock.lock();
+        try {
+            return sketch.frequency(login);
+        } finally {
+            sketchLock.unlock();
+        }
+    }
+
+    private void purgeStale() {
+        evictionLock.lock();
+        try {
+            long now = System.nanoTime();
+            order.removeIf(entry -> {
+                if (entries.get(entry.login) != entry) {
+                    return true;
+                }
+                if (entry.isExpired(now) && entries.remove(entry.login, entry)) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            });
+            orderSize.set(order.size());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void evict(Entry candidate) {
+        evictionLock.lock();
+        try {
+            long now = System.nanoTime();
+            boolean candidateRejected = false;
+            while (true) {
+                Entry victim = order.peek();
+                if (victim == null) {
+                    break;
+                }
+                if (entries.get(victim.login) != victim) {
+                    // Replaced or already removed
+                    order.poll();
+                    orderSize.decrementAndGet();
+                    continue;
+                }
+                if (entries.size() <= maximumSize) {
+                    break;
+                }
+                order.poll();
+                orderSize.decrementAndGet();
+                if (!candidateRejected && victim != candidate && !victim.isExpired(now)
+                        && frequency(victim.login) > frequency(candidate.login)) {
+                    // The oldest entry is used more often than the new one; keep it and drop the new one instead
+                    order.offer(victim);
+                    orderSize.incrementAndGet();
+                    if (entries.remove(candidate.login, candidate)) {
+                        evictionCount.increment();
+                    }
+                    candidateRejected = true;
+                    continue;
+                }
+                if (entries.remove(victim.login, victim)) {
+                    evictionCount.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry {
+
+        private final String login;
+        private final ChannelData data;
+        private final long expiresAt;
+
+        private Entry(String login, ChannelData data, long expiresAt) {
+            this.login = login;
+            this.data = data;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
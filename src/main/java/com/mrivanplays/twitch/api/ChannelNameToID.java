@@ -5,67 +5,319 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mb3364.twitch.api.models.Error;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import okhttp3.HttpUrl;
 
 /**
  * Represents a simple way to convert channel name to twitch v5 api id
+ * <p>Lookups of names which aren't cached are collected for a short window (or until {@link #MAX_BATCH_SIZE} names
+ * are queued) and resolved with a single <code>helix/users</code> request. Concurrent lookups of the same name share
+ * one pending future, so a name is never requested twice at once.</p>
+ * <p>Resolved ids, and names which do not exist, are kept in a {@link ChannelIdCache}. Names twitch would reject are
+ * answered with <code>400 Bad Request</code> right away, since a single one fails the whole request.</p>
  */
 public class ChannelNameToID {
 
+    /**
+     * The maximum amount of <code>login</code> parameters <code>helix/users</code> accepts per request.
+     */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    /**
+     * The default time, in milliseconds, lookups are collected before being sent.
+     */
+    public static final long DEFAULT_BATCH_WINDOW_MILLIS = 5;
+
+    private static final Pattern LOGIN = Pattern.compile("^[a-zA-Z0-9_]{1,25}$");
+
+    private static final HttpUrl USERS_URL = HttpUrl.get("https://api.twitch.tv/helix/users");
+
+    // Owned here rather than taken from callers: one batch serves every caller in its window
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final ScheduledExecutorService BATCH_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Twitch ID batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private AsyncHttpClient httpClient;
+    private long batchWindowMillis;
 
-    private Map<String, String> cache;
+    private ChannelIdCache cache;
+    private Map<String, CompletableFuture<ChannelData>> inFlight;
+
+    private final Object batchLock = new Object();
+    private Batch currentBatch;
 
     public ChannelNameToID(AsyncHttpClient httpClient) {
+        this(httpClient, new ChannelIdCache(), DEFAULT_BATCH_WINDOW_MILLIS);
+    }
+
+    public ChannelNameToID(AsyncHttpClient httpClient, long batchWindowMillis) {
+        this(httpClient, new ChannelIdCache(), batchWindowMillis);
+    }
+
+    /**
+     * Creates a new name to id converter.
+     *
+     * @param httpClient        http client
+     * @param cache             the cache to keep resolved ids in
+     * @param batchWindowMillis the time, in milliseconds, to collect lookups before sending them in one request. If
+     *                          <code>0</code>, every lookup is sent right away.
+     */
+    public ChannelNameToID(AsyncHttpClient httpClient, ChannelIdCache cache, long batchWindowMillis) {
+        if (batchWindowMillis < 0) {
+            throw new IllegalArgumentException("batchWindowMillis cannot be negative");
+        }
         this.httpClient = httpClient;
-        cache = new ConcurrentHashMap<>();
+        this.batchWindowMillis = batchWindowMillis;
+        this.cache = cache;
+        inFlight = new ConcurrentHashMap<>();
     }
 
+    /**
+     * Resolves the id of the specified channel.
+     *
+     * @param channelName channel name
+     * @param objectMapper ignored, responses are decoded with a mapper owned by this converter
+     * @return future completed with the channel data
+     * @deprecated use {@link #getId(String)}
+     */
+    @Deprecated
     public CompletableFuture<ChannelData> getId(String channelName, ObjectMapper objectMapper) {
+        return getId(channelName);
+    }
+
+    /**
+     * Resolves the id of the specified channel.
+     *
+     * @param channelName channel name
+     * @return future completed with the channel data
+     */
+    public CompletableFuture<ChannelData> getId(String channelName) {
+        if (channelName == null || !LOGIN.matcher(channelName).matches()) {
+            // Never batched: helix refuses the whole request over one malformed login
+            Error error = new Error();
+            error.setStatusCode(400);
+            error.setStatusText("Bad Request");
+            error.setMessage("Invalid login '" + channelName + "'");
+            return CompletableFuture.completedFuture(new ChannelData(400, error));
+        }
+        String login = channelName.toLowerCase(Locale.ROOT);
+        ChannelData cached = cache.get(login);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        // Single flight: concurrent callers for the same name share one pending lookup
+        CompletableFuture<ChannelData> pending = inFlight.get(login);
+        if (pending != null) {
+            return pending;
+        }
         CompletableFuture<ChannelData> future = new CompletableFuture<>();
-        if (cache.containsKey(channelName)) {
-            future.complete(new ChannelData(200, cache.get(channelName)));
+        pending = inFlight.putIfAbsent(login, future);
+        if (pending != null) {
+            return pending;
+        }
+        future.whenComplete((data, error) -> inFlight.remove(login, future));
+
+        // The lookup may have finished between the cache check and claiming the name; the check above already
+        // counted this access
+        cached = cache.peek(login);
+        if (cached != null) {
+            future.complete(cached);
             return future;
         }
-        RequestParams requestParams = new RequestParams();
-        requestParams.put("login", channelName);
-        httpClient.get("https://api.twitch.tv/helix/users", requestParams, new StringHttpResponseHandler() {
+
+        Batch toSend = null;
+        synchronized (batchLock) {
+            Batch batch = currentBatch;
+            if (batch == null) {
+                batch = new Batch();
+                currentBatch = batch;
+                if (batchWindowMillis > 0) {
+                    Batch scheduled = batch;
+                    BATCH_SCHEDULER.schedule(() -> flush(scheduled), batchWindowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+            batch.lookups.put(login, future);
+            if (batchWindowMillis == 0 || batch.lookups.size() >= MAX_BATCH_SIZE) {
+                currentBatch = null;
+                toSend = batch;
+            }
+        }
+
+        if (toSend != null) {
+            send(toSend);
+        }
+        return future;
+    }
+
+    /**
+     * Returns the cache resolved ids are kept in.
+     *
+     * @return id cache
+     */
+    public ChannelIdCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Returns the time lookups are collected before being sent.
+     *
+     * @return batch window in milliseconds
+     */
+    public long getBatchWindowMillis() {
+        return batchWindowMillis;
+    }
+
+    private void flush(Batch batch) {
+        synchronized (batchLock) {
+            if (currentBatch != batch) {
+                return; // already sent because it filled up
+            }
+            currentBatch = null;
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        HttpUrl.Builder url = USERS_URL.newBuilder();
+        for (String login : batch.lookups.keySet()) {
+            url.addQueryParameter("login", login);
+        }
+        long start = System.nanoTime();
+        JsonHttpResponseHandler<JsonNode> handler = new JsonHttpResponseHandler<JsonNode>(OBJECT_MAPPER, JsonNode.class) {
 
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, JsonNode node) {
+                Throwable failure = null;
                 try {
-                    JsonNode node = objectMapper.readTree(content);
-                    String id = node.get("data").get(0).get("id").asText();
-                    cache.put(channelName, id);
-                    future.complete(new ChannelData(statusCode, id));
-                } catch (IOException e) {
-                    future.completeExceptionally(e);
+                    for (JsonNode user : node.path("data")) {
+                        String login = user.path("login").asText().toLowerCase(Locale.ROOT);
+                        CompletableFuture<ChannelData> future = batch.lookups.get(login);
+                        if (future != null) {
+                            ChannelData data = new ChannelData(statusCode, user.path("id").asText());
+                            cache.put(login, data);
+                            cache.recordLoadSuccess(System.nanoTime() - start);
+                            future.complete(data);
+                        }
+                    }
+                    // Whatever is left wasn't returned by twitch
+                    for (Map.Entry<String, CompletableFuture<ChannelData>> lookup : batch.lookups.entrySet()) {
+                        if (!lookup.getValue().isDone()) {
+                            Error error = new Error();
+                            error.setStatusCode(404);
+                            error.setStatusText("Not Found");
+                            error.setMessage("User '" + lookup.getKey() + "' does not exist");
+                            ChannelData data = new ChannelData(404, error);
+                            cache.put(lookup.getKey(), data);
+                            cache.recordLoadFailure(System.nanoTime() - start);
+                            lookup.getValue().complete(data);
+                        }
+                    }
+                } catch (RuntimeException | java.lang.Error e) {
+                    failure = e;
+                    throw e;
+                } finally {
+                    failUnfinished(batch, failure, start);
                 }
             }
 
             @Override
             public void onFailure(int statusCode, Map<String, List<String>> headers, String content) {
+                if (statusCode == 400 && batch.lookups.size() > 1) {
+                    // Something in the batch slipped past the local check; resolve the names one by one so only
+                    // the offending lookup fails
+                    try {
+                        for (Map.Entry<String, CompletableFuture<ChannelData>> lookup : batch.lookups.entrySet()) {
+                            Batch single = new Batch();
+                            single.lookups.put(lookup.getKey(), lookup.getValue());
+                            send(single);
+                        }
+                    } catch (RuntimeException | java.lang.Error e) {
+                        failUnfinished(batch, e, start);
+                        throw e;
+                    }
+                    return;
+                }
+                Throwable failure = null;
                 try {
-                    if (content.length() > 0) {
-                        Error error = objectMapper.readValue(content, Error.class);
-                        future.complete(new ChannelData(statusCode, error));
-                    } else {
-                        future.complete(new ChannelData(statusCode, new Error()));
+                    ChannelData data;
+                    try {
+                        if (content.length() > 0) {
+                            Error error = OBJECT_MAPPER.readValue(content, Error.class);
+                            data = new ChannelData(statusCode, error);
+                        } else {
+                            data = new ChannelData(statusCode, new Error());
+                        }
+                    } catch (IOException e) {
+                        data = new ChannelData(statusCode, e);
+                    }
+                    long loadTime = System.nanoTime() - start;
+                    for (Map.Entry<String, CompletableFuture<ChannelData>> lookup : batch.lookups.entrySet()) {
+                        if (statusCode == 404) {
+                            cache.put(lookup.getKey(), data);
+                        }
+                        cache.recordLoadFailure(loadTime);
+                        lookup.getValue().complete(data);
                     }
-                } catch (IOException e) {
-                    future.complete(new ChannelData(statusCode, e));
+                } catch (RuntimeException | java.lang.Error e) {
+                    failure = e;
+                    throw e;
+                } finally {
+                    failUnfinished(batch, failure, start);
                 }
             }
 
             @Override
             public void onFailure(Throwable throwable) {
-                future.completeExceptionally(throwable);
+                long loadTime = System.nanoTime() - start;
+                for (CompletableFuture<ChannelData> future : batch.lookups.values()) {
+                    cache.recordLoadFailure(loadTime);
+                    future.completeExceptionally(throwable);
+                }
             }
-        });
+        };
+        try {
+            // Sent on the batcher thread, or on behalf of other callers' lookups, so it must never wait for room
+            RequestQueue.runNonBlocking(() -> httpClient.get(url.build().toString(), handler));
+        } catch (RuntimeException e) {
+            handler.onFailure(e);
+        }
+    }
 
-        return future;
+    /**
+     * Completes every lookup of the batch which is still pending, so a failure while handling the response can never
+     * leave callers waiting forever.
+     */
+    private void failUnfinished(Batch batch, Throwable failure, long start) {
+        for (Map.Entry<String, CompletableFuture<ChannelData>> lookup : batch.lookups.entrySet()) {
+            if (!lookup.getValue().isDone()) {
+                cache.recordLoadFailure(System.nanoTime() - start);
+                lookup.getValue().completeExceptionally(failure != null ? failure
+                        : new IllegalStateException("Lookup of '" + lookup.getKey() + "' was never completed"));
+            }
+        }
+    }
+
+    /**
+     * Lookups waiting to be sent together.
+     */
+    private static final class Batch {
+
+        // Only mutated under batchLock until the batch is sent
+        private final Map<String, CompletableFuture<ChannelData>> lookups = new HashMap<>();
     }
 }
@@ -0,0 +1,414 @@
+package com.mrivanplays.twitch.api;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Headers;
+import okhttp3.Request;
+
+/**
+ * Spreads the requests of an {@link AsyncHttpClient} over several application credentials, so the client isn't
+ * capped at the rate limit of a single client ID.
+ * <p>Every attempt of a request picks a credential according to the {@link Strategy strategy} and is sent with its
+ * <code>Client-ID</code> and, if the credential has one, its access token. Each credential is paced by its own
+ * {@link RateLimiter}. A credential answered with <code>429 Too Many Requests</code> is left out until its rate limit
+ * resets, and one answered with <code>401 Unauthorized</code> {@link #setRevokeAfter(int) several times in a row} is
+ * considered revoked and left out until {@link Credential#restore() restored}.</p>
+ */
+public class CredentialPool {
+
+    /**
+     * How a credential is picked for a request.
+     */
+    public enum Strategy {
+
+        /**
+         * The credential with the fewest requests in flight or waiting for budget, then the fewest requests sent.
+         */
+        LEAST_USED,
+
+        /**
+         * The credential with the most remaining budget as reported by twitch. Credentials twitch hasn't reported a
+         * budget for yet come first, so each one gets probed.
+         */
+        MOST_REMAINING
+    }
+
+    /**
+     * Receives when credentials leave the rotation. Every method does nothing by default. Called on the
+     * thread which received the response.
+     */
+    public interface Listener {
+
+        /**
+         * Called when a credential was rate limited.
+         *
+         * @param credential  the credential
+         * @param untilMillis when it rejoins the rotation, in milliseconds since the epoch
+         */
+        default void onThrottled(Credential credential, long untilMillis) {
+        }
+
+        /**
+         * Called when a credential was considered revoked.
+         *
+         * @param credential the credential
+         */
+        default void onRevoked(Credential credential) {
+        }
+    }
+
+    private final List<Credential> credentials = new CopyOnWriteArrayList<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Strategy strategy = Strategy.MOST_REMAINING;
+    private volatile long throttleMillis = TimeUnit.MINUTES.toMillis(1);
+    private volatile int revokeAfter = 3;
+
+    /**
+     * Adds a credential without an access token; requests keep the <code>Authorization</code> header they have.
+     *
+     * @param clientId the application's client ID
+     * @return the added credential
+     */
+    public Credential add(String clientId) {
+        return add(clientId, null);
+    }
+
+    /**
+     * Adds a credential.
+     *
+     * @param clientId    the application's client ID
+     * @param accessToken an access token issued to that application, or <code>null</code>
+     * @return the added credential
+     */
+    public Credential add(String clientId, String accessToken) {
+        if (clientId == null || clientId.isEmpty()) {
+            throw new IllegalArgumentException("clientId cannot be null or empty");
+        }
+        Credential credential = new Credential(clientId, accessToken);
+        credentials.add(credential);
+        return credential;
+    }
+
+    /**
+     * Removes a credential. Requests already sent with it still complete.
+     *
+     * @param credential the credential
+     * @return <code>true</code> if the credential was in the pool
+     */
+    public boolean remove(Credential credential) {
+        return credentials.remove(credential);
+    }
+
+    public List<Credential> getCredentials() {
+        return Collections.unmodifiableList(credentials);
+    }
+
+    public int size() {
+        return credentials.size();
+    }
+
+    /**
+     * Returns the amount of credentials currently in rotation.
+     *
+     * @return available credentials
+     */
+    public int getAvailable() {
+        long now = System.currentTimeMillis();
+        int available = 0;
+        for (Credential credential : credentials) {
+            if (credential.isAvailable(now)) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Sets how a credential is picked for a request. Defaults to {@link Strategy#MOST_REMAINING}.
+     *
+     * @param strategy the strategy
+     * @return this instance for chaining
+     */
+    public CredentialPool setStrategy(Strategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("strategy cannot be null");
+        }
+        this.strategy = strategy;
+        return this;
+    }
+
+    /**
+     * Sets how long a rate limited credential is left out when twitch doesn't say when its rate limit resets.
+     * Defaults to one minute.
+     *
+     * @param duration how long
+     * @param unit     the unit of <code>duration</code>
+     * @return this instance for chaining
+     */
+    public CredentialPool setThrottleDuration(long duration, TimeUnit unit) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("duration cannot be negative");
+        }
+        this.throttleMillis = unit.toMillis(duration);
+        return this;
+    }
+
+    /**
+     * Sets after how many <code>401 Unauthorized</code> responses in a row a credential is considered revoked. A
+     * single one may just be a request its token lacks the scope for. Defaults to 3.
+     *
+     * @param revokeAfter amount of responses
+     * @return this instance for chaining
+     */
+    public CredentialPool setRevokeAfter(int revokeAfter) {
+        if (revokeAfter < 1) {
+            throw new IllegalArgumentException("revokeAfter must be at least 1");
+        }
+        this.revokeAfter = revokeAfter;
+        return this;
+    }
+
+    public CredentialPool addListener(Listener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Picks the credential to send the next request with.
+     *
+     * @return the credential, or <code>null</code> if every credential is rate limited or revoked
+     */
+    Credential select() {
+        long now = System.currentTimeMillis();
+        Strategy strategy = this.strategy;
+        Credential best = null;
+        long bestScore = 0;
+        for (Credential credential : credentials) {
+            if (!credential.isAvailable(now)) {
+                continue;
+            }
+            long score = strategy == Strategy.LEAST_USED ? credential.leastUsedScore() : credential.mostRemainingScore();
+            if (best == null || score > bestScore) {
+                best = credential;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Records the response to a request sent with the credential.
+     */
+    void onResponse(Credential credential, int statusCode, Headers headers) {
+        // Update the state before the rate limiter hands out the attempts waiting on this credential, so they see it
+        if (statusCode >= 200 && statusCode < 400) {
+            credential.unauthorizedInRow.set(0);
+        } else {
+            credential.errors.incrementAndGet();
+            if (statusCode == 429) {
+                throttle(credential, throttledUntil(headers));
+            } else if (statusCode == 401 && credential.unauthorizedInRow.incrementAndGet() == revokeAfter) {
+                revoke(credential);
+            }
+        }
+        credential.rateLimiter.onResponse(headers);
+    }
+
+    private void throttle(Credential credential, long until) {
+        credential.throttledUntil = until;
+        credential.throttles.incrementAndGet();
+        for (Listener listener : listeners) {
+            try {
+                listener.onThrottled(credential, until);
+            } catch (RuntimeException ignored) { // a broken listener mustn't break the request
+            }
+        }
+    }
+
+    private void revoke(Credential credential) {
+        credential.revoked = true;
+        for (Listener listener : listeners) {
+            try {
+                listener.onRevoked(credential);
+            } catch (RuntimeException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Records that a request sent with the credential failed without a response.
+     */
+    void onFailure(Credential credential) {
+        credential.rateLimiter.onFailure();
+        credential.errors.incrementAndGet();
+    }
+
+    private long throttledUntil(Headers headers) {
+        long now = System.currentTimeMillis();
+        String reset = headers.get("Ratelimit-Reset");
+        if (reset != null) {
+            try {
+                long resetMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(reset.trim()));
+                if (resetMillis > now) {
+                    return resetMillis;
+                }
+            } catch (NumberFormatException ignored) { // fall back to the throttle duration
+            }
+        }
+        return now + throttleMillis;
+    }
+
+    /**
+     * One application's credentials, with what the pool knows about their use.
+     */
+    public static final class Credential {
+
+        private final String clientId;
+        private final String accessToken;
+        private final RateLimiter rateLimiter = new RateLimiter();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong throttles = new AtomicLong();
+        private final AtomicInteger unauthorizedInRow = new AtomicInteger();
+        private volatile long throttledUntil;
+        private volatile boolean revoked;
+
+        private Credential(String clientId, String accessToken) {
+            this.clientId = clientId;
+            this.accessToken = accessToken;
+        }
+
+        public String getClientId() {
+            return clientId;
+        }
+
+        /**
+         * Returns whether requests are sent with an access token of this credential.
+         *
+         * @return <code>true</code> if the credential has an access token
+         */
+        public boolean hasAccessToken() {
+            return accessToken != null;
+        }
+
+        /**
+         * Returns the rate limiter pacing the requests sent with this credential.
+         *
+         * @return rate limiter
+         */
+        public RateLimiter getRateLimiter() {
+            return rateLimiter;
+        }
+
+        /**
+         * Returns the amount of requests sent with this credential, retries and hedges included.
+         *
+         * @return sent requests
+         */
+        public long getRequests() {
+            return requests.get();
+        }
+
+        /**
+         * Returns the amount of requests sent with this credential which failed or were answered with an error.
+         *
+         * @return failed requests
+         */
+        public long getErrors() {
+            return errors.get();
+        }
+
+        /**
+         * Returns how often this credential was rate limited.
+         *
+         * @return amount of <code>429</code> responses
+         */
+        public long getThrottles() {
+            return throttles.get();
+        }
+
+        /**
+         * Returns until when this credential is left out because it was rate limited, in milliseconds since the epoch.
+         *
+         * @return end of the throttle, in the past if not throttled
+         */
+        public long getThrottledUntil() {
+            return throttledUntil;
+        }
+
+        public boolean isRevoked() {
+            return revoked;
+        }
+
+        /**
+         * Returns whether this credential is in rotation at the specified time.
+         *
+         * @param nowMillis the time, in milliseconds since the epoch
+         * @return <code>true</code> if requests may be sent with this credential
+         */
+        public boolean isAvailable(long nowMillis) {
+            return !revoked && throttledUntil <= nowMillis;
+        }
+
+        /**
+         * Puts this credential back into rotation, e.g. after its access token was replaced.
+         */
+        public void restore() {
+            unauthorizedInRow.set(0);
+            throttledUntil = 0;
+            revoked = false;
+        }
+
+        /**
+         * Returns the request with this credential's headers.
+         */
+        Request apply(Request request) {
+            requests.incrementAndGet();
+            Request.Builder builder = request.newBuilder().header("Client-ID", clientId);
+            if (accessToken != null) {
+                builder.header("Authorization", "OAuth " + accessToken);
+            }
+            return builder.build();
+        }
+
+        private long leastUsedScore() {
+            // Fewest in flight or waiting for budget first, then fewest sent; higher is better
+            return -(((long) pending() << 40) + Math.min(requests.get(), (1L << 40) - 1));
+        }
+
+        private long mostRemainingScore() {
+            int remaining = rateLimiter.getRemaining();
+            long budget = remaining < 0 ? Integer.MAX_VALUE : remaining; // not reported yet: probe it
+            return (budget << 20) - Math.min(pending(), (1 << 20) - 1);
+        }
+
+        private int pending() {
+            return rateLimiter.getInFlight() + rateLimiter.getQueueDepth();
+        }
+
+        @Override
+        public String toString() {
+            // Never print the token itself
+            return "Credential{" +
+                    "clientId='" + clientId + '\'' +
+                    ", requests=" + requests +
+                    ", errors=" + errors +
+                    ", throttles=" + throttles +
+                    ", revoked=" + revoked +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.mrivanplays.twitch.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Wraps a {@link JsonHttpResponseHandler}, hashing successful response bodies and calling
+ * {@link JsonHttpResponseHandler#onUnchanged(int, Map)} instead of decoding when the body matches the
+ * {@link ResponseFingerprints fingerprint} of the previous response its consumer received.
+ *
+ * @param <T> the type of the decoded response
+ */
+final class FingerprintingResponseHandler<T> extends HttpResponseHandler {
+
+    private final ResponseFingerprints fingerprints;
+    private final ResponseFingerprints.Key key;
+    private final JsonHttpResponseHandler<T> delegate;
+
+    FingerprintingResponseHandler(ResponseFingerprints fingerprints, String requestKey, JsonHttpResponseHandler<T> delegate) {
+        this.fingerprints = fingerprints;
+        this.key = new ResponseFingerprints.Key(delegate.getUnchangedOwner(), requestKey);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onFailure(Throwable throwable) {
+        delegate.onFailure(throwable);
+    }
+
+    @Override
+    protected Runnable readResponse(Response response) {
+        int responseCode = response.code();
+        if (responseCode < 200 || responseCode >= 300) {
+            return delegate.readResponse(response);
+        }
+
+        Map<String, List<String>> responseHeaders = response.headers().toMultimap();
+        try (ResponseBody body = response.body()) {
+            byte[] content = body.bytes();
+            long fingerprint = ResponseFingerprints.fingerprint(content);
+            if (fingerprints.isUnchanged(key, fingerprint)) {
+                return () -> delegate.onUnchanged(responseCode, responseHeaders);
+            }
+            T value = delegate.decode(new ByteArrayInputStream(content));
+            // Only remember bodies which decoded, so a failed one is never reported as unchanged
+            fingerprints.put(key, fingerprint);
+            return () -> delegate.onSuccess(responseCode, responseHeaders, value);
+        } catch (IOException e) {
+            return () -> delegate.onFailure(e);
+        }
+    }
+}
@@ -3,11 +3,13 @@ package com.mrivanplays.twitch.api;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 public abstract class HttpResponseHandler {
 
@@ -38,16 +40,32 @@ public abstract class HttpResponseHandler {
     public abstract void onFailure(Throwable throwable);
 
     protected void processResponse(Response response) {
+        readResponse(response).run();
+    }
+
+    /**
+     * Reads the response and returns the callback to invoke with it. Reading happens on the calling thread, which is
+     * the thread that received the response, while the returned callback may run on another executor.
+     *
+     * @param response the response
+     * @return the callback invocation
+     */
+    protected Runnable readResponse(Response response) {
         // Response
         int responseCode = response.code();
         Map<String, List<String>> responseHeaders = response.headers().toMultimap();
 
-        Reader charStream = response.body().charStream();
+        String content;
+        try (ResponseBody body = response.body()) {
+            content = body.string();
+        } catch (IOException e) {
+            return () -> onFailure(e);
+        }
 
         if (responseCode >= 200 && responseCode < 300) {
-            onSuccess(responseCode, responseHeaders, charStream);
+            return () -> onSuccess(responseCode, responseHeaders, new StringReader(content));
         } else {
-            onFailure(responseCode, responseHeaders, charStream);
+            return () -> onFailure(responseCode, responseHeaders, new StringReader(content));
         }
     }
 }
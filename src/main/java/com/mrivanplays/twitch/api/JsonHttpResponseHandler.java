@@ -0,0 +1,105 @@
+package com.mrivanplays.twitch.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Response handler which decodes successful responses straight from the response body's byte stream into a value of
+ * type <code>T</code>, without buffering the whole body into a <code>String</code> first.
+ * <p>Use {@link Void} as the type for endpoints which respond without a body; in that case no decoding is done and
+ * {@link #onSuccess(int, Map, Object)} receives <code>null</code>.</p>
+ * <p>Decoding happens on the thread which received the response; only the resulting callback is handed to the
+ * client's callback executor, if any.</p>
+ *
+ * @param <T> the type of the decoded response
+ */
+public abstract class JsonHttpResponseHandler<T> extends HttpResponseHandler {
+
+    private final ObjectMapper objectMapper;
+    private final Class<T> type;
+
+    public JsonHttpResponseHandler(ObjectMapper objectMapper, Class<T> type) {
+        this.objectMapper = objectMapper;
+        this.type = type;
+    }
+
+    public abstract void onSuccess(int statusCode, Map<String, List<String>> headers, T value);
+
+    @Override
+    public abstract void onFailure(Throwable throwable);
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Returns whether this handler wants {@link #onUnchanged(int, Map)} calls. If so and the client has
+     * {@link ResponseFingerprints}, a <code>GET</code> response byte-for-byte the same as the previous one for the
+     * same request isn't decoded. Defaults to <code>false</code>.
+     *
+     * @return whether unchanged responses may skip decoding
+     */
+    public boolean acceptsUnchanged() {
+        return false;
+    }
+
+    /**
+     * Returns the consumer whose previous response an unchanged response is compared with, so two consumers polling
+     * the same url don't see each other's responses as unchanged. Defaults to this handler; override it if a new
+     * handler is created for each request made on behalf of the same consumer.
+     *
+     * @return the consumer, compared by identity
+     */
+    public Object getUnchangedOwner() {
+        return this;
+    }
+
+    /**
+     * Called instead of {@link #onSuccess(int, Map, Object)} when the response is the same as the previous one the
+     * {@link #getUnchangedOwner() consumer} received, if this handler {@link #acceptsUnchanged() accepts unchanged
+     * responses}. Does nothing by default.
+     *
+     * @param statusCode response status code
+     * @param headers    response headers
+     */
+    public void onUnchanged(int statusCode, Map<String, List<String>> headers) {
+    }
+
+    @Override
+    protected Runnable readResponse(Response response) {
+        int responseCode = response.code();
+        Map<String, List<String>> responseHeaders = response.headers().toMultimap();
+
+        try (ResponseBody body = response.body()) {
+            if (responseCode < 200 || responseCode >= 300) {
+                String content = body.string();
+                return () -> onFailure(responseCode, responseHeaders, new StringReader(content));
+            }
+
+            T value = decode(body);
+            return () -> onSuccess(responseCode, responseHeaders, value);
+        } catch (IOException e) {
+            return () -> onFailure(e);
+        }
+    }
+
+    private T decode(ResponseBody body) throws IOException {
+        // Jackson detects the encoding itself, so hand it the raw bytes of the okio source
+        return decode(body.source().inputStream());
+    }
+
+    T decode(InputStream content) throws IOException {
+        if (type == Void.class) {
+            return null;
+        }
+        return objectMapper.readValue(content, type);
+    }
+}
@@ -0,0 +1,48 @@
+package com.mrivanplays.twitch.api;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent response times in a ring buffer and estimates their 95th percentile, used to decide when a
+ * request is hedged. The percentile is recomputed every {@link #RECOMPUTE_INTERVAL} samples rather than on every read.
+ */
+final class LatencyTracker {
+
+    static final int MIN_SAMPLES = 20;
+    private static final int CAPACITY = 512;
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    private final long[] samples = new long[CAPACITY];
+    private int count;
+    private int next;
+    private int sinceRecompute;
+    private long p95 = -1;
+
+    /**
+     * Records a response time.
+     *
+     * @param nanos response time in nanoseconds
+     */
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % CAPACITY;
+        if (count < CAPACITY) {
+            count++;
+        }
+        if (count >= MIN_SAMPLES && (p95 < 0 || ++sinceRecompute >= RECOMPUTE_INTERVAL)) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            p95 = sorted[(int) Math.ceil(count * 0.95) - 1];
+            sinceRecompute = 0;
+        }
+    }
+
+    /**
+     * Returns the 95th percentile of recent response times, or <code>-1</code> if there aren't enough samples yet.
+     *
+     * @return p95 in nanoseconds, or <code>-1</code>
+     */
+    synchronized long p95() {
+        return p95;
+    }
+}
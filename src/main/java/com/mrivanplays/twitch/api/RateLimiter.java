@@ -0,0 +1,200 @@
+package com.mrivanplays.twitch.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Headers;
+
+/**
+ * Represents a token bucket pacing outgoing requests to the rate limit twitch reports through the
+ * <code>Ratelimit-Limit</code>, <code>Ratelimit-Remaining</code> and <code>Ratelimit-Reset</code> response headers.
+ * <p>Only one request is sent until the first response arrives. If twitch doesn't report a limit, requests are sent
+ * right away. Otherwise, requests exceeding the budget are queued and sent as soon as the bucket refills, instead of
+ * being answered with <code>429 Too Many Requests</code>.</p>
+ */
+public class RateLimiter {
+
+    private static final long DEFAULT_REFILL_PERIOD_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final ScheduledExecutorService DRAIN_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Twitch rate limiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Deque<Runnable> queue = new ArrayDeque<>();
+
+    private int limit = -1; // unknown until the first response carrying the headers
+    private boolean probing = true; // no response seen yet
+    private double tokens;
+    private double refillPerNano;
+    private long lastRefill;
+    private int inFlight;
+    private boolean drainScheduled;
+
+    /**
+     * Sends the specified request once the budget allows it.
+     *
+     * @param request the action sending the request
+     */
+    public void submit(Runnable request) {
+        synchronized (this) {
+            refill(System.nanoTime());
+            if (!queue.isEmpty() || !tryAcquire()) {
+                queue.add(request);
+                scheduleDrain();
+                return;
+            }
+        }
+        request.run();
+    }
+
+    /**
+     * Updates the budget from the rate limit headers of a response.
+     *
+     * @param headers response headers
+     */
+    public void onResponse(Headers headers) {
+        String limitHeader = headers.get("Ratelimit-Limit");
+        String remainingHeader = headers.get("Ratelimit-Remaining");
+        String resetHeader = headers.get("Ratelimit-Reset");
+        synchronized (this) {
+            inFlight = Math.max(0, inFlight - 1);
+            probing = false;
+            if (limitHeader != null && remainingHeader != null) {
+                updateBudget(limitHeader, remainingHeader, resetHeader);
+            }
+        }
+        drain();
+    }
+
+    private void updateBudget(String limitHeader, String remainingHeader, String resetHeader) {
+        long now = System.nanoTime();
+        try {
+            int newLimit = Integer.parseInt(limitHeader.trim());
+            int remaining = Integer.parseInt(remainingHeader.trim());
+            double newRefillPerNano = (double) newLimit / DEFAULT_REFILL_PERIOD_NANOS;
+            if (resetHeader != null && remaining < newLimit) {
+                long resetInNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(resetHeader.trim())
+                        - TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+                if (resetInNanos > 0) {
+                    newRefillPerNano = (double) (newLimit - remaining) / resetInNanos;
+                }
+            }
+            limit = newLimit;
+            refillPerNano = newRefillPerNano;
+            // Requests sent after this response was produced aren't accounted for by twitch yet
+            tokens = Math.max(0, Math.min(limit, remaining - inFlight));
+            lastRefill = now;
+        } catch (NumberFormatException ignored) {
+            // keep the previous budget
+        }
+    }
+
+    /**
+     * Records that a request failed without a response.
+     */
+    public void onFailure() {
+        synchronized (this) {
+            inFlight = Math.max(0, inFlight - 1);
+        }
+        drain();
+    }
+
+    /**
+     * Returns the request limit reported by twitch, or <code>-1</code> if twitch hasn't reported one yet.
+     *
+     * @return limit
+     */
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the estimated amount of requests which can currently be sent before being queued, or <code>-1</code> if
+     * twitch hasn't reported a limit yet.
+     *
+     * @return remaining budget
+     */
+    public synchronized int getRemaining() {
+        if (limit < 0) {
+            return -1;
+        }
+        refill(System.nanoTime());
+        return (int) tokens;
+    }
+
+    /**
+     * Returns the amount of requests waiting for budget.
+     *
+     * @return queue depth
+     */
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the amount of requests sent which haven't been answered yet.
+     *
+     * @return in flight requests
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private boolean tryAcquire() {
+        if (probing && inFlight > 0) {
+            return false;
+        }
+        if (limit >= 0) {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+        }
+        inFlight++;
+        return true;
+    }
+
+    private void refill(long now) {
+        if (limit < 0) {
+            return;
+        }
+        tokens = Math.min(limit, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled || (probing && inFlight > 0)) {
+            return; // the probe's answer drains the queue
+        }
+        drainScheduled = true;
+        long delay = 0;
+        if (limit >= 0 && tokens < 1) {
+            delay = refillPerNano > 0 ? (long) Math.ceil((1 - tokens) / refillPerNano) : DEFAULT_REFILL_PERIOD_NANOS;
+        }
+        DRAIN_SCHEDULER.schedule(this::drain, Math.max(delay, TimeUnit.MILLISECONDS.toNanos(1)), TimeUnit.NANOSECONDS);
+    }
+
+    private void drain() {
+        List<Runnable> ready = new ArrayList<>();
+        synchronized (this) {
+            drainScheduled = false;
+            refill(System.nanoTime());
+            while (!queue.isEmpty() && tryAcquire()) {
+                ready.add(queue.poll());
+            }
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+        for (Runnable request : ready) {
+            request.run();
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.mrivanplays.twitch.api;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Represents a bounded queue in front of {@link AsyncHttpClient}, limiting how many requests are in flight and how
+ * many more may wait for their turn. Waiting requests are held here rather than as pending calls in OkHttp's
+ * unbounded dispatcher queue.
+ * <p>What happens to a request submitted while the queue is full depends on the {@link OverflowPolicy}. Producers
+ * which must never block can use {@link #trySubmit(Runnable)} instead and slow down when it returns
+ * <code>false</code>.</p>
+ * <p>Requests the library makes on its own threads, e.g. batched channel name lookups and background polling, and
+ * the request following a channel name lookup never block: under {@link OverflowPolicy#BLOCK} they are queued even
+ * past the bound, since a stalled library thread would hold up every caller. See {@link #runNonBlocking(Runnable)}.</p>
+ * <p>A finished request keeps its room while its handler runs, and hands it to the first request the handler makes,
+ * so a chain of requests, each made from the previous one's handler, never waits. Any further request a handler makes
+ * is subject to the overflow policy like any other. Handlers run on OkHttp's dispatcher threads unless
+ * {@link AsyncHttpClient#setCallbackExecutor(java.util.concurrent.Executor) a callback executor} is set; handlers
+ * making several requests under {@link OverflowPolicy#BLOCK} should use one, since blocked dispatcher threads can't
+ * finish the requests which would make room.</p>
+ * <p>A request counts as in flight from the moment it's started until its handler is about to be called, including
+ * the time spent waiting on the rate limiter and between retries. Its room is held until the handler returns.</p>
+ */
+public class RequestQueue {
+
+    /**
+     * What to do with a request submitted while the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Block the submitting thread until there's room. Requests submitted {@link #runNonBlocking(Runnable) without
+         * blocking} are queued past the bound instead.
+         */
+        BLOCK,
+        /**
+         * Reject the new request; its handler receives a {@link RejectedExecutionException}.
+         */
+        REJECT,
+        /**
+         * Reject the request which has been waiting the longest, and queue the new one.
+         */
+        DROP_OLDEST
+    }
+
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final OverflowPolicy policy;
+
+    private static final ThreadLocal<Boolean> NON_BLOCKING = new ThreadLocal<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Deque<Submission> queue = new ArrayDeque<>();
+    private final ThreadLocal<Boolean> reservation = new ThreadLocal<>();
+    private int inFlight;
+    private int reserved;
+    private long rejectedCount;
+
+    /**
+     * Creates a new request queue.
+     *
+     * @param maxInFlight the maximum amount of requests in flight
+     * @param maxQueued   the maximum amount of requests waiting to be started
+     * @param policy      what to do with requests submitted while the queue is full
+     */
+    public RequestQueue(int maxInFlight, int maxQueued, OverflowPolicy policy) {
+        if (maxInFlight < 1 || maxQueued < 0) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1 and maxQueued cannot be negative");
+        }
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+        this.policy = policy;
+    }
+
+    /**
+     * Returns a queue which never limits requests.
+     *
+     * @return unbounded queue
+     */
+    public static RequestQueue unbounded() {
+        return new RequestQueue(Integer.MAX_VALUE, Integer.MAX_VALUE, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Runs <code>submission</code> on the calling thread if there's room for one more request, without ever blocking.
+     * The room is reserved for the first request <code>submission</code> makes on this thread, e.g. a call to a
+     * resource method, and released if it makes none.
+     *
+     * @param submission action making one request
+     * @return <code>false</code> if the queue is full and <code>submission</code> wasn't run
+     */
+    public boolean trySubmit(Runnable submission) {
+        lock.lock();
+        try {
+            if (!hasRoom()) {
+                return false;
+            }
+            reserved++;
+        } finally {
+            lock.unlock();
+        }
+        reservation.set(Boolean.TRUE);
+        try {
+            submission.run();
+        } finally {
+            if (reservation.get() != null) {
+                reservation.remove();
+                releaseReservation();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the room {@link #trySubmit(Runnable)} reserved on the calling thread, if any, to a continuation which
+     * makes the request later, possibly on another thread, e.g. once a channel name is resolved. Requests made in
+     * between, such as the name lookup itself, don't use the room.
+     *
+     * @return the moved reservation, which holds no room if the calling thread had none
+     */
+    public Reservation detachReservation() {
+        if (reservation.get() == null) {
+            return new Reservation(null);
+        }
+        reservation.remove();
+        return new Reservation(this);
+    }
+
+    /**
+     * Runs the action on the calling thread such that no request it submits blocks, whatever the overflow policy.
+     * The library runs its own background work this way; use it for threads of your own which a full queue must
+     * never stall.
+     *
+     * @param action the action
+     */
+    public static void runNonBlocking(Runnable action) {
+        Boolean previous = NON_BLOCKING.get();
+        NON_BLOCKING.set(Boolean.TRUE);
+        try {
+            action.run();
+        } finally {
+            if (previous == null) {
+                NON_BLOCKING.remove();
+            }
+        }
+    }
+
+    private void releaseReservation() {
+        lock.lock();
+        try {
+            reserved--;
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts, queues or rejects the specified request, according to the room left and the overflow policy.
+     *
+     * @param submission the request
+     */
+    void submit(Submission submission) {
+        Submission toStart = null;
+        Submission toReject = null;
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            if (reservation.get() != null) {
+                reservation.remove();
+                reserved--;
+            } else {
+                while (!hasRoom()) {
+                    if (policy == OverflowPolicy.BLOCK && NON_BLOCKING.get() != null) {
+                        break; // a follow-up of a request which already got its room; waiting here could deadlock
+                    }
+                    if (policy == OverflowPolicy.REJECT || (policy == OverflowPolicy.DROP_OLDEST && queue.isEmpty())) {
+                        toReject = submission;
+                        break;
+                    }
+                    if (policy == OverflowPolicy.DROP_OLDEST) {
+                        toReject = queue.poll();
+                        break;
+                    }
+                    try {
+                        notFull.await();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                        toReject = submission;
+                        break;
+                    }
+                }
+            }
+            if (toReject != null) {
+                rejectedCount++;
+            }
+            if (toReject != submission) {
+                if (inFlight < maxInFlight && queue.isEmpty()) {
+                    inFlight++;
+                    toStart = submission;
+                } else {
+                    queue.add(submission);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (toReject != null) {
+            toReject.reject(new RejectedExecutionException("Request queue is full"));
+        }
+        if (toStart != null) {
+            toStart.start();
+        }
+    }
+
+    private boolean hasRoom() {
+        return (long) inFlight + queue.size() + reserved < (long) maxInFlight + maxQueued;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns the amount of started requests which haven't finished yet.
+     *
+     * @return in flight requests
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the amount of requests waiting to be started.
+     *
+     * @return queued requests
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that a started request finished, starting the next queued one. Its room is kept for the first request
+     * its handler makes.
+     *
+     * @return the room, to run the handler with
+     */
+    Reservation handOff() {
+        Submission next = null;
+        lock.lock();
+        try {
+            inFlight--;
+            reserved++;
+            if (inFlight < maxInFlight) {
+                next = queue.poll();
+                if (next != null) {
+                    inFlight++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (next != null) {
+            next.start();
+        }
+        return new Reservation(this);
+    }
+
+    /**
+     * Returns the amount of requests rejected because the queue was full.
+     *
+     * @return rejected requests
+     */
+    public long getRejectedCount() {
+        lock.lock();
+        try {
+            return rejectedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Room in a queue reserved by {@link #trySubmit(Runnable)} and moved off the thread it was reserved on.
+     */
+    public static final class Reservation {
+
+        private final RequestQueue queue; // null if no room is held
+        private final AtomicBoolean used = new AtomicBoolean();
+
+        private Reservation(RequestQueue queue) {
+            this.queue = queue;
+        }
+
+        /**
+         * Runs the continuation without blocking. Its first request takes the reserved room; if it makes none, the
+         * room is released. Only the first call holds the room.
+         *
+         * @param continuation action making the request
+         */
+        public void run(Runnable continuation) {
+            run(continuation, true);
+        }
+
+        /**
+         * Runs a response handler. Its first request takes the reserved room; any other request is subject to the
+         * overflow policy.
+         *
+         * @param handler action which may make requests
+         */
+        void runFollowUp(Runnable handler) {
+            run(handler, false);
+        }
+
+        private void run(Runnable continuation, boolean nonBlocking) {
+            Runnable action = nonBlocking ? () -> runNonBlocking(continuation) : continuation;
+            if (queue == null || !used.compareAndSet(false, true)) {
+                action.run();
+                return;
+            }
+            if (queue.reservation.get() != null) {
+                // The thread holds room of its own, which the request takes instead
+                queue.releaseReservation();
+                action.run();
+                return;
+            }
+            queue.reservation.set(Boolean.TRUE);
+            try {
+                action.run();
+            } finally {
+                if (queue.reservation.get() != null) {
+                    queue.reservation.remove();
+                    queue.releaseReservation();
+                }
+            }
+        }
+    }
+
+    /**
+     * A request held by the queue.
+     */
+    interface Submission {
+
+        void start();
+
+        void reject(RejectedExecutionException exception);
+    }
+}
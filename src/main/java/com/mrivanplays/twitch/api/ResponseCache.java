@@ -0,0 +1,249 @@
+package com.mrivanplays.twitch.api;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import okhttp3.Request;
+
+/**
+ * Represents an in-memory cache of <code>GET</code> responses, used by {@link AsyncHttpClient} for requests handled
+ * by a {@link JsonHttpResponseHandler}.
+ * <p>Only urls starting with a prefix registered through {@link #setTtl(String, long, TimeUnit)} are cached. A cached
+ * response is served without a request for its time to live. After that, it's revalidated with
+ * <code>If-None-Match</code> and <code>If-Modified-Since</code>. A <code>304 Not Modified</code> answer serves the
+ * cached body again without transferring it.</p>
+ * <p>The cache is bounded by entry count and by the total size of the cached response bodies, evicting the least
+ * recently used entries first. The raw body is cached and decoded for every caller, so each gets its own objects and
+ * may modify them.</p>
+ */
+public class ResponseCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1_000;
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 16L * 1024 * 1024;
+    private static final long ENTRY_OVERHEAD = 256; // rough per entry cost on top of the body size
+
+    private final int maximumSize;
+    private final long maximumWeight;
+    private final Map<String, Long> ttlNanosByPrefix = new ConcurrentHashMap<>();
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // guarded by this
+    private long weight; // guarded by this
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+
+    /**
+     * Creates a new cache with the default bounds.
+     */
+    public ResponseCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize   the maximum amount of responses to keep
+     * @param maximumWeight the maximum total size, in bytes, of the cached response bodies
+     */
+    public ResponseCache(int maximumSize, long maximumWeight) {
+        if (maximumSize < 0 || maximumWeight < 0) {
+            throw new IllegalArgumentException("maximumSize and maximumWeight cannot be negative");
+        }
+        this.maximumSize = maximumSize;
+        this.maximumWeight = maximumWeight;
+    }
+
+    /**
+     * Caches responses of urls starting with the specified prefix, serving them without a request for the specified
+     * time. A time to live of <code>0</code> revalidates the response on every request. When several prefixes match
+     * an url, the longest one applies.
+     *
+     * @param urlPrefix url prefix, e.g. <code>https://api.twitch.tv/kraken/ingests</code>
+     * @param ttl       how long a response is served without revalidation
+     * @param unit      the unit of <code>ttl</code>
+     * @return this instance for chaining
+     */
+    public ResponseCache setTtl(String urlPrefix, long ttl, TimeUnit unit) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("ttl cannot be negative");
+        }
+        ttlNanosByPrefix.put(urlPrefix, unit.toNanos(ttl));
+        return this;
+    }
+
+    /**
+     * Stops caching responses of urls starting with the specified prefix.
+     *
+     * @param urlPrefix url prefix
+     */
+    public void removeTtl(String urlPrefix) {
+        ttlNanosByPrefix.remove(urlPrefix);
+    }
+
+    /**
+     * Returns the time to live, in nanoseconds, of responses of the specified url, or <code>-1</code> if they aren't
+     * cached.
+     *
+     * @param url the url
+     * @return time to live in nanoseconds, or <code>-1</code>
+     */
+    public long getTtlNanos(String url) {
+        long ttl = -1;
+        int matchLength = -1;
+        for (Map.Entry<String, Long> rule : ttlNanosByPrefix.entrySet()) {
+            String prefix = rule.getKey();
+            if (prefix.length() > matchLength && url.startsWith(prefix)) {
+                ttl = rule.getValue();
+                matchLength = prefix.length();
+            }
+        }
+        return ttl;
+    }
+
+    /**
+     * Removes every cached response.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Returns the amount of cached responses.
+     *
+     * @return size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the total size, in bytes, of the cached response bodies plus a rough per entry overhead.
+     *
+     * @return weight in bytes
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Returns a snapshot of this cache's counters. Responses served while fresh or after a <code>304 Not
+     * Modified</code> count as hits; the load counters track responses which had to be transferred.
+     *
+     * @return stats
+     */
+    public CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(),
+                loadSuccessCount.sum(), loadFailureCount.sum(), totalLoadTime.sum());
+    }
+
+    static String key(Request request) {
+        String authorization = request.header("Authorization");
+        String url = request.url().toString();
+        return authorization == null ? url : url + '\n' + authorization;
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    void put(String key, Entry entry) {
+        if (entry.weight > maximumWeight || maximumSize == 0) {
+            return;
+        }
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            weight += entry.weight;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while ((entries.size() > maximumSize || weight > maximumWeight) && iterator.hasNext()) {
+                Entry eldest = iterator.next();
+                iterator.remove();
+                weight -= eldest.weight;
+                evictionCount.increment();
+            }
+        }
+    }
+
+    void recordHit() {
+        hitCount.increment();
+    }
+
+    void recordMiss() {
+        missCount.increment();
+    }
+
+    void recordLoad(boolean success, long loadTime) {
+        (success ? loadSuccessCount : loadFailureCount).increment();
+        totalLoadTime.add(loadTime);
+    }
+
+    /**
+     * A cached response: the raw body, the headers it was served with and its validators.
+     */
+    static final class Entry {
+
+        final byte[] body;
+        final int statusCode;
+        final Map<String, List<String>> headers;
+        final String etag;
+        final String lastModified;
+        final long ttlNanos;
+        final long weight;
+        volatile long expiresAt;
+
+        Entry(byte[] body, int statusCode, Map<String, List<String>> headers, String etag, String lastModified,
+              long ttlNanos) {
+            this.body = body;
+            this.statusCode = statusCode;
+            this.headers = Collections.unmodifiableMap(headers);
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.ttlNanos = ttlNanos;
+            this.weight = body.length + ENTRY_OVERHEAD;
+            this.expiresAt = System.nanoTime() + ttlNanos;
+        }
+
+        boolean isFresh(long now) {
+            return expiresAt - now > 0;
+        }
+
+        void refresh() {
+            expiresAt = System.nanoTime() + ttlNanos;
+        }
+
+        Request addValidators(Request request) {
+            if (etag == null && lastModified == null) {
+                return request;
+            }
+            Request.Builder builder = request.newBuilder();
+            if (etag != null) {
+                builder.header("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                builder.header("If-Modified-Since", lastModified);
+            }
+            return builder.build();
+        }
+    }
+}
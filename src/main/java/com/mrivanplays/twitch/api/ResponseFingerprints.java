@@ -0,0 +1,146 @@
+package com.mrivanplays.twitch.api;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers a fingerprint, a 64-bit xxHash, of the last successful response body of each <code>GET</code> request,
+ * so {@link AsyncHttpClient} can skip decoding a response which is byte-for-byte the same as the previous one.
+ * <p>Only requests handled by a {@link JsonHttpResponseHandler} which {@link JsonHttpResponseHandler#acceptsUnchanged()
+ * accepts unchanged responses} are fingerprinted. An unchanged response calls
+ * {@link JsonHttpResponseHandler#onUnchanged(int, Map)} instead of decoding the body. Requests are told apart by url and
+ * credentials, and fingerprints are kept per {@link JsonHttpResponseHandler#getUnchangedOwner() consumer}, so a
+ * response is only reported unchanged to the consumer which decoded the previous one.</p>
+ * <p>At most <code>maximumSize</code> fingerprints are kept, forgetting the least recently used first. A forgotten
+ * fingerprint only means the next response is decoded again.</p>
+ */
+public class ResponseFingerprints {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+
+    private final int maximumSize;
+    private final LinkedHashMap<Key, Long> fingerprints; // guarded by this
+    private final LongAdder unchangedCount = new LongAdder();
+    private final LongAdder changedCount = new LongAdder();
+
+    /**
+     * Creates a new fingerprint store keeping up to {@link #DEFAULT_MAXIMUM_SIZE} fingerprints.
+     */
+    public ResponseFingerprints() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a new fingerprint store.
+     *
+     * @param maximumSize the maximum amount of fingerprints to keep
+     */
+    public ResponseFingerprints(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1");
+        }
+        this.maximumSize = maximumSize;
+        this.fingerprints = new LinkedHashMap<Key, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Long> eldest) {
+                return size() > ResponseFingerprints.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Forgets every fingerprint, so the next response of every request is decoded.
+     */
+    public synchronized void invalidateAll() {
+        fingerprints.clear();
+    }
+
+    /**
+     * Returns the amount of remembered fingerprints.
+     *
+     * @return size
+     */
+    public synchronized int size() {
+        return fingerprints.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the amount of responses which matched their fingerprint and weren't decoded.
+     *
+     * @return unchanged response count
+     */
+    public long getUnchangedCount() {
+        return unchangedCount.sum();
+    }
+
+    /**
+     * Returns the amount of fingerprinted responses which were new or changed, and thus decoded.
+     *
+     * @return changed response count
+     */
+    public long getChangedCount() {
+        return changedCount.sum();
+    }
+
+    static long fingerprint(byte[] body) {
+        return XxHash64.hash(body, 0, body.length, 0);
+    }
+
+    /**
+     * Returns whether <code>fingerprint</code> is the last one remembered for <code>key</code>, counting the answer.
+     */
+    boolean isUnchanged(Key key, long fingerprint) {
+        Long previous;
+        synchronized (this) {
+            previous = fingerprints.get(key);
+        }
+        boolean unchanged = previous != null && previous == fingerprint;
+        (unchanged ? unchangedCount : changedCount).increment();
+        return unchanged;
+    }
+
+    synchronized void put(Key key, long fingerprint) {
+        fingerprints.put(key, fingerprint);
+    }
+
+    /**
+     * Identifies the fingerprint of a request made on behalf of a consumer. The consumer is only weakly referenced, so
+     * fingerprints of consumers which are gone merely wait to be evicted.
+     */
+    static final class Key {
+
+        private final WeakReference<Object> owner;
+        private final int ownerHash;
+        private final String request;
+
+        Key(Object owner, String request) {
+            this.owner = new WeakReference<>(owner);
+            this.ownerHash = System.identityHashCode(owner);
+            this.request = request;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            Object owner = this.owner.get();
+            return owner != null && owner == key.owner.get() && request.equals(key.request);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * ownerHash + request.hashCode();
+        }
+    }
+}
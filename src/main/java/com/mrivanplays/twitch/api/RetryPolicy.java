@@ -0,0 +1,246 @@
+package com.mrivanplays.twitch.api;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Represents the rules {@link AsyncHttpClient} follows when a request fails: which status codes and exceptions are
+ * retried, how many attempts are made and how long to wait in between. It also controls hedging, which sends a second
+ * attempt of a <code>GET</code> request if the first one takes longer than 95% of recent requests did.
+ * <p>Waits grow exponentially from the base delay up to the maximum delay, with full jitter. A
+ * <code>Retry-After</code> response header takes precedence over the computed wait.</p>
+ * <p>Only requests with idempotent methods (<code>GET</code>, <code>PUT</code>, <code>DELETE</code>) are retried,
+ * unless {@link #withRetryNonIdempotent(boolean)} is enabled.</p>
+ * <p>Policies are immutable, every rule returns a new policy, so one may be shared by clients and read by requests in
+ * flight while another is being built.</p>
+ */
+public class RetryPolicy {
+
+    private final Set<Integer> retryStatusCodes;
+    private final List<Class<? extends Throwable>> retryExceptions;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final boolean retryNonIdempotent;
+    private final boolean hedging;
+
+    /**
+     * Creates a new retry policy which doesn't retry anything until rules are added.
+     *
+     * @param maxAttempts     the maximum amount of attempts per request, including the first one
+     * @param baseDelayMillis the wait before the first retry, in milliseconds
+     * @param maxDelayMillis  the maximum wait between attempts, in milliseconds
+     */
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        if (baseDelayMillis < 0 || maxDelayMillis < baseDelayMillis) {
+            throw new IllegalArgumentException("delays cannot be negative and maxDelayMillis cannot be below baseDelayMillis");
+        }
+        this.retryStatusCodes = Collections.emptySet();
+        this.retryExceptions = Collections.emptyList();
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.retryNonIdempotent = false;
+        this.hedging = false;
+    }
+
+    private RetryPolicy(RetryPolicy policy, Set<Integer> retryStatusCodes,
+                        List<Class<? extends Throwable>> retryExceptions, boolean retryNonIdempotent, boolean hedging) {
+        this.retryStatusCodes = Collections.unmodifiableSet(retryStatusCodes);
+        this.retryExceptions = Collections.unmodifiableList(retryExceptions);
+        this.maxAttempts = policy.maxAttempts;
+        this.baseDelayMillis = policy.baseDelayMillis;
+        this.maxDelayMillis = policy.maxDelayMillis;
+        this.retryNonIdempotent = retryNonIdempotent;
+        this.hedging = hedging;
+    }
+
+    /**
+     * Returns a policy which never retries nor hedges.
+     *
+     * @return no-op policy
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, 0, 0);
+    }
+
+    /**
+     * Returns a policy retrying <code>429</code>, <code>500</code>, <code>502</code>, <code>503</code> and
+     * <code>504</code> responses, as well as {@link IOException}s, up to 3 attempts waiting between 500 milliseconds
+     * and 30 seconds.
+     *
+     * @return default policy
+     */
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(3, 500, TimeUnit.SECONDS.toMillis(30))
+                .retryOnStatus(429, 500, 502, 503, 504)
+                .retryOnException(IOException.class);
+    }
+
+    /**
+     * Returns a policy which also retries responses with the specified status codes.
+     *
+     * @param statusCodes status codes
+     * @return the new policy
+     */
+    public RetryPolicy retryOnStatus(int... statusCodes) {
+        Set<Integer> codes = new HashSet<>(retryStatusCodes);
+        for (int statusCode : statusCodes) {
+            codes.add(statusCode);
+        }
+        return new RetryPolicy(this, codes, new ArrayList<>(retryExceptions), retryNonIdempotent, hedging);
+    }
+
+    /**
+     * Returns a policy which also retries requests which failed with an exception of the specified type, or one of
+     * its subtypes.
+     *
+     * @param exceptionType exception type
+     * @return the new policy
+     */
+    public RetryPolicy retryOnException(Class<? extends Throwable> exceptionType) {
+        List<Class<? extends Throwable>> exceptions = new ArrayList<>(retryExceptions);
+        exceptions.add(exceptionType);
+        return new RetryPolicy(this, new HashSet<>(retryStatusCodes), exceptions, retryNonIdempotent, hedging);
+    }
+
+    /**
+     * Returns a policy which does or doesn't retry requests with non-idempotent methods, such as <code>POST</code>.
+     *
+     * @param retryNonIdempotent whether to retry non-idempotent requests
+     * @return the new policy
+     */
+    public RetryPolicy withRetryNonIdempotent(boolean retryNonIdempotent) {
+        return new RetryPolicy(this, new HashSet<>(retryStatusCodes), new ArrayList<>(retryExceptions),
+                retryNonIdempotent, hedging);
+    }
+
+    /**
+     * Returns a policy which does or doesn't send a second attempt of a <code>GET</code> request when the first one
+     * didn't respond within the 95th percentile of recent response times. Whichever attempt responds first is used,
+     * the other one is cancelled.
+     *
+     * @param hedging whether to hedge <code>GET</code> requests
+     * @return the new policy
+     */
+    public RetryPolicy withHedging(boolean hedging) {
+        return new RetryPolicy(this, new HashSet<>(retryStatusCodes), new ArrayList<>(retryExceptions),
+                retryNonIdempotent, hedging);
+    }
+
+    public Set<Integer> getRetryStatusCodes() {
+        return retryStatusCodes;
+    }
+
+    public List<Class<? extends Throwable>> getRetryExceptions() {
+        return retryExceptions;
+    }
+
+    public boolean isRetryNonIdempotent() {
+        return retryNonIdempotent;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getBaseDelayMillis() {
+        return baseDelayMillis;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    public boolean isHedging() {
+        return hedging;
+    }
+
+    /**
+     * Returns whether the specified request may be hedged.
+     *
+     * @param request request
+     * @return <code>true</code> if hedging is enabled and the request is a <code>GET</code>
+     */
+    public boolean canHedge(Request request) {
+        return hedging && "GET".equals(request.method());
+    }
+
+    /**
+     * Returns how long to wait before retrying a request which got the specified response, or <code>-1</code> if it
+     * shouldn't be retried.
+     *
+     * @param request  the request
+     * @param attempt  the attempt which got the response, starting at 1
+     * @param response the response
+     * @return wait in milliseconds, or <code>-1</code>
+     */
+    public long retryDelay(Request request, int attempt, Response response) {
+        if (!canRetry(request, attempt) || !retryStatusCodes.contains(response.code())) {
+            return -1;
+        }
+        long delay = backoff(attempt);
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter != null) {
+            try {
+                delay = TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                Date date = response.headers().getDate("Retry-After");
+                if (date != null) {
+                    delay = Math.max(0, date.getTime() - System.currentTimeMillis());
+                }
+            }
+        }
+        return delay;
+    }
+
+    /**
+     * Returns how long to wait before retrying a request which failed with the specified exception, or <code>-1</code>
+     * if it shouldn't be retried.
+     *
+     * @param request   the request
+     * @param attempt   the attempt which failed, starting at 1
+     * @param exception the exception
+     * @return wait in milliseconds, or <code>-1</code>
+     */
+    public long retryDelay(Request request, int attempt, Throwable exception) {
+        if (!canRetry(request, attempt)) {
+            return -1;
+        }
+        for (Class<? extends Throwable> type : retryExceptions) {
+            if (type.isInstance(exception)) {
+                return backoff(attempt);
+            }
+        }
+        return -1;
+    }
+
+    private boolean canRetry(Request request, int attempt) {
+        if (attempt >= maxAttempts) {
+            return false;
+        }
+        String method = request.method();
+        return retryNonIdempotent || "GET".equals(method) || "PUT".equals(method) || "DELETE".equals(method);
+    }
+
+    private long backoff(int attempt) {
+        long delay = baseDelayMillis << Math.min(attempt - 1, 30);
+        if (delay < 0 || delay > maxDelayMillis) {
+            delay = maxDelayMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(delay + 1);
+    }
+}
@@ -3,7 +3,8 @@ var failurePage = location.origin + "/authorization-failure.html";
 
 var hashValues = {
     access_token: null,
-    scope: ""
+    scope: "",
+    state: null
 };
 
 function process() {
@@ -19,10 +20,10 @@ function getAccessTokenFromHash() {
     extractAccessToken();
     if (hashValues.access_token != null && hashValues.access_token.length > 0) {
         // Send request to server for extraction of access token
-        document.location.replace(thisPage + "?access_token=" + hashValues.access_token + "&scope=" + hashValues.scope);
+        document.location.replace(thisPage + "?access_token=" + hashValues.access_token + "&scope=" + hashValues.scope + stateParam());
     } else {
         // No access token found
-        document.location.replace(failurePage + "?error=access_denied&error_description=no_access_token_found");
+        document.location.replace(failurePage + "?error=access_denied&error_description=no_access_token_found" + stateParam());
     }
 }
 
@@ -39,8 +40,17 @@ function extractAccessToken() {
             hashValues.access_token = param[1]; // access token found
         } else if (param[0] === "scope") {
             hashValues.scope = param[1];
+        } else if (param[0] === "state") {
+            hashValues.state = param[1]; // identifies the login when the server serves several
         }
     }
 }
 
+/**
+ * Passes the state Twitch sent back on to the server, which routes the callback to its login with it.
+ */
+function stateParam() {
+    return hashValues.state != null ? "&state=" + hashValues.state : "";
+}
+
 window.onload = process;
\ No newline at end of file
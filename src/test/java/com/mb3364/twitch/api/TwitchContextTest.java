@@ -0,0 +1,35 @@
+package com.mb3364.twitch.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import okhttp3.OkHttpClient;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TwitchContextTest {
+
+    private final Twitch twitch = new Twitch(new OkHttpClient(), new ObjectMapper());
+
+    @Test
+    public void contextsAreReusedPerToken() {
+        TwitchContext context = twitch.as("first");
+        assertSame(context, twitch.as("first"));
+        assertSame(context.channels(), twitch.as("first").channels());
+        assertNotSame(context, twitch.as("second"));
+
+        twitch.setClientId("client");
+        assertNotSame("a new client ID needs new contexts", context, twitch.as("first"));
+    }
+
+    @Test
+    public void everyTokenHasItsOwnRateLimiter() {
+        assertNotSame(twitch.as("first").getHttpClient().getRateLimiter(),
+                twitch.as("second").getHttpClient().getRateLimiter());
+        assertNotSame(twitch.getHttpClient().getRateLimiter(), twitch.as("first").getHttpClient().getRateLimiter());
+        // Clients sending the same token share its budget
+        assertSame(twitch.as("first").getHttpClient().getRateLimiter(),
+                twitch.getHttpClient().withHeader("Authorization", "OAuth first").getRateLimiter());
+    }
+}
@@ -0,0 +1,124 @@
+package com.mb3364.twitch.api.auth.grants.clientcredentials;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mb3364.twitch.api.Twitch;
+import com.mb3364.twitch.api.auth.AccessToken;
+import com.mb3364.twitch.api.auth.Scopes;
+import com.mb3364.twitch.api.auth.TokenStore;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ClientCredentialsGrantTest {
+
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final List<String> accepts = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private Twitch twitch;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/oauth2/token", exchange -> {
+            bodies.add(read(exchange.getRequestBody()));
+            authorizations.add(String.valueOf(exchange.getRequestHeaders().getFirst("Authorization")));
+            accepts.add(String.valueOf(exchange.getRequestHeaders().getFirst("Accept")));
+            byte[] body = ("{\"access_token\":\"app" + bodies.size() + "\",\"expires_in\":3600,\"token_type\":\"bearer\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        int port = server.getAddress().getPort();
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    HttpUrl local = chain.request().url().newBuilder().scheme("http").host("127.0.0.1").port(port).build();
+                    return chain.proceed(chain.request().newBuilder().url(local).build());
+                })
+                .build();
+        twitch = new Twitch(okHttpClient, new ObjectMapper());
+        twitch.setClientId("client");
+        twitch.setTokenStore(new TokenStore());
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void requestsTokenWithoutApiHeaders() throws Exception {
+        // Resources configure these on the shared client; they must not reach the token endpoint
+        twitch.getHttpClient().setHeader("Authorization", "OAuth user-token");
+
+        ClientCredentialsGrant grant = twitch.newClientCredentialsGrant("secret", Scopes.USER_READ);
+        AccessToken token = grant.getToken().get(10, TimeUnit.SECONDS);
+
+        assertEquals("app1", token.getAccessToken());
+        assertEquals(1, bodies.size());
+        String body = bodies.get(0);
+        assertTrue(body, body.contains("grant_type=client_credentials"));
+        assertTrue(body, body.contains("client_id=client"));
+        assertTrue(body, body.contains("client_secret=secret"));
+        assertTrue(body, body.contains("scope=user_read"));
+        assertEquals("null", authorizations.get(0));
+        assertTrue(accepts.get(0), !accepts.get(0).contains("twitchtv"));
+    }
+
+    @Test
+    public void sharesStoredTokenPerCredentials() throws Exception {
+        ClientCredentialsGrant grant = twitch.newClientCredentialsGrant("secret", Scopes.USER_READ);
+        ClientCredentialsGrant sameCredentials = twitch.newClientCredentialsGrant("secret", Scopes.USER_READ);
+        assertEquals("app1", grant.getToken().get(10, TimeUnit.SECONDS).getAccessToken());
+        assertEquals("app1", sameCredentials.getToken().get(10, TimeUnit.SECONDS).getAccessToken());
+        assertEquals(1, bodies.size());
+
+        ClientCredentialsGrant otherSecret = twitch.newClientCredentialsGrant("rotated", Scopes.USER_READ);
+        assertNotEquals(grant.getKey(), otherSecret.getKey());
+        assertEquals("app2", otherSecret.getToken().get(10, TimeUnit.SECONDS).getAccessToken());
+        assertEquals(2, bodies.size());
+        assertTrue("the secret itself is never part of the key", !otherSecret.getKey().contains("rotated"));
+
+        ClientCredentialsGrant otherEndpoint = new ClientCredentialsGrant(null, new ObjectMapper(),
+                "https://id.example.com/oauth2", "client", "secret", twitch.getTokenStore(), Scopes.USER_READ);
+        assertNotEquals(grant.getKey(), otherEndpoint.getKey());
+        assertNull(twitch.getTokenStore().get(otherEndpoint.getKey()));
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toString("UTF-8");
+    }
+}
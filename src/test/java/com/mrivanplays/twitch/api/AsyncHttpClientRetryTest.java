@@ -0,0 +1,189 @@
+package com.mrivanplays.twitch.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncHttpClientRetryTest {
+
+    /**
+     * Decides the answer to the n-th request, counting from 1.
+     */
+    private interface Fault {
+
+        void respond(int request, HttpExchange exchange) throws IOException;
+    }
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<Long> requestTimes = new CopyOnWriteArrayList<>();
+    private volatile Fault fault;
+    private HttpServer server;
+    private OkHttpClient okHttpClient;
+    private AsyncHttpClient httpClient;
+    private String url;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            requestTimes.add(System.nanoTime());
+            fault.respond(requests.incrementAndGet(), exchange);
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/test";
+        okHttpClient = new OkHttpClient();
+        httpClient = new AsyncHttpClient(okHttpClient);
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void retriesServerErrors() throws Exception {
+        httpClient.setRetryPolicy(new RetryPolicy(3, 0, 0).retryOnStatus(503));
+        fault = (request, exchange) -> respond(exchange, request < 3 ? 503 : 200, "attempt " + request);
+
+        Result result = get();
+        assertEquals(200, result.statusCode.get(10, TimeUnit.SECONDS).intValue());
+        assertEquals("attempt 3", result.content);
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void givesUpAfterMaxAttempts() throws Exception {
+        httpClient.setRetryPolicy(new RetryPolicy(2, 0, 0).retryOnStatus(503));
+        fault = (request, exchange) -> respond(exchange, 503, "down");
+
+        assertEquals(503, get().statusCode.get(10, TimeUnit.SECONDS).intValue());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void honorsRetryAfter() throws Exception {
+        httpClient.setRetryPolicy(new RetryPolicy(2, 0, 0).retryOnStatus(429));
+        fault = (request, exchange) -> {
+            if (request == 1) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 429, "slow down");
+            } else {
+                respond(exchange, 200, "ok");
+            }
+        };
+
+        assertEquals(200, get().statusCode.get(10, TimeUnit.SECONDS).intValue());
+        assertEquals(2, requests.get());
+        long waited = requestTimes.get(1) - requestTimes.get(0);
+        assertTrue("retried after " + TimeUnit.NANOSECONDS.toMillis(waited) + "ms",
+                waited >= TimeUnit.MILLISECONDS.toNanos(900));
+    }
+
+    @Test
+    public void doesNotRetryPost() throws Exception {
+        httpClient.setRetryPolicy(new RetryPolicy(3, 0, 0).retryOnStatus(503));
+        fault = (request, exchange) -> respond(exchange, 503, "down");
+
+        Result result = new Result();
+        RequestParams params = new RequestParams();
+        params.put("key", "value");
+        httpClient.post(url, params, result);
+        assertEquals(503, result.statusCode.get(10, TimeUnit.SECONDS).intValue());
+        Thread.sleep(200); // a retry would have been sent right away
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void hedgeWinnerCancelsTheSlowAttempt() throws Exception {
+        fault = (request, exchange) -> respond(exchange, 200, "fast");
+        for (int i = 0; i < LatencyTracker.MIN_SAMPLES; i++) {
+            get().statusCode.get(10, TimeUnit.SECONDS);
+        }
+        int warmUp = requests.get();
+
+        httpClient.setRetryPolicy(RetryPolicy.none().withHedging(true));
+        fault = (request, exchange) -> {
+            if (request == warmUp + 1) {
+                try {
+                    Thread.sleep(5_000); // the first attempt stalls
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            respond(exchange, 200, "attempt " + request);
+        };
+
+        long start = System.nanoTime();
+        Result result = get();
+        assertEquals(200, result.statusCode.get(10, TimeUnit.SECONDS).intValue());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4));
+        assertEquals("attempt " + (warmUp + 2), result.content);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (okHttpClient.dispatcher().runningCallsCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("the losing attempt is cancelled", 0, okHttpClient.dispatcher().runningCallsCount());
+    }
+
+    private Result get() {
+        Result result = new Result();
+        httpClient.get(url, result);
+        return result;
+    }
+
+    private static void respond(HttpExchange exchange, int statusCode, String content) throws IOException {
+        byte[] body = content.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        } catch (IOException ignored) {
+            // the client went away, e.g. a cancelled hedge
+        }
+    }
+
+    private static final class Result extends StringHttpResponseHandler {
+
+        private final CompletableFuture<Integer> statusCode = new CompletableFuture<>();
+        private volatile String content;
+
+        @Override
+        public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
+            this.content = content;
+            this.statusCode.complete(statusCode);
+        }
+
+        @Override
+        public void onFailure(int statusCode, Map<String, List<String>> headers, String content) {
+            this.content = content;
+            this.statusCode.complete(statusCode);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            statusCode.completeExceptionally(throwable);
+        }
+    }
+}
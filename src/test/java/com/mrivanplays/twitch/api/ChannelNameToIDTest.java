@@ -0,0 +1,128 @@
+package com.mrivanplays.twitch.api;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ChannelNameToIDTest {
+
+    private static final int THREADS = 200;
+
+    private final AtomicInteger userRequests = new AtomicInteger();
+    private HttpServer server;
+    private AsyncHttpClient httpClient;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/helix/users", exchange -> {
+            userRequests.incrementAndGet();
+            try {
+                Thread.sleep(100); // keep the lookup in flight while the other threads arrive
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"data\":[{\"id\":\"42\",\"login\":\"somebody\"}]}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        int port = server.getAddress().getPort();
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    HttpUrl local = chain.request().url().newBuilder().scheme("http").host("127.0.0.1").port(port).build();
+                    return chain.proceed(chain.request().newBuilder().url(local).build());
+                })
+                .build();
+        httpClient = new AsyncHttpClient(okHttpClient);
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void concurrentLookupsOfOneNameMakeOneRequest() throws Exception {
+        assertOneRequest(new ChannelNameToID(httpClient, 0));
+    }
+
+    @Test
+    public void concurrentLookupsOfOneNameMakeOneBatchedRequest() throws Exception {
+        assertOneRequest(new ChannelNameToID(httpClient, ChannelNameToID.DEFAULT_BATCH_WINDOW_MILLIS));
+    }
+
+    @Test
+    public void failureWhileHandlingTheResponseCompletesTheLookup() throws Exception {
+        ChannelIdCache failingCache = new ChannelIdCache() {
+            @Override
+            public void put(String login, ChannelData data) {
+                throw new IllegalStateException("cache is broken");
+            }
+        };
+        CompletableFuture<ChannelData> lookup = new ChannelNameToID(httpClient, failingCache, 0).getId("somebody");
+        try {
+            lookup.get(10, TimeUnit.SECONDS);
+            fail("lookup should have failed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    private void assertOneRequest(ChannelNameToID channelNameToID) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<CompletableFuture<ChannelData>>> lookups = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                // Differently cased, so the lookups only meet after the name is normalized
+                String name = i % 2 == 0 ? "somebody" : "SomeBody";
+                lookups.add(executor.submit(() -> {
+                    barrier.await();
+                    return channelNameToID.getId(name);
+                }));
+            }
+            for (Future<CompletableFuture<ChannelData>> lookup : lookups) {
+                ChannelData data = lookup.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+                assertTrue(data.isSuccessful());
+                assertEquals("42", data.getChannelId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, userRequests.get());
+
+        // Served from the cache from now on
+        assertEquals("42", channelNameToID.getId("somebody").get(10, TimeUnit.SECONDS).getChannelId());
+        assertEquals(1, userRequests.get());
+    }
+}
@@ -0,0 +1,228 @@
+package com.mrivanplays.twitch.api;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequestQueueTest {
+
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+    private AsyncHttpClient httpClient;
+    private String url;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/test";
+        httpClient = new AsyncHttpClient(new OkHttpClient());
+    }
+
+    @After
+    public void stopServer() {
+        gate.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void callbackChainedRequestsRespectTheBound() throws Exception {
+        RequestQueue queue = new RequestQueue(1, 1, RequestQueue.OverflowPolicy.BLOCK);
+        httpClient.setRequestQueue(queue);
+        // Handlers which wait for room mustn't hold up the dispatcher threads finishing the requests in flight
+        ExecutorService callbackExecutor = Executors.newCachedThreadPool();
+        httpClient.setCallbackExecutor(callbackExecutor);
+        int total = 40;
+        AtomicInteger submitted = new AtomicInteger();
+        AtomicInteger maxOccupancy = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(total);
+
+        // Every answer chains two more requests, so without backpressure the queue would keep growing
+        HttpResponseHandler[] chain = new HttpResponseHandler[1];
+        chain[0] = new Handler(() -> {
+            for (int i = 0; i < 2 && submitted.incrementAndGet() <= total; i++) {
+                httpClient.get(url, chain[0]);
+                maxOccupancy.accumulateAndGet(queue.getInFlight() + queue.getQueued(), Math::max);
+            }
+            finished.countDown();
+        });
+        submitted.incrementAndGet();
+        httpClient.get(url, chain[0]);
+
+        try {
+            assertTrue("every chained request finished", finished.await(20, TimeUnit.SECONDS));
+        } finally {
+            callbackExecutor.shutdownNow();
+        }
+        assertTrue("occupancy " + maxOccupancy.get() + " exceeded the bound", maxOccupancy.get() <= 2);
+        assertEquals(total, requests.get());
+    }
+
+    @Test
+    public void requestFromHandlerTakesTheFinishedRequestsRoom() throws Exception {
+        RequestQueue queue = new RequestQueue(1, 0, RequestQueue.OverflowPolicy.BLOCK);
+        httpClient.setRequestQueue(queue);
+        int total = 20;
+        AtomicInteger submitted = new AtomicInteger(1);
+        AtomicInteger maxOccupancy = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(total);
+
+        // Runs on the dispatcher thread; a full queue would stall it if the room weren't handed over
+        HttpResponseHandler[] chain = new HttpResponseHandler[1];
+        chain[0] = new Handler(() -> {
+            if (submitted.incrementAndGet() <= total) {
+                httpClient.get(url, chain[0]);
+                maxOccupancy.accumulateAndGet(queue.getInFlight() + queue.getQueued(), Math::max);
+            }
+            finished.countDown();
+        });
+        httpClient.get(url, chain[0]);
+
+        assertTrue("every chained request finished", finished.await(20, TimeUnit.SECONDS));
+        assertEquals(1, maxOccupancy.get());
+        assertEquals(total, requests.get());
+        awaitRoom(queue); // free once the last handler returned
+    }
+
+    @Test
+    public void trySubmitReservesRoomForItsRequest() throws Exception {
+        RequestQueue queue = new RequestQueue(1, 0, RequestQueue.OverflowPolicy.BLOCK);
+        httpClient.setRequestQueue(queue);
+        gate = new CountDownLatch(1);
+        CountDownLatch answered = new CountDownLatch(1);
+
+        assertTrue(queue.trySubmit(() -> httpClient.get(url, new Handler(answered::countDown))));
+        assertEquals(1, queue.getInFlight());
+        AtomicBoolean ran = new AtomicBoolean();
+        assertFalse("the queue is full", queue.trySubmit(() -> ran.set(true)));
+        assertFalse(ran.get());
+
+        gate.countDown();
+        assertTrue(answered.await(10, TimeUnit.SECONDS));
+        awaitRoom(queue); // held until the handler returned
+        assertTrue(queue.trySubmit(() -> ran.set(true)));
+        assertTrue(ran.get());
+        // Made no request, so the room was given back
+        assertTrue(queue.trySubmit(() -> {
+        }));
+        assertEquals(0, queue.getInFlight());
+    }
+
+    @Test
+    public void detachedReservationKeepsRoomForTheContinuation() throws Exception {
+        RequestQueue queue = new RequestQueue(1, 0, RequestQueue.OverflowPolicy.BLOCK);
+        httpClient.setRequestQueue(queue);
+        RequestQueue.Reservation[] detached = new RequestQueue.Reservation[1];
+
+        assertTrue(queue.trySubmit(() -> detached[0] = queue.detachReservation()));
+        assertFalse("the room is still held by the reservation", queue.trySubmit(() -> {
+        }));
+
+        CountDownLatch answered = new CountDownLatch(1);
+        Thread other = new Thread(() -> detached[0].run(() -> httpClient.get(url, new Handler(answered::countDown))));
+        other.start();
+        other.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse("the continuation never waits", other.isAlive());
+        assertTrue(answered.await(10, TimeUnit.SECONDS));
+        assertEquals(1, requests.get());
+
+        // Only the first run held room; a second one neither takes nor frees any
+        detached[0].run(() -> {
+        });
+        awaitRoom(queue);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void unusedReservationIsReleased() {
+        RequestQueue queue = new RequestQueue(1, 0, RequestQueue.OverflowPolicy.BLOCK);
+        RequestQueue.Reservation[] detached = new RequestQueue.Reservation[1];
+        assertTrue(queue.trySubmit(() -> detached[0] = queue.detachReservation()));
+
+        detached[0].run(() -> {
+        });
+        assertTrue("the continuation made no request", queue.trySubmit(() -> {
+        }));
+    }
+
+    @Test
+    public void detachWithoutReservationHoldsNoRoom() {
+        RequestQueue queue = new RequestQueue(1, 0, RequestQueue.OverflowPolicy.BLOCK);
+        RequestQueue.Reservation reservation = queue.detachReservation();
+        reservation.run(() -> {
+        });
+        assertTrue(queue.trySubmit(() -> {
+        }));
+    }
+
+    private static void awaitRoom(RequestQueue queue) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!queue.trySubmit(() -> {
+        })) {
+            assertTrue("the room was never given back", System.nanoTime() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static final class Handler extends StringHttpResponseHandler {
+
+        private final Runnable onAnswer;
+
+        private Handler(Runnable onAnswer) {
+            this.onAnswer = onAnswer;
+        }
+
+        @Override
+        public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
+            onAnswer.run();
+        }
+
+        @Override
+        public void onFailure(int statusCode, Map<String, List<String>> headers, String content) {
+            onAnswer.run();
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            onAnswer.run();
+        }
+    }
+}